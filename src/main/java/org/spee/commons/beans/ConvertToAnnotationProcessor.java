@@ -0,0 +1,92 @@
+package org.spee.commons.beans;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Collects the types annotated with {@link org.spee.commons.convert.ConvertTo} and writes the pairs to
+ * <code>META-INF/spee/converters.list</code>. The converters themselves are generated after compilation by
+ * the {@link org.spee.commons.convert.generator.ConverterPrecompiler}, because generating them needs the
+ * compiled classes.
+ */
+@SupportedAnnotationTypes(ConvertToAnnotationProcessor.CONVERT_TO_ANNOTATION)
+public class ConvertToAnnotationProcessor extends AbstractProcessor {
+	static final String CONVERT_TO_ANNOTATION = "org.spee.commons.convert.ConvertTo";
+	static final String PAIRS_RESOURCE = "META-INF/spee/converters.list";
+
+	private final Set<String> pairs = new LinkedHashSet<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				collectPairs((TypeElement)element);
+			}
+		}
+
+		if( roundEnv.processingOver() && !pairs.isEmpty() ){
+			try {
+				writePairs();
+			} catch (IOException e) {
+				processingEnv.getMessager().printMessage(Kind.ERROR, "Could not write " + PAIRS_RESOURCE + ": " + e.getMessage());
+			}
+		}
+		return false;
+	}
+
+
+	private void collectPairs(TypeElement source) {
+		for (AnnotationMirror annotationMirror : source.getAnnotationMirrors()) {
+			if( !((TypeElement)annotationMirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(CONVERT_TO_ANNOTATION) ){
+				continue;
+			}
+			for (Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotationMirror.getElementValues().entrySet()) {
+				@SuppressWarnings("unchecked")
+				List<? extends AnnotationValue> targets = (List<? extends AnnotationValue>) entry.getValue().getValue();
+				for (AnnotationValue target : targets) {
+					TypeElement targetType = (TypeElement)((DeclaredType)(TypeMirror)target.getValue()).asElement();
+					pairs.add(binaryName(source) + " " + binaryName(targetType));
+				}
+			}
+		}
+	}
+
+
+	private String binaryName(TypeElement type) {
+		return processingEnv.getElementUtils().getBinaryName(type).toString();
+	}
+
+
+	private void writePairs() throws IOException {
+		FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", PAIRS_RESOURCE);
+		try(PrintWriter writer = new PrintWriter(resource.openWriter())){
+			for (String pair : pairs) {
+				writer.println(pair);
+			}
+		}
+	}
+}
@@ -0,0 +1,240 @@
+package org.spee.commons.convert;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.spee.commons.convert.internals.ByteArrayPool;
+
+/**
+ * Converters between {@link ByteBuffer} and {@link UUID}, {@link String} and primitive arrays.
+ * <p>
+ * A buffer is read from its position to its limit, without changing the position, and may be a direct or a read-only
+ * buffer. Multi-byte values are read and written in the {@link ByteBuffer#order() order} of the buffer, a UUID always
+ * big-endian. The converted buffers are heap buffers with the position at 0. To write into an existing buffer, like a
+ * direct one, use the <code>put</code> methods, which advance its position.
+ * <p>
+ * The bytes of a direct buffer are only copied to decode a {@link String}, into an array of the {@link ByteArrayPool}.
+ */
+public class ByteBufferConverters {
+
+	private static final int UUID_LENGTH = 16;
+
+	private ByteBufferConverters() {}
+
+
+	/**
+	 * The remaining bytes, without a copy if the buffer spans its whole array.
+	 */
+	public static byte[] toByteArray(ByteBuffer s){
+		if( s == null ){
+			return null;
+		}
+		if( s.hasArray() && s.arrayOffset() == 0 && s.position() == 0 && s.remaining() == s.array().length ){
+			return s.array();
+		}
+		final byte[] bytes = new byte[s.remaining()];
+		s.duplicate().get(bytes);
+		return bytes;
+	}
+
+
+	@Converter
+	public static UUID toUUID(ByteBuffer s){
+		if( s == null ){
+			return null;
+		}
+		if( s.remaining() != UUID_LENGTH ){
+			throw new IllegalArgumentException("A UUID has 16 bytes, not " + s.remaining());
+		}
+		final long most = s.getLong(s.position());
+		final long least = s.getLong(s.position() + 8);
+		return s.order() == ByteOrder.BIG_ENDIAN ? new UUID(most, least) : new UUID(Long.reverseBytes(most), Long.reverseBytes(least));
+	}
+
+	@Converter
+	public static ByteBuffer toByteBuffer(UUID s){
+		return s == null ? null : (ByteBuffer) put(ByteBuffer.allocate(UUID_LENGTH), s).flip();
+	}
+
+	/**
+	 * Write the UUID big-endian.
+	 * @return The target
+	 */
+	public static ByteBuffer put(ByteBuffer target, UUID s){
+		final ByteOrder order = target.order();
+		return target.order(ByteOrder.BIG_ENDIAN).putLong(s.getMostSignificantBits()).putLong(s.getLeastSignificantBits()).order(order);
+	}
+
+
+	/**
+	 * In UTF-8.
+	 */
+	@Converter
+	public static String toString(ByteBuffer s){
+		return toString(s, StandardCharsets.UTF_8);
+	}
+
+	public static String toString(ByteBuffer s, Charset charset){
+		if( s == null ){
+			return null;
+		}
+		if( s.hasArray() ){
+			return new String(s.array(), s.arrayOffset() + s.position(), s.remaining(), charset);
+		}
+		final int length = s.remaining();
+		final byte[] bytes = ByteArrayPool.acquire(length);
+		try {
+			s.duplicate().get(bytes, 0, length);
+			return new String(bytes, 0, length, charset);
+		} finally {
+			ByteArrayPool.release(bytes);
+		}
+	}
+
+	/**
+	 * In UTF-8.
+	 */
+	@Converter
+	public static ByteBuffer toByteBuffer(String s){
+		return toByteBuffer(s, StandardCharsets.UTF_8);
+	}
+
+	public static ByteBuffer toByteBuffer(String s, Charset charset){
+		return s == null ? null : ByteBuffer.wrap(s.getBytes(charset));
+	}
+
+
+	@Converter
+	public static int[] toIntArray(ByteBuffer s){
+		if( s == null ){
+			return null;
+		}
+		final int[] values = new int[length(s, Integer.BYTES)];
+		s.asIntBuffer().get(values);
+		return values;
+	}
+
+	@Converter
+	public static ByteBuffer toByteBuffer(int[] s){
+		return s == null ? null : (ByteBuffer) put(ByteBuffer.allocate(s.length * Integer.BYTES), s).flip();
+	}
+
+	/**
+	 * @return The target
+	 */
+	public static ByteBuffer put(ByteBuffer target, int[] s){
+		target.asIntBuffer().put(s);
+		return (ByteBuffer) target.position(target.position() + s.length * Integer.BYTES);
+	}
+
+
+	@Converter
+	public static long[] toLongArray(ByteBuffer s){
+		if( s == null ){
+			return null;
+		}
+		final long[] values = new long[length(s, Long.BYTES)];
+		s.asLongBuffer().get(values);
+		return values;
+	}
+
+	@Converter
+	public static ByteBuffer toByteBuffer(long[] s){
+		return s == null ? null : (ByteBuffer) put(ByteBuffer.allocate(s.length * Long.BYTES), s).flip();
+	}
+
+	/**
+	 * @return The target
+	 */
+	public static ByteBuffer put(ByteBuffer target, long[] s){
+		target.asLongBuffer().put(s);
+		return (ByteBuffer) target.position(target.position() + s.length * Long.BYTES);
+	}
+
+
+	@Converter
+	public static short[] toShortArray(ByteBuffer s){
+		if( s == null ){
+			return null;
+		}
+		final short[] values = new short[length(s, Short.BYTES)];
+		s.asShortBuffer().get(values);
+		return values;
+	}
+
+	@Converter
+	public static ByteBuffer toByteBuffer(short[] s){
+		return s == null ? null : (ByteBuffer) put(ByteBuffer.allocate(s.length * Short.BYTES), s).flip();
+	}
+
+	/**
+	 * @return The target
+	 */
+	public static ByteBuffer put(ByteBuffer target, short[] s){
+		target.asShortBuffer().put(s);
+		return (ByteBuffer) target.position(target.position() + s.length * Short.BYTES);
+	}
+
+
+	@Converter
+	public static double[] toDoubleArray(ByteBuffer s){
+		if( s == null ){
+			return null;
+		}
+		final double[] values = new double[length(s, Double.BYTES)];
+		s.asDoubleBuffer().get(values);
+		return values;
+	}
+
+	@Converter
+	public static ByteBuffer toByteBuffer(double[] s){
+		return s == null ? null : (ByteBuffer) put(ByteBuffer.allocate(s.length * Double.BYTES), s).flip();
+	}
+
+	/**
+	 * @return The target
+	 */
+	public static ByteBuffer put(ByteBuffer target, double[] s){
+		target.asDoubleBuffer().put(s);
+		return (ByteBuffer) target.position(target.position() + s.length * Double.BYTES);
+	}
+
+
+	@Converter
+	public static float[] toFloatArray(ByteBuffer s){
+		if( s == null ){
+			return null;
+		}
+		final float[] values = new float[length(s, Float.BYTES)];
+		s.asFloatBuffer().get(values);
+		return values;
+	}
+
+	@Converter
+	public static ByteBuffer toByteBuffer(float[] s){
+		return s == null ? null : (ByteBuffer) put(ByteBuffer.allocate(s.length * Float.BYTES), s).flip();
+	}
+
+	/**
+	 * @return The target
+	 */
+	public static ByteBuffer put(ByteBuffer target, float[] s){
+		target.asFloatBuffer().put(s);
+		return (ByteBuffer) target.position(target.position() + s.length * Float.BYTES);
+	}
+
+
+	/**
+	 * @return The number of values in the remaining bytes
+	 */
+	private static int length(ByteBuffer s, int valueBytes){
+		if( s.remaining() % valueBytes != 0 ){
+			throw new IllegalArgumentException(s.remaining() + " bytes are not a multiple of " + valueBytes);
+		}
+		return s.remaining() / valueBytes;
+	}
+
+}
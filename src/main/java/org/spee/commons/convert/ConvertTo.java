@@ -0,0 +1,25 @@
+package org.spee.commons.convert;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declare the types the annotated bean is converted to, so the converters are generated at build time.
+ * <pre>
+ * &#64;ConvertTo({CustomerDto.class, CustomerEntity.class})
+ * public class Customer {...}
+ * </pre>
+ * @see org.spee.commons.convert.generator.ConverterPrecompiler
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface ConvertTo {
+
+	/**
+	 * @return The target types
+	 */
+	Class<?>[] value();
+
+}
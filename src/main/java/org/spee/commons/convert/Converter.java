@@ -18,4 +18,13 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Converter {
 
+	int DEFAULT_COST = 1;
+
+	/**
+	 * The cost of the conversion, when the converter is part of a chain of converters for types without a single converter.
+	 * The cheapest chain is used, so a converter with a higher cost, like one that parses or allocates a lot, is avoided
+	 * where there is another chain. Only registered converters are part of a chain, the internal converters are not.
+	 */
+	int cost() default DEFAULT_COST;
+
 }
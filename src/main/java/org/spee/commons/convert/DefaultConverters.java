@@ -18,6 +18,7 @@ import java.sql.Timestamp;
 import java.util.Calendar;
 import java.util.Currency;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.UUID;
@@ -35,6 +36,22 @@ public class DefaultConverters {
 	public static String toString(Enum<?> o){
 		return o == null ? null : o.name();
 	}
+
+	/**
+	 * An ISO-8601 instant in UTC, like {@link TextAppender}: <code>2017-03-01T12:30:00.000Z</code>
+	 */
+	@Converter
+	public static String toString(Date s){
+		return s == null ? null : TextAppender.instant(s.getTime());
+	}
+
+	/**
+	 * An ISO-8601 instant in UTC, like {@link TextAppender}: <code>2017-03-01T12:30:00.000Z</code>
+	 */
+	@Converter
+	public static String toString(Calendar s){
+		return s == null ? null : TextAppender.instant(s.getTimeInMillis());
+	}
 	
 	@Converter
 	public static char toCharacter(String s){
@@ -78,14 +95,20 @@ public class DefaultConverters {
 	
 	@Converter
     public static Calendar toCalendar(Date s){
-		Calendar calendar = Calendar.getInstance();
+		if( s == null ){
+			return null;
+		}
+		Calendar calendar = new GregorianCalendar();
 		calendar.setTime(s);
 		return calendar;
     }
 
 	@Converter
     public static Calendar toCalendar(Long s){
-		Calendar calendar = Calendar.getInstance();
+		if( s == null ){
+			return null;
+		}
+		Calendar calendar = new GregorianCalendar();
 		calendar.setTimeInMillis(s);
 		return calendar;
     }
@@ -241,6 +264,21 @@ public class DefaultConverters {
 		return s == null ? null : BigDecimal.valueOf(s.longValue());
 	}
 
+	@Converter
+	public static BigInteger toBigInteger(long s){
+		return BigInteger.valueOf(s);
+	}
+
+	@Converter
+	public static BigDecimal toBigDecimal(long s){
+		return BigDecimal.valueOf(s);
+	}
+
+	@Converter
+	public static BigDecimal toBigDecimal(double s){
+		return BigDecimal.valueOf(s);
+	}
+
 	@Converter
 	public static File toFile(String s){
 		return s == null ? null : new File(s);
@@ -253,11 +291,7 @@ public class DefaultConverters {
 	
 	@Converter
 	public static Inet4Address toInet4Address(String s){
-		try {
-			return (Inet4Address)Inet4Address.getByName(s);
-		} catch (UnknownHostException e) {
-			throw new RuntimeException(e);
-		}
+		return s == null ? null : InetAddressParser.parseInet4Address(s);
 	}
 	
 	@Converter
@@ -271,11 +305,7 @@ public class DefaultConverters {
 	
 	@Converter
 	public static Inet6Address toInet6Address(String s){
-		try {
-			return (Inet6Address)Inet6Address.getByName(s);
-		} catch (UnknownHostException e) {
-			throw new RuntimeException(e);
-		}
+		return s == null ? null : InetAddressParser.parseInet6Address(s);
 	}
 	
 	@Converter
@@ -289,11 +319,7 @@ public class DefaultConverters {
 
 	@Converter
 	public static InetAddress toInetAddress(String s){
-		try {
-			return InetAddress.getByName(s);
-		} catch (UnknownHostException e) {
-			throw new RuntimeException(e);
-		}
+		return s == null ? null : InetAddressParser.parseInetAddress(s);
 	}
 	
 	@Converter
@@ -307,12 +333,15 @@ public class DefaultConverters {
 	
 	@Converter
 	public static ByteBuffer toByteBuffer(byte[] s){
-		return ByteBuffer.wrap(s);
+		return s == null ? null : ByteBuffer.wrap(s);
 	}
 
+	/**
+	 * @see ByteBufferConverters#toByteArray(ByteBuffer)
+	 */
 	@Converter
 	public static byte[] toByteArray(ByteBuffer s){
-		return s.array();
+		return ByteBufferConverters.toByteArray(s);
 	}
 
 	
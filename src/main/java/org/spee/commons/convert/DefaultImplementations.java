@@ -1,7 +1,10 @@
 package org.spee.commons.convert;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -9,14 +12,18 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
-import org.spee.commons.utils.MapUtils;
+import org.spee.commons.convert.generator.BeanCreationStrategy;
 import org.spee.commons.utils.ReflectionUtils;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Supplier;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 
 /**
@@ -31,6 +38,7 @@ import com.google.common.base.Supplier;
 public final class DefaultImplementations {
 
 	private final static Map<Class<?>, Supplier<?>> interfaceImplementations = new IdentityHashMap<>();
+	private final static Map<Class<?>, Class<?>> implementationClasses = new IdentityHashMap<>();
 	
 	static{
 		addImplementationForInterface(Collection.class, LinkedList.class);
@@ -38,8 +46,10 @@ public final class DefaultImplementations {
 		addImplementationForInterface(Set.class, LinkedHashSet.class);
 		addImplementationForInterface(Map.class, LinkedHashMap.class);
 		addImplementationForInterface(Iterable.class, LinkedList.class);
+		// ArrayDeque would reject null elements
 		addImplementationForInterface(Deque.class, LinkedList.class);
 		addImplementationForInterface(SortedSet.class, TreeSet.class);
+		addImplementationForInterface(SortedMap.class, TreeMap.class);
 	}
 	
 	
@@ -61,15 +71,66 @@ public final class DefaultImplementations {
 	}
 
 
+	/**
+	 * Create a collection or map of the given type, sized to hold the expected number of elements without
+	 * growing. For an interface the registered implementation is used. Types that can not be presized
+	 * are created like any other bean.
+	 * 
+	 * @param type The interface or class to create
+	 * @param expectedSize The number of elements that will be added
+	 * @return The new instance
+	 * @see BeanCreationStrategy#newInstance(Class)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T newInstance(Class<T> type, int expectedSize){
+		final Class<?> implementation = type.isInterface() ? findImplementationClass(type) : type;
+
+		if( implementation == ArrayList.class ){
+			return (T) new ArrayList<>(expectedSize);
+		}
+		if( implementation == LinkedHashSet.class ){
+			return (T) Sets.newLinkedHashSetWithExpectedSize(expectedSize);
+		}
+		if( implementation == HashSet.class ){
+			return (T) Sets.newHashSetWithExpectedSize(expectedSize);
+		}
+		if( implementation == LinkedHashMap.class ){
+			return (T) Maps.newLinkedHashMapWithExpectedSize(expectedSize);
+		}
+		if( implementation == HashMap.class ){
+			return (T) Maps.newHashMapWithExpectedSize(expectedSize);
+		}
+		return type.isInterface() ? getImplementationFor(type) : BeanCreationStrategy.newInstance(type);
+	}
+
+
+	/**
+	 * @return The implementation registered for the interface, or for a super interface when the implementation
+	 * also implements the given interface. <code>null</code> when there is none.
+	 */
+	private static Class<?> findImplementationClass(Class<?> intf) {
+		Class<?> implementation = implementationClasses.get(intf);
+		if( implementation == null ){
+			for (Map.Entry<Class<?>, Class<?>> entry : implementationClasses.entrySet()) {
+				if( entry.getKey().isAssignableFrom(intf) && intf.isAssignableFrom(entry.getValue()) ){
+					return entry.getValue();
+				}
+			}
+		}
+		return implementation;
+	}
+
+
 	private static <T> Supplier<?> findImplementation(Class<T> intf) {
 		Supplier<?> implementation = interfaceImplementations.get(intf); // First try exact matching
 		
 		if( implementation == null ){ // No match; than deep search
-			implementation = MapUtils.findValue(interfaceImplementations, ReflectionUtils.isAssignableFrom(intf)).orNull();
+			final Class<?> implementationClass = findImplementationClass(intf);
 
-			if( implementation == null ){
+			if( implementationClass == null ){
 				throw new RuntimeException("No implementation found for interface " + intf); // No implementation found
 			}
+			implementation = ReflectionUtils.newInstanceSupplier(implementationClass);
 		}
 		return implementation;
 	}
@@ -101,6 +162,7 @@ public final class DefaultImplementations {
 
 		// All preconditions met, so ok to add
 		interfaceImplementations.put(interfaceClass, ReflectionUtils.newInstanceSupplier(implementationClass));
+		implementationClasses.put(interfaceClass, implementationClass);
 	}
 	
 }
@@ -0,0 +1,12 @@
+package org.spee.commons.convert;
+
+/**
+ * Conversion from a <code>double</code>, without boxing the source.
+ * @see Convert
+ * @see MapperFactory#getPrimitiveConverter(Class, Class)
+ */
+public interface DoubleConvert<T> {
+
+	T convert(double source);
+
+}
@@ -0,0 +1,11 @@
+package org.spee.commons.convert;
+
+/**
+ * Conversion from a <code>double</code> to a <code>long</code>, without boxing.
+ * @see MapperFactory#getPrimitiveConverter(Class, Class)
+ */
+public interface DoubleToLongConvert {
+
+	long convert(double source);
+
+}
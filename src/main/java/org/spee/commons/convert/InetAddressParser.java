@@ -0,0 +1,249 @@
+package org.spee.commons.convert;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Parse IP address literals without the resolver: unlike {@link InetAddress#getByName(String)} a host name is rejected,
+ * instead of looked up in the DNS. The formats are:
+ * <pre>
+ * 192.168.0.1              IPv4 in dotted decimal, with four parts
+ * 2001:db8::8a2e:370:7334  IPv6, with at most one :: for a run of zero groups
+ * ::ffff:192.168.0.1       IPv6 ending in IPv4 dotted decimal
+ * fe80::1%2                IPv6 with a numeric scope id
+ * </pre>
+ * Invalid text throws an {@link IllegalArgumentException}. To resolve host names on purpose,
+ * use the {@link ResolvingInetAddressConverter}.
+ */
+public final class InetAddressParser {
+
+	private static final int IPV4_LENGTH = 4;
+	private static final int IPV6_LENGTH = 16;
+
+	private InetAddressParser() {}
+
+
+	/**
+	 * @return The address of an IPv4 or IPv6 literal. An IPv4-mapped IPv6 address, like <code>::ffff:10.0.0.1</code>,
+	 * is an {@link Inet4Address}.
+	 */
+	public static InetAddress parseInetAddress(CharSequence text) {
+		final int scope = scopeStart(text);
+		if( scope < text.length() ){
+			return parseInet6Address(text);
+		}
+		final byte[] address = parseAddress(text);
+		try {
+			return InetAddress.getByAddress(address);
+		} catch (UnknownHostException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+
+	public static Inet4Address parseInet4Address(CharSequence text) {
+		final byte[] address = new byte[IPV4_LENGTH];
+		if( !parseIpv4(text, 0, text.length(), address, 0) ){
+			throw invalid(text);
+		}
+		try {
+			return (Inet4Address) InetAddress.getByAddress(address);
+		} catch (UnknownHostException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+
+	/**
+	 * @return The IPv6 address, also for an IPv4-mapped address like <code>::ffff:10.0.0.1</code>.
+	 */
+	public static Inet6Address parseInet6Address(CharSequence text) {
+		final int scope = scopeStart(text);
+		final int scopeId = scope < text.length() ? scopeId(text, scope + 1) : -1;
+		final byte[] address = new byte[IPV6_LENGTH];
+		if( !parseIpv6(text, 0, scope, address) || scope < text.length() && scopeId < 0 ){
+			throw invalid(text);
+		}
+		try {
+			return Inet6Address.getByAddress(null, address, scopeId);
+		} catch (UnknownHostException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+
+	/**
+	 * @return The 4 bytes of an IPv4 or the 16 bytes of an IPv6 literal, without scope id.
+	 */
+	public static byte[] parseAddress(CharSequence text) {
+		final byte[] address = address(text, text.length());
+		if( address == null ){
+			throw invalid(text);
+		}
+		return address;
+	}
+
+
+	/**
+	 * @return <code>true</code> if the text is an IPv4 or IPv6 literal.
+	 */
+	public static boolean isLiteral(CharSequence text) {
+		final int scope = scopeStart(text);
+		if( scope < text.length() ){
+			return scopeId(text, scope + 1) >= 0 && parseIpv6(text, 0, scope, new byte[IPV6_LENGTH]);
+		}
+		return address(text, scope) != null;
+	}
+
+
+	/**
+	 * @return The address of the literal up to the end, or <code>null</code> if it is not a literal.
+	 */
+	private static byte[] address(CharSequence text, int end) {
+		for (int index = 0; index < end; index++) {
+			if( text.charAt(index) == ':' ){
+				final byte[] address = new byte[IPV6_LENGTH];
+				return parseIpv6(text, 0, end, address) ? address : null;
+			}
+		}
+		final byte[] address = new byte[IPV4_LENGTH];
+		return parseIpv4(text, 0, end, address, 0) ? address : null;
+	}
+
+
+	/**
+	 * Parse four decimal parts of at most three digits, from 0 to 255, separated by dots.
+	 */
+	private static boolean parseIpv4(CharSequence text, int start, int end, byte[] address, int offset) {
+		int index = start;
+		for (int part = 0; part < IPV4_LENGTH; part++) {
+			if( part > 0 ){
+				if( index == end || text.charAt(index++) != '.' ){
+					return false;
+				}
+			}
+			final int partStart = index;
+			int value = 0;
+			while( index < end && index - partStart < 3 && text.charAt(index) >= '0' && text.charAt(index) <= '9' ){
+				value = value * 10 + text.charAt(index++) - '0';
+			}
+			if( index == partStart || value > 255 ){
+				return false;
+			}
+			address[offset + part] = (byte) value;
+		}
+		return index == end;
+	}
+
+
+	/**
+	 * Parse the groups of up to four hexadecimal digits into the address. The groups after a <code>::</code> are moved
+	 * to the end of the address, leaving zeros in between.
+	 */
+	private static boolean parseIpv6(CharSequence text, int start, int end, byte[] address) {
+		int index = start;
+		int length = 0;
+		int compressed = -1;
+
+		if( index < end && text.charAt(index) == ':' ){
+			if( index + 1 == end || text.charAt(index + 1) != ':' ){
+				return false;
+			}
+			compressed = 0;
+			index += 2;
+		}
+
+		while( index < end ){
+			if( length == IPV6_LENGTH ){
+				return false;
+			}
+			final int groupStart = index;
+			int value = 0;
+			int digit;
+			while( index < end && index - groupStart < 4 && (digit = Character.digit(text.charAt(index), 16)) >= 0 ){
+				value = (value << 4) | digit;
+				index++;
+			}
+			if( index < end && text.charAt(index) == '.' ){
+				// IPv4 in the last two groups
+				if( length > IPV6_LENGTH - IPV4_LENGTH || !parseIpv4(text, groupStart, end, address, length) ){
+					return false;
+				}
+				length += IPV4_LENGTH;
+				break;
+			}
+			if( index == groupStart ){
+				return false;
+			}
+			address[length++] = (byte) (value >>> 8);
+			address[length++] = (byte) value;
+
+			if( index < end ){
+				if( text.charAt(index++) != ':' || index == end ){
+					return false;
+				}
+				if( text.charAt(index) == ':' ){
+					if( compressed >= 0 ){
+						return false;
+					}
+					compressed = length;
+					index++;
+				}
+			}
+		}
+
+		if( compressed < 0 ){
+			return length == IPV6_LENGTH;
+		}
+		if( length == IPV6_LENGTH ){
+			return false;
+		}
+		final int moved = length - compressed;
+		System.arraycopy(address, compressed, address, IPV6_LENGTH - moved, moved);
+		for (int zero = compressed; zero < IPV6_LENGTH - moved; zero++) {
+			address[zero] = 0;
+		}
+		return true;
+	}
+
+
+	/**
+	 * @return The index of the <code>%</code> of the scope id, or the length of the text if there is none.
+	 */
+	private static int scopeStart(CharSequence text) {
+		for (int index = 0; index < text.length(); index++) {
+			if( text.charAt(index) == '%' ){
+				return index;
+			}
+		}
+		return text.length();
+	}
+
+
+	/**
+	 * Only a numeric scope id, since a network interface name needs a lookup.
+	 * @return The scope id, or -1 if it is not numeric.
+	 */
+	private static int scopeId(CharSequence text, int start) {
+		if( start == text.length() || text.length() - start > 9 ){
+			return -1;
+		}
+		int scope = 0;
+		for (int index = start; index < text.length(); index++) {
+			final char c = text.charAt(index);
+			if( c < '0' || c > '9' ){
+				return -1;
+			}
+			scope = scope * 10 + c - '0';
+		}
+		return scope;
+	}
+
+
+	private static IllegalArgumentException invalid(CharSequence text) {
+		return new IllegalArgumentException("'" + text + "' is not an IP address literal");
+	}
+
+}
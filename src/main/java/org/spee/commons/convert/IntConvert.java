@@ -0,0 +1,12 @@
+package org.spee.commons.convert;
+
+/**
+ * Conversion from an <code>int</code>, without boxing the source.
+ * @see Convert
+ * @see MapperFactory#getPrimitiveConverter(Class, Class)
+ */
+public interface IntConvert<T> {
+
+	T convert(int source);
+
+}
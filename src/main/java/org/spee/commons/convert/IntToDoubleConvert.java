@@ -0,0 +1,11 @@
+package org.spee.commons.convert;
+
+/**
+ * Conversion from an <code>int</code> to a <code>double</code>, without boxing.
+ * @see MapperFactory#getPrimitiveConverter(Class, Class)
+ */
+public interface IntToDoubleConvert {
+
+	double convert(int source);
+
+}
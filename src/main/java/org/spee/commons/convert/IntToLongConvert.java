@@ -0,0 +1,11 @@
+package org.spee.commons.convert;
+
+/**
+ * Conversion from an <code>int</code> to a <code>long</code>, without boxing.
+ * @see MapperFactory#getPrimitiveConverter(Class, Class)
+ */
+public interface IntToLongConvert {
+
+	long convert(int source);
+
+}
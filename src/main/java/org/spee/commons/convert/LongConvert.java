@@ -0,0 +1,12 @@
+package org.spee.commons.convert;
+
+/**
+ * Conversion from a <code>long</code>, without boxing the source.
+ * @see Convert
+ * @see MapperFactory#getPrimitiveConverter(Class, Class)
+ */
+public interface LongConvert<T> {
+
+	T convert(long source);
+
+}
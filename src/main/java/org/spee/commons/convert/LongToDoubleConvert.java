@@ -0,0 +1,11 @@
+package org.spee.commons.convert;
+
+/**
+ * Conversion from a <code>long</code> to a <code>double</code>, without boxing.
+ * @see MapperFactory#getPrimitiveConverter(Class, Class)
+ */
+public interface LongToDoubleConvert {
+
+	double convert(long source);
+
+}
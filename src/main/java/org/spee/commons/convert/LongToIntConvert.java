@@ -0,0 +1,11 @@
+package org.spee.commons.convert;
+
+/**
+ * Conversion from a <code>long</code> to an <code>int</code>, without boxing.
+ * @see MapperFactory#getPrimitiveConverter(Class, Class)
+ */
+public interface LongToIntConvert {
+
+	int convert(long source);
+
+}
@@ -11,56 +11,186 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.spee.commons.convert.generator.BeanCreationStrategy;
+import org.spee.commons.convert.generator.ClassMap;
+import org.spee.commons.convert.generator.ClassMapBuilder;
+import org.spee.commons.convert.generator.GeneratorFactory;
+import org.spee.commons.convert.generator.PrecompiledConverters;
+import org.spee.commons.convert.generator.TieredConverter;
+import org.spee.commons.convert.internals.EnumTable;
 import org.spee.commons.convert.internals.MappingLocator;
+import org.spee.commons.convert.internals.NumberConverter;
+import org.spee.commons.convert.internals.XMLGregorianCalendarConverter;
 import org.spee.commons.utils.CollectionUtils;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
 import com.google.common.base.Supplier;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableTable;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import net.bytebuddy.ByteBuddy;
-import net.bytebuddy.TypeCache;
-import net.bytebuddy.TypeCache.SimpleKey;
-import net.bytebuddy.TypeCache.Sort;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.implementation.InvokeDynamic;
 
 public class MapperFactory {
     private static final Logger LOG = LoggerFactory.getLogger(MapperFactory.class);
     @SuppressWarnings("rawtypes")
     private static final Class<Convert> CONVERTER_TYPE = Convert.class;
-    private static final TypeCache<SimpleKey> TYPECACHE = new TypeCache<>(Sort.SOFT);
+    public static final String COMPILE_THRESHOLD_PROPERTY = "org.spee.commons.convert.tiered.threshold";
+
+    private static volatile int compileThreshold = Math.max(0, Integer.getInteger(COMPILE_THRESHOLD_PROPERTY, 1000));
+    private static volatile Executor compileExecutor;
 	
     static{
     	register(DefaultConverters.class);
+    	register(TimeConverters.class);
+    	register(ByteBufferConverters.class);
+    	register(XMLGregorianCalendarConverter.class);
     	register(CollectionUtils.class);
     }
 
 
     /**
-     * Create the type converter and store in cache. 
+     * Converters that are being created. A {@link LoadingCache} lets exactly one thread create the converter
+     * for a pair, while other threads asking for the same pair wait for that result.
+     * The values are weak, since the {@link #CONVERTERS} registry holds the instances.
+     */
+    private static final LoadingCache<TypePair<?,?>, Linked> CREATING = CacheBuilder.newBuilder().weakValues().build(
+    		new CacheLoader<TypePair<?,?>, Linked>() {
+				@Override
+				public Linked load(TypePair<?, ?> key) {
+					return newConverter(key.getSourceType(), key.getTargetType());
+				}
+			});
+
+    /**
+     * Registry of the converter instances: source type -> target type -> converter.
+     * The generated converters are stateless, so one instance per pair is shared by all callers.
+     */
+    private static final ClassValue<ClassValue<Registered>> CONVERTERS = new ClassValue<ClassValue<Registered>>() {
+		@Override
+		protected ClassValue<Registered> computeValue(final Class<?> sourceType) {
+			return new ClassValue<Registered>() {
+				@Override
+				protected Registered computeValue(final Class<?> targetType) {
+					try {
+						return new Registered(sourceType, targetType, CREATING.getUnchecked(TypePair.of(sourceType, targetType)));
+					} catch (UncheckedExecutionException e) {
+						throw Throwables.propagate(e.getCause());
+					}
+				}
+			};
+		}
+	};
+
+
+    /**
+     * Registry of the primitive converters: source type -> target type -> converter.
+     * @see #getPrimitiveConverter(Class, Class)
+     */
+    private static final ClassValue<ClassValue<Object>> PRIMITIVE_CONVERTERS = new ClassValue<ClassValue<Object>>() {
+		@Override
+		protected ClassValue<Object> computeValue(final Class<?> sourceType) {
+			return new ClassValue<Object>() {
+				@Override
+				protected Object computeValue(final Class<?> targetType) {
+					final Class<?> converter = createPrimitiveConverter(sourceType, targetType);
+					try {
+						return converter.newInstance();
+					} catch (InstantiationException | IllegalAccessException e) {
+						throw new RuntimeException("Could not create converter " + converter, e);
+					}
+				}
+			};
+		}
+	};
+
+    /**
+     * Registry of the text converters per source type.
+     * @see #getTextConverter(Class)
+     */
+    private static final ClassValue<TextConvert<?>> TEXT_CONVERTERS = new ClassValue<TextConvert<?>>() {
+		@Override
+		protected TextConvert<?> computeValue(final Class<?> sourceType) {
+			final TextConvert<?> converter = TextAppender.converter(sourceType);
+			return converter != null ? converter : TextAppender.stringConverter(sourceType);
+		}
+	};
+
+    /**
+     * The specialized interface per source and target type, where {@link Object} stands for any reference type.
+     */
+    private static final ImmutableTable<Class<?>, Class<?>, Class<?>> PRIMITIVE_CONVERTER_TYPES = ImmutableTable.<Class<?>, Class<?>, Class<?>>builder()
+    		.put(Object.class, Integer.TYPE, ToIntConvert.class)
+    		.put(Object.class, Long.TYPE, ToLongConvert.class)
+    		.put(Object.class, Double.TYPE, ToDoubleConvert.class)
+    		.put(Integer.TYPE, Object.class, IntConvert.class)
+    		.put(Long.TYPE, Object.class, LongConvert.class)
+    		.put(Double.TYPE, Object.class, DoubleConvert.class)
+    		.put(Integer.TYPE, Long.TYPE, IntToLongConvert.class)
+    		.put(Integer.TYPE, Double.TYPE, IntToDoubleConvert.class)
+    		.put(Long.TYPE, Integer.TYPE, LongToIntConvert.class)
+    		.put(Long.TYPE, Double.TYPE, LongToDoubleConvert.class)
+    		.put(Double.TYPE, Integer.TYPE, DoubleToIntConvert.class)
+    		.put(Double.TYPE, Long.TYPE, DoubleToLongConvert.class)
+    		.build();
+
+
+    /**
+     * Create the type converter class.
      * @param sourceType
      * @param targetType
      * @return
      */
-	private static <S,T> Convert<S,T> createTypeConverter(Class<S> sourceType, Class<T> targetType) {
-		Preconditions.checkArgument(!sourceType.isPrimitive(), "Primitive type not supported: %s", sourceType);
-		Preconditions.checkArgument(!targetType.isPrimitive(), "Primitive type not supported: %s", targetType);
+	@SuppressWarnings("unchecked")
+	private static <S,T> Class<Convert<S,T>> createTypeConverter(Class<S> sourceType, Class<T> targetType) {
+		Preconditions.checkArgument(!sourceType.isPrimitive(), "Primitive type not supported: %s, use getPrimitiveConverter", sourceType);
+		Preconditions.checkArgument(!targetType.isPrimitive(), "Primitive type not supported: %s, use getPrimitiveConverter", targetType);
+		return (Class<Convert<S, T>>) createConverter(CONVERTER_TYPE, parameterizedType(CONVERTER_TYPE, sourceType, targetType).build());
+	}
+
+
+	/**
+	 * Create the class of the primitive converter, implementing the specialized interface for the types.
+	 * @see #PRIMITIVE_CONVERTER_TYPES
+	 */
+	private static Class<?> createPrimitiveConverter(Class<?> sourceType, Class<?> targetType) {
+		final Class<?> converterType = PRIMITIVE_CONVERTER_TYPES.get(sourceType.isPrimitive() ? sourceType : Object.class, targetType.isPrimitive() ? targetType : Object.class);
+		Preconditions.checkArgument(converterType != null, "No primitive converter for %s to %s", sourceType, targetType);
+
+		if( converterType.getTypeParameters().length == 0 ){
+			return createConverter(converterType, new TypeDescription.ForLoadedType(converterType));
+		}
+		return createConverter(converterType, parameterizedType(converterType, sourceType.isPrimitive() ? targetType : sourceType).build());
+	}
+
+
+	/**
+	 * Create a class implementing the <code>convert</code> method of the converter interface by the {@link MappingLocator}.
+	 * @param converterType The interface
+	 * @param implementedType The interface, with its type arguments
+	 */
+	private static Class<?> createConverter(Class<?> converterType, TypeDefinition implementedType) {
 		final ClassLoader classLoader = MapperFactory.class.getClassLoader();
-		final SimpleKey key = new SimpleKey(sourceType, targetType);
 		
 		try {
-			Class<?> converter = TYPECACHE.find(classLoader, key);
-
-			if( converter == null ){
-				converter =
-					new ByteBuddy()
-							.subclass(parameterizedType(CONVERTER_TYPE, sourceType, targetType).build())
-					.method( isDeclaredBy(CONVERTER_TYPE).and(named("convert")) )
+			return new ByteBuddy()
+							.subclass(implementedType)
+					.method( isDeclaredBy(converterType).and(named("convert")) )
 						.intercept(
 							InvokeDynamic.bootstrap(MappingLocator.class.getDeclaredMethod("bootstrap", MethodHandles.Lookup.class, String.class, MethodType.class))
 								.withMethodArguments()
@@ -68,29 +198,187 @@ public class MapperFactory {
 					.make()
 					.load(classLoader)
 					.getLoaded();
-				TYPECACHE.insert(classLoader, key, converter);
-			}
-
-			TYPECACHE.expungeStaleEntries();
-			return (Convert<S,T>)converter.newInstance();
 		}
-		catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException e) {
+		catch (NoSuchMethodException | SecurityException e) {
 			throw new RuntimeException(e);
 		}
-	}    
+	}
+
+
+	/**
+	 * Create a new converter instance. A converter that is generated at build time is preferred
+	 * over generating one at runtime, as long as it is the same converter.
+	 * @see PrecompiledConverters
+	 */
+	private static Linked newConverter(Class<?> sourceType, Class<?> targetType) {
+		// read before resolving, so a registration in between makes the converter invalid
+		final int version = MappingLocator.version();
+		final Class<? extends Convert<?, ?>> precompiled = PrecompiledConverters.find(sourceType, targetType);
+		if( precompiled != null ){
+			return new Linked(newInstance(precompiled), version);
+		}
+		if( GeneratorFactory.isBeanConversion(sourceType, targetType) ){
+			return new Linked(newBeanConverter(sourceType, targetType), version);
+		}
+		return new Linked(newInstance(createTypeConverter(sourceType, targetType)), Linked.ANY_VERSION);
+	}
+
+
+	private static Convert<?, ?> newInstance(Class<? extends Convert<?, ?>> converter) {
+		try {
+			return converter.newInstance();
+		} catch (InstantiationException | IllegalAccessException e) {
+			throw new RuntimeException("Could not create converter " + converter, e);
+		}
+	}
     
 
+	/**
+	 * Create the converter for a bean pair. Unless the threshold is 0, the pair is interpreted until it is
+	 * used often enough, see {@link TieredConverter}.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <S,T> Convert<S,T> newBeanConverter(Class<S> sourceType, Class<T> targetType) {
+		final ClassMap classMap = ClassMapBuilder.build(sourceType, targetType).useDefaults(true).generate();
+		final int threshold = compileThreshold;
+		if( threshold > 0 ){
+			return new TieredConverter<>(classMap, threshold, getCompileExecutor());
+		}
+
+		final Class<Convert<S, T>> converter = (Class<Convert<S, T>>)(Class<?>) new GeneratorFactory().build(classMap);
+		try {
+			return converter.newInstance();
+		} catch (InstantiationException | IllegalAccessException e) {
+			throw new RuntimeException("Could not create converter " + converter, e);
+		}
+	}
+
+
+	private static Executor getCompileExecutor() {
+		Executor executor = compileExecutor;
+		if( executor == null ){
+			synchronized (MapperFactory.class) {
+				if( compileExecutor == null ){
+					compileExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setDaemon(true).setNameFormat("converter-compiler-%d").build());
+				}
+				executor = compileExecutor;
+			}
+		}
+		return executor;
+	}
+
+
+	/**
+	 * The number of conversions of a bean pair before its converter is generated. With 0 the converter
+	 * is generated when {@link #getConverter(Class, Class)} creates it. Applies to converters that are created afterwards.
+	 * Defaults to the system property {@value #COMPILE_THRESHOLD_PROPERTY}, or 1000.
+	 */
+	public static void setCompileThreshold(int threshold) {
+		Preconditions.checkArgument(threshold >= 0, "Threshold can not be negative: %s", threshold);
+		compileThreshold = threshold;
+	}
+
+
+	/**
+	 * What numeric conversions do with values that do not fit in the target type. Applies to conversions that are
+	 * linked afterwards, since the policy is part of the linked conversion.
+	 * Defaults to the system property {@value OverflowPolicy#OVERFLOW_POLICY_PROPERTY}, or {@link OverflowPolicy#WRAP}.
+	 */
+	public static void setOverflowPolicy(OverflowPolicy policy) {
+		NumberConverter.setOverflowPolicy(policy);
+	}
+
+
+	/**
+	 * How names, ordinals and other enums convert to the enum type, for conversions that are linked afterwards.
+	 * Without a constant for the value, the conversion throws an {@link IllegalArgumentException}, like {@link Enum#valueOf(Class, String)}.
+	 * @param ignoreCase Whether names match ignoring case
+	 */
+	public static <E extends Enum<E>> void setEnumLookup(Class<E> enumType, boolean ignoreCase) {
+		EnumTable.of(enumType).setLookup(ignoreCase, true, null);
+	}
+
+
+	/**
+	 * How names, ordinals and other enums convert to the enum type, for conversions that are linked afterwards.
+	 * @param ignoreCase Whether names match ignoring case
+	 * @param missing The value when there is no constant for the value, can be <code>null</code>
+	 */
+	public static <E extends Enum<E>> void setEnumLookup(Class<E> enumType, boolean ignoreCase, E missing) {
+		EnumTable.of(enumType).setLookup(ignoreCase, false, missing);
+	}
+
+
+	/**
+	 * The executor to generate the bean converters on. Defaults to a single daemon thread.
+	 */
+	public static void setCompileExecutor(Executor executor) {
+		compileExecutor = Preconditions.checkNotNull(executor);
+	}
+
+
 	@SuppressWarnings("unchecked")
 	public <S, T> T convert(S from, Class<T> toClass){
     	return getConverter((Class<S>)from.getClass(), toClass).convert(from);
     }
 
     
+    /**
+     * Retrieve the converter for a primitive source or target type, which converts without boxing.
+     * The converter implements the specialized interface for the types:
+     * <pre>
+     * IntToLongConvert converter = MapperFactory.getPrimitiveConverter(int.class, long.class);
+     * ToIntConvert&lt;String&gt; parser = MapperFactory.getPrimitiveConverter(String.class, int.class);
+     * DoubleConvert&lt;BigDecimal&gt; decimal = MapperFactory.getPrimitiveConverter(double.class, BigDecimal.class);
+     * </pre>
+     * The primitive types are <code>int</code>, <code>long</code> and <code>double</code>.
+     * @throws IllegalArgumentException if there is no specialized interface for the types
+     * @see ToIntConvert
+     * @see IntToLongConvert
+     */
+	@SuppressWarnings("unchecked")
+    public static <C> C getPrimitiveConverter(Class<?> sourceType, Class<?> targetType){
+    	return (C) PRIMITIVE_CONVERTERS.get(sourceType).get(targetType);
+    }
+
+
+    /**
+     * Retrieve the converter that writes the source as text to a sink, without creating a {@link String}
+     * for numbers, enums, UUIDs and dates:
+     * <pre>
+     * TextConvert&lt;Long&gt; converter = MapperFactory.getTextConverter(Long.class);
+     * converter.convert(id, writer);
+     * </pre>
+     * Other types are converted to a {@link String} first, which is then written.
+     * @see TextAppender
+     */
+	@SuppressWarnings("unchecked")
+    public static <S> TextConvert<S> getTextConverter(Class<S> sourceType){
+    	return (TextConvert<S>) TEXT_CONVERTERS.get(sourceType);
+    }
+
+
+    /**
+     * Retrieve the converter. The instance is created on first use and shared afterwards,
+     * so this is cheap enough to call per converted object. A bean converter is created again after
+     * a converter is registered, as it has the conversions of its properties built in.
+     */
+	@SuppressWarnings("unchecked")
     public static <S,T> Convert<S,T> getConverter(final Class<S> fromClass, final Class<T> toClass){
-    	return createTypeConverter(fromClass, toClass);
+    	return (Convert<S, T>) CONVERTERS.get(fromClass).get(toClass).get();
     }
 
 
+	/**
+	 * Create the converters for the given pairs in parallel on the common {@link java.util.concurrent.ForkJoinPool}
+	 * and wait until they are all created.
+	 * @see WarmupPlan
+	 */
+	public static WarmupPlan preload(Collection<? extends TypePair<?, ?>> pairs) {
+		return new WarmupPlan().addAll(pairs).execute();
+	}
+
+
 	public static void register(String id, com.google.common.base.Converter<?, ?> customConverter) {
 		try {
 			ParameterizedType classTypes = (ParameterizedType)customConverter.getClass().getGenericSuperclass();
@@ -116,7 +404,7 @@ public class MapperFactory {
 					Class<?> targetType = method.getReturnType();
 					MethodHandle methodHandle = MethodHandles.lookup().unreflect(method);
 					
-					MappingLocator.register(sourceType, targetType, methodHandle);
+					MappingLocator.register(sourceType, targetType, methodHandle, method.getAnnotation(Converter.class).cost());
 				} catch (IllegalAccessException e) {
 					e.printStackTrace();
 				}
@@ -128,4 +416,68 @@ public class MapperFactory {
 		BeanCreationStrategy.register(creator);
 	}
 
+
+	/**
+	 * A converter with the {@link MappingLocator#version() version} of the registrations it was created with.
+	 */
+	private static final class Linked {
+		/**
+		 * The version of a converter that does not depend on the registrations: its conversions are linked by
+		 * {@link MappingLocator#bootstrap(MethodHandles.Lookup, String, MethodType)}.
+		 */
+		static final int ANY_VERSION = -1;
+
+		final Convert<?, ?> converter;
+		final int version;
+
+		Linked(Convert<?, ?> converter, int version) {
+			this.converter = converter;
+			this.version = version;
+		}
+
+		boolean isValid() {
+			return version == ANY_VERSION || version == MappingLocator.version();
+		}
+	}
+
+
+	/**
+	 * The converter of a pair in the {@link #CONVERTERS} registry. A bean converter, generated or precompiled, has the
+	 * conversions of its properties and its child converters built in, so it is created again when a converter was
+	 * registered or a setting changed since.
+	 * Callers that keep the converter instead of calling {@link MapperFactory#getConverter(Class, Class)} again keep
+	 * its conversions.
+	 */
+	private static final class Registered {
+		private final Class<?> sourceType;
+		private final Class<?> targetType;
+		private volatile Linked linked;
+
+		Registered(Class<?> sourceType, Class<?> targetType, Linked linked) {
+			this.sourceType = sourceType;
+			this.targetType = targetType;
+			this.linked = linked;
+		}
+
+		Convert<?, ?> get() {
+			Linked linked = this.linked;
+			if( !linked.isValid() ){
+				linked = relink();
+			}
+			return linked.converter;
+		}
+
+		/**
+		 * Create the converter again, once for all threads asking for it.
+		 */
+		private synchronized Linked relink() {
+			Linked linked = this.linked;
+			if( !linked.isValid() ){
+				LOG.debug("Registrations changed, creating the converter for {} to {} again", sourceType, targetType);
+				this.linked = linked = newConverter(sourceType, targetType);
+			}
+			return linked;
+		}
+	}
+
 }
@@ -0,0 +1,272 @@
+package org.spee.commons.convert;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parse numbers from text without creating a {@link String} or boxing the result. The text can be a
+ * {@link CharSequence}, a range of a <code>char[]</code>, or ASCII in a range of a <code>byte[]</code> or
+ * a {@link ByteBuffer}:
+ * <pre>
+ * int quantity = NumberParser.parseInt(line, 10, 14);
+ * long id = NumberParser.parseLong(buffer); // from position to limit
+ * </pre>
+ * The formats are those of {@link Integer#parseInt(String)}, {@link Long#parseLong(String)} and
+ * {@link Double#parseDouble(String)}. Decimal numbers of up to 15 significant digits with a small exponent
+ * are parsed directly, other numbers, like <code>1e300</code> or <code>NaN</code>, by {@link Double#parseDouble(String)}.
+ * Invalid text throws a {@link NumberFormatException}.
+ */
+public final class NumberParser {
+
+	/**
+	 * Mantissas up to 2<sup>53</sup> are exact in a double.
+	 */
+	private static final long MAX_EXACT_MANTISSA = 1L << 53;
+	/**
+	 * The powers of ten that are exact in a double.
+	 */
+	private static final double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	private NumberParser() {}
+
+
+	public static int parseInt(CharSequence text) {
+		return parseInt(text, 0, text.length());
+	}
+
+
+	/**
+	 * @param start The first character, inclusive
+	 * @param end The last character, exclusive
+	 */
+	public static int parseInt(CharSequence text, int start, int end) {
+		return (int) parseLong(text, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+
+	public static int parseInt(char[] text, int offset, int length) {
+		return (int) parseLong(text, offset, offset + length, Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+
+	public static int parseInt(byte[] ascii, int offset, int length) {
+		return (int) parseLong(ascii, offset, offset + length, Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+
+	/**
+	 * Parse the ASCII text from the position to the limit of the buffer, without changing the position.
+	 */
+	public static int parseInt(ByteBuffer ascii) {
+		return (int) parseLong(ascii, ascii.position(), ascii.limit(), Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+
+	public static long parseLong(CharSequence text) {
+		return parseLong(text, 0, text.length());
+	}
+
+
+	/**
+	 * @param start The first character, inclusive
+	 * @param end The last character, exclusive
+	 */
+	public static long parseLong(CharSequence text, int start, int end) {
+		return parseLong(text, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+
+	public static long parseLong(char[] text, int offset, int length) {
+		return parseLong(text, offset, offset + length, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+
+	public static long parseLong(byte[] ascii, int offset, int length) {
+		return parseLong(ascii, offset, offset + length, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+
+	/**
+	 * Parse the ASCII text from the position to the limit of the buffer, without changing the position.
+	 */
+	public static long parseLong(ByteBuffer ascii) {
+		return parseLong(ascii, ascii.position(), ascii.limit(), Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+
+	public static double parseDouble(CharSequence text) {
+		return parseDouble(text, 0, text.length());
+	}
+
+
+	/**
+	 * @param start The first character, inclusive
+	 * @param end The last character, exclusive
+	 */
+	public static double parseDouble(CharSequence text, int start, int end) {
+		return parseDouble((Object) text, start, end);
+	}
+
+
+	public static double parseDouble(char[] text, int offset, int length) {
+		return parseDouble((Object) text, offset, offset + length);
+	}
+
+
+	public static double parseDouble(byte[] ascii, int offset, int length) {
+		return parseDouble((Object) ascii, offset, offset + length);
+	}
+
+
+	/**
+	 * Parse the ASCII text from the position to the limit of the buffer, without changing the position.
+	 */
+	public static double parseDouble(ByteBuffer ascii) {
+		return parseDouble((Object) ascii, ascii.position(), ascii.limit());
+	}
+
+
+	/**
+	 * Parse a decimal integer in the range, like {@link Long#parseLong(String)}: the value is accumulated
+	 * negatively, since the negative range is the larger one.
+	 */
+	private static long parseLong(Object text, int start, int end, long min, long max) {
+		if( start >= end ){
+			throw invalid(text, start, end);
+		}
+
+		int index = start;
+		final char first = charAt(text, index);
+		final boolean negative = first == '-';
+		if( negative || first == '+' ){
+			if( ++index == end ){
+				throw invalid(text, start, end);
+			}
+		}
+
+		final long limit = negative ? min : -max;
+		final long multiplyLimit = limit / 10;
+		long result = 0;
+		for (; index < end; index++) {
+			final int digit = charAt(text, index) - '0';
+			if( digit < 0 || digit > 9 || result < multiplyLimit ){
+				throw invalid(text, start, end);
+			}
+			result *= 10;
+			if( result < limit + digit ){
+				throw invalid(text, start, end);
+			}
+			result -= digit;
+		}
+		return negative ? result : -result;
+	}
+
+
+	/**
+	 * Parse <code>[sign] digits [. digits] [e [sign] digits]</code> exactly when the mantissa and the power of ten
+	 * are both exact in a double, which makes the single multiplication or division correctly rounded.
+	 */
+	private static double parseDouble(Object text, int start, int end) {
+		int index = start;
+		boolean negative = false;
+		if( index < end && (charAt(text, index) == '-' || charAt(text, index) == '+') ){
+			negative = charAt(text, index++) == '-';
+		}
+
+		long mantissa = 0;
+		int exponent = 0;
+		int digits = 0;
+		boolean point = false;
+		for (; index < end; index++) {
+			final char c = charAt(text, index);
+			if( c >= '0' && c <= '9' ){
+				if( mantissa >= MAX_EXACT_MANTISSA / 10 ){
+					return parseSlow(text, start, end);
+				}
+				mantissa = mantissa * 10 + (c - '0');
+				digits++;
+				if( point ){
+					exponent--;
+				}
+			} else if( c == '.' && !point ){
+				point = true;
+			} else {
+				break;
+			}
+		}
+		if( digits == 0 ){
+			return parseSlow(text, start, end);
+		}
+
+		if( index < end ){
+			final char c = charAt(text, index);
+			if( (c != 'e' && c != 'E') || index + 1 == end ){
+				return parseSlow(text, start, end);
+			}
+			final int exponentStart = index + 1;
+			final boolean exponentSign = charAt(text, exponentStart) == '-' || charAt(text, exponentStart) == '+';
+			if( exponentSign && exponentStart + 1 == end || end - exponentStart > 6 ){
+				return parseSlow(text, start, end);
+			}
+			exponent += (int) parseLong(text, exponentStart, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+		}
+
+		final double value;
+		if( exponent == 0 ){
+			value = mantissa;
+		} else if( exponent > 0 && exponent < POWERS_OF_TEN.length ){
+			value = mantissa * POWERS_OF_TEN[exponent];
+		} else if( exponent < 0 && -exponent < POWERS_OF_TEN.length ){
+			value = mantissa / POWERS_OF_TEN[-exponent];
+		} else {
+			return parseSlow(text, start, end);
+		}
+		return negative ? -value : value;
+	}
+
+
+	private static double parseSlow(Object text, int start, int end) {
+		return Double.parseDouble(toString(text, start, end));
+	}
+
+
+	private static char charAt(Object text, int index) {
+		if( text instanceof byte[] ){
+			return (char) (((byte[]) text)[index] & 0xFF);
+		}
+		if( text instanceof char[] ){
+			return ((char[]) text)[index];
+		}
+		if( text instanceof ByteBuffer ){
+			return (char) (((ByteBuffer) text).get(index) & 0xFF);
+		}
+		return ((CharSequence) text).charAt(index);
+	}
+
+
+	private static String toString(Object text, int start, int end) {
+		if( text instanceof byte[] ){
+			return new String((byte[]) text, start, end - start, StandardCharsets.ISO_8859_1);
+		}
+		if( text instanceof char[] ){
+			return new String((char[]) text, start, end - start);
+		}
+		if( text instanceof ByteBuffer ){
+			final char[] chars = new char[end - start];
+			for (int index = start; index < end; index++) {
+				chars[index - start] = charAt(text, index);
+			}
+			return new String(chars);
+		}
+		return ((CharSequence) text).subSequence(start, end).toString();
+	}
+
+
+	private static NumberFormatException invalid(Object text, int start, int end) {
+		return new NumberFormatException("For input string: \"" + toString(text, start, end) + "\"");
+	}
+
+}
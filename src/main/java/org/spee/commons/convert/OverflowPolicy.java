@@ -0,0 +1,50 @@
+package org.spee.commons.convert;
+
+import org.slf4j.LoggerFactory;
+
+/**
+ * What a numeric conversion does with a value that does not fit in the target type, like converting
+ * the <code>long</code> 2<sup>32</sup> to an <code>int</code>. Widening conversions are never affected.
+ * <p>
+ * The policy is part of the conversion when it is linked, so it is not checked per converted value.
+ * Changing the policy applies to conversions that are linked afterwards.
+ * @see MapperFactory#setOverflowPolicy(OverflowPolicy)
+ */
+public enum OverflowPolicy {
+
+	/**
+	 * Keep the low-order bits, like the Java cast: <code>(int) 4294967296L == 0</code>.
+	 * A floating point value is rounded towards zero and saturates to the range of <code>int</code> or <code>long</code>.
+	 */
+	WRAP,
+
+	/**
+	 * Use the minimum or maximum value of the target type: <code>Integer.MAX_VALUE</code> for 2<sup>32</sup>.
+	 * <code>NaN</code> converts to 0.
+	 */
+	SATURATE,
+
+	/**
+	 * Throw an {@link ArithmeticException}, like {@link Math#toIntExact(long)}.
+	 */
+	THROW;
+
+	public static final String OVERFLOW_POLICY_PROPERTY = "org.spee.commons.convert.overflow";
+
+
+	/**
+	 * @return The policy in the system property {@value #OVERFLOW_POLICY_PROPERTY}, defaults to {@link #WRAP}.
+	 */
+	public static OverflowPolicy fromSystemProperty() {
+		final String policy = System.getProperty(OVERFLOW_POLICY_PROPERTY);
+		if( policy != null && !policy.isEmpty() ){
+			try {
+				return valueOf(policy.trim().toUpperCase());
+			} catch (IllegalArgumentException e) {
+				LoggerFactory.getLogger(OverflowPolicy.class).warn("Unknown overflow policy '{}', using {}", policy, WRAP);
+			}
+		}
+		return WRAP;
+	}
+
+}
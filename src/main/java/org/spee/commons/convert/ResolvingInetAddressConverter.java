@@ -0,0 +1,35 @@
+package org.spee.commons.convert;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import com.google.common.base.Converter;
+
+/**
+ * Converter from a host name or an IP address literal to the address, by {@link InetAddress#getByName(String)}.
+ * A host name is looked up in the DNS, which blocks the converting thread, so this converter is only used for the properties
+ * it is set for:
+ * <pre>
+ * ClassMapBuilder.build(Server.class, ServerDto.class).mapField("host", "address", ResolvingInetAddressConverter.class)
+ * </pre>
+ * The default conversion from {@link String} only parses literals, see {@link InetAddressParser}.
+ * Backwards, the address converts to its literal.
+ */
+public class ResolvingInetAddressConverter extends Converter<String, InetAddress> {
+
+	@Override
+	protected InetAddress doForward(String host) {
+		try {
+			return InetAddress.getByName(host);
+		} catch (UnknownHostException e) {
+			throw new IllegalArgumentException("Unknown host '" + host + "'", e);
+		}
+	}
+
+
+	@Override
+	protected String doBackward(InetAddress address) {
+		return address.getHostAddress();
+	}
+
+}
@@ -0,0 +1,368 @@
+package org.spee.commons.convert;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.UUID;
+
+import org.spee.commons.convert.internals.MappingLocator;
+
+import com.google.common.base.Throwables;
+import com.google.common.primitives.Primitives;
+
+/**
+ * Write numbers, enums, UUIDs and dates to an {@link Appendable} without creating a {@link String}:
+ * <pre>
+ * TextAppender.append(writer, quantity);
+ * TextAppender.append(writer, createdAt);
+ * </pre>
+ * A {@link StringBuilder} is written to directly. For other sinks the text is formatted in a buffer per thread first,
+ * and copied with {@link Writer#write(char[], int, int)} to a {@link Writer}, or per character otherwise.
+ * <p>
+ * Numbers are written like {@link String#valueOf(long)} and {@link String#valueOf(double)}, enums by their name and
+ * dates as an ISO-8601 instant in UTC with milliseconds, like <code>2017-03-01T12:30:00.000Z</code>.
+ * <code>null</code> writes nothing. This is the same text as the conversion to {@link String} by {@link DefaultConverters}.
+ */
+public final class TextAppender {
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+	private static final int MILLIS_PER_DAY = 24 * 60 * 60 * 1000;
+	/**
+	 * Days from 0000-03-01 to 1970-01-01, as the calendar is computed from March to put the leap day last.
+	 */
+	private static final long DAYS_0000_TO_1970 = 719468;
+	private static final int DAYS_PER_ERA = 146097;
+
+	private static final ThreadLocal<Buffer> BUFFER = new ThreadLocal<Buffer>() {
+		@Override
+		protected Buffer initialValue() {
+			return new Buffer();
+		}
+	};
+
+	private TextAppender() {}
+
+
+	public static Appendable append(Appendable target, int value) throws IOException {
+		if( target instanceof StringBuilder ){
+			return ((StringBuilder) target).append(value);
+		}
+		return copy(buffer().append(value), target);
+	}
+
+
+	public static Appendable append(Appendable target, long value) throws IOException {
+		if( target instanceof StringBuilder ){
+			return ((StringBuilder) target).append(value);
+		}
+		return copy(buffer().append(value), target);
+	}
+
+
+	public static Appendable append(Appendable target, float value) throws IOException {
+		if( target instanceof StringBuilder ){
+			return ((StringBuilder) target).append(value);
+		}
+		return copy(buffer().append(value), target);
+	}
+
+
+	public static Appendable append(Appendable target, double value) throws IOException {
+		if( target instanceof StringBuilder ){
+			return ((StringBuilder) target).append(value);
+		}
+		return copy(buffer().append(value), target);
+	}
+
+
+	/**
+	 * Write the primitive value of a wrapper, or the {@link Object#toString()} of other numbers.
+	 */
+	public static Appendable append(Appendable target, Number value) throws IOException {
+		if( value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte ){
+			return append(target, value.longValue());
+		}
+		if( value instanceof Double ){
+			return append(target, value.doubleValue());
+		}
+		if( value instanceof Float ){
+			return append(target, value.floatValue());
+		}
+		return value == null ? target : target.append(value.toString());
+	}
+
+
+	public static Appendable append(Appendable target, Enum<?> value) throws IOException {
+		return value == null ? target : target.append(value.name());
+	}
+
+
+	/**
+	 * Write the UUID like {@link UUID#toString()}: <code>123e4567-e89b-12d3-a456-426655440000</code>.
+	 */
+	public static Appendable append(Appendable target, UUID value) throws IOException {
+		if( value == null ){
+			return target;
+		}
+		if( target instanceof StringBuilder ){
+			return appendUuid((StringBuilder) target, value);
+		}
+		return copy(appendUuid(buffer(), value), target);
+	}
+
+
+	/**
+	 * Write the date as an ISO-8601 instant in UTC: <code>2017-03-01T12:30:00.000Z</code>.
+	 */
+	public static Appendable append(Appendable target, Date value) throws IOException {
+		if( value == null ){
+			return target;
+		}
+		return appendInstant(target, value.getTime());
+	}
+
+
+	/**
+	 * Write the time of the calendar as an ISO-8601 instant in UTC: <code>2017-03-01T12:30:00.000Z</code>.
+	 */
+	public static Appendable append(Appendable target, Calendar value) throws IOException {
+		if( value == null ){
+			return target;
+		}
+		return appendInstant(target, value.getTimeInMillis());
+	}
+
+
+	/**
+	 * Write the milliseconds since the epoch as an ISO-8601 instant in UTC: <code>2017-03-01T12:30:00.000Z</code>.
+	 */
+	public static Appendable appendInstant(Appendable target, long epochMillis) throws IOException {
+		if( target instanceof StringBuilder ){
+			return appendInstant((StringBuilder) target, epochMillis);
+		}
+		return copy(appendInstant(buffer(), epochMillis), target);
+	}
+
+
+	/**
+	 * @return The milliseconds since the epoch as an ISO-8601 instant in UTC: <code>2017-03-01T12:30:00.000Z</code>
+	 */
+	static String instant(long epochMillis) {
+		return appendInstant(new StringBuilder(24), epochMillis).toString();
+	}
+
+
+	/**
+	 * @return The converter for the type, or <code>null</code> if the type is not written by this class.
+	 */
+	@SuppressWarnings("unchecked")
+	static <S> TextConvert<S> converter(Class<S> type) {
+		final Class<?> wrapper = Primitives.wrap(type);
+		if( Number.class.isAssignableFrom(wrapper) ){
+			return (TextConvert<S>) new AbstractTextConvert<Number>() {
+				@Override
+				public Appendable convert(Number source, Appendable target) throws IOException {
+					return append(target, source);
+				}
+			};
+		}
+		if( type.isEnum() || Enum.class == type ){
+			return (TextConvert<S>) new AbstractTextConvert<Enum<?>>() {
+				@Override
+				public Appendable convert(Enum<?> source, Appendable target) throws IOException {
+					return append(target, source);
+				}
+			};
+		}
+		if( UUID.class == type ){
+			return (TextConvert<S>) new AbstractTextConvert<UUID>() {
+				@Override
+				public Appendable convert(UUID source, Appendable target) throws IOException {
+					return append(target, source);
+				}
+			};
+		}
+		if( Date.class.isAssignableFrom(type) ){
+			return (TextConvert<S>) new AbstractTextConvert<Date>() {
+				@Override
+				public Appendable convert(Date source, Appendable target) throws IOException {
+					return append(target, source);
+				}
+			};
+		}
+		if( Calendar.class.isAssignableFrom(type) ){
+			return (TextConvert<S>) new AbstractTextConvert<Calendar>() {
+				@Override
+				public Appendable convert(Calendar source, Appendable target) throws IOException {
+					return append(target, source);
+				}
+			};
+		}
+		if( CharSequence.class.isAssignableFrom(type) ){
+			return (TextConvert<S>) new AbstractTextConvert<CharSequence>() {
+				@Override
+				public Appendable convert(CharSequence source, Appendable target) throws IOException {
+					return source == null ? target : target.append(source);
+				}
+			};
+		}
+		return null;
+	}
+
+
+	/**
+	 * @return The converter that writes the {@link String} of the conversion from the type.
+	 */
+	static <S> TextConvert<S> stringConverter(Class<S> type) {
+		MethodHandle toString = MappingLocator.resolve(type, String.class);
+		if( toString == null || !String.class.isAssignableFrom(toString.type().returnType()) ){
+			try {
+				toString = MethodHandles.publicLookup().findVirtual(Object.class, "toString", methodType(String.class));
+			} catch (NoSuchMethodException | IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		final MethodHandle converter = toString.asType(methodType(String.class, Object.class));
+		return new AbstractTextConvert<S>() {
+			@Override
+			public Appendable convert(S source, Appendable target) throws IOException {
+				if( source == null ){
+					return target;
+				}
+				final String text;
+				try {
+					text = (String) converter.invokeExact((Object) source);
+				} catch (Throwable e) {
+					throw Throwables.propagate(e);
+				}
+				return text == null ? target : target.append(text);
+			}
+		};
+	}
+
+
+	private static StringBuilder appendUuid(StringBuilder target, UUID value) {
+		final long most = value.getMostSignificantBits();
+		final long least = value.getLeastSignificantBits();
+		appendHex(target, most >>> 32, 8).append('-');
+		appendHex(target, most >>> 16, 4).append('-');
+		appendHex(target, most, 4).append('-');
+		appendHex(target, least >>> 48, 4).append('-');
+		return appendHex(target, least, 12);
+	}
+
+
+	/**
+	 * Write the lowest digits of the value in hexadecimal.
+	 */
+	private static StringBuilder appendHex(StringBuilder target, long value, int digits) {
+		for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+			target.append(HEX_DIGITS[(int) (value >>> shift) & 0xF]);
+		}
+		return target;
+	}
+
+
+	/**
+	 * The civil date of the epoch day is computed by eras of 400 years, which all have the same number of days.
+	 */
+	private static StringBuilder appendInstant(StringBuilder target, long epochMillis) {
+		final long epochDay = Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+		final int millisOfDay = (int) Math.floorMod(epochMillis, MILLIS_PER_DAY);
+
+		final long days = epochDay + DAYS_0000_TO_1970;
+		final long era = Math.floorDiv(days, DAYS_PER_ERA);
+		final long dayOfEra = days - era * DAYS_PER_ERA;
+		final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		final long marchMonth = (5 * dayOfYear + 2) / 153;
+		final int day = (int) (dayOfYear - (153 * marchMonth + 2) / 5 + 1);
+		final int month = (int) (marchMonth < 10 ? marchMonth + 3 : marchMonth - 9);
+		final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+		if( year < 0 ){
+			target.append('-');
+		}
+		appendPadded(target, Math.abs(year), 4).append('-');
+		appendPadded(target, month, 2).append('-');
+		appendPadded(target, day, 2).append('T');
+		appendPadded(target, millisOfDay / 3600000, 2).append(':');
+		appendPadded(target, millisOfDay / 60000 % 60, 2).append(':');
+		appendPadded(target, millisOfDay / 1000 % 60, 2).append('.');
+		return appendPadded(target, millisOfDay % 1000, 3).append('Z');
+	}
+
+
+	private static StringBuilder appendPadded(StringBuilder target, long value, int digits) {
+		long limit = 1;
+		for (int digit = 1; digit < digits; digit++) {
+			limit *= 10;
+		}
+		for (; limit > 1 && value < limit; limit /= 10) {
+			target.append('0');
+		}
+		return target.append(value);
+	}
+
+
+	private static StringBuilder buffer() {
+		final StringBuilder buffer = BUFFER.get().text;
+		buffer.setLength(0);
+		return buffer;
+	}
+
+
+	private static Appendable copy(StringBuilder text, Appendable target) throws IOException {
+		final int length = text.length();
+		if( target instanceof Writer ){
+			final char[] chars = BUFFER.get().chars(length);
+			text.getChars(0, length, chars, 0);
+			((Writer) target).write(chars, 0, length);
+			return target;
+		}
+		for (int index = 0; index < length; index++) {
+			target.append(text.charAt(index));
+		}
+		return target;
+	}
+
+
+	/**
+	 * The buffers of a thread to format the text in.
+	 */
+	private static final class Buffer {
+		final StringBuilder text = new StringBuilder(64);
+		private char[] chars = new char[64];
+
+		char[] chars(int length) {
+			if( chars.length < length ){
+				chars = new char[Math.max(length, chars.length * 2)];
+			}
+			return chars;
+		}
+	}
+
+
+	/**
+	 * Implements the {@link StringBuilder} variant by the {@link Appendable} one, which does not throw for a {@link StringBuilder}.
+	 */
+	abstract static class AbstractTextConvert<S> implements TextConvert<S> {
+
+		@Override
+		public StringBuilder convert(S source, StringBuilder target) {
+			try {
+				convert(source, (Appendable) target);
+				return target;
+			} catch (IOException e) {
+				throw new AssertionError(e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,27 @@
+package org.spee.commons.convert;
+
+import java.io.IOException;
+
+/**
+ * Conversion to text that writes the characters to a sink, instead of creating a {@link String}:
+ * <pre>
+ * TextConvert&lt;UUID&gt; converter = MapperFactory.getTextConverter(UUID.class);
+ * converter.convert(id, line).append(';');
+ * </pre>
+ * <code>null</code> writes nothing.
+ * @see MapperFactory#getTextConverter(Class)
+ * @see TextAppender
+ */
+public interface TextConvert<S> {
+
+	/**
+	 * @return The target
+	 */
+	StringBuilder convert(S source, StringBuilder target);
+
+	/**
+	 * @return The target
+	 */
+	Appendable convert(S source, Appendable target) throws IOException;
+
+}
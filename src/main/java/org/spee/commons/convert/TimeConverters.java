@@ -0,0 +1,301 @@
+package org.spee.commons.convert;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Maps;
+
+/**
+ * Converters between the <code>java.time</code> types and {@link Date}, {@link Calendar}, the <code>java.sql</code> types,
+ * epoch milliseconds and {@link String}.
+ * <p>
+ * Local types are converted to and from instants in the zone of {@link #setZone(ZoneId)}, which defaults to the system zone
+ * when the class is loaded. Strings are formatted and parsed in ISO-8601 by default, or by the pattern set by
+ * {@link #setFormat(Class, String, ZoneId)}. The formatters are immutable and cached per pattern and zone.
+ */
+public class TimeConverters {
+
+	private static final LoadingCache<Map.Entry<String, ZoneId>, DateTimeFormatter> FORMATTERS = CacheBuilder.newBuilder().build(
+			new CacheLoader<Map.Entry<String, ZoneId>, DateTimeFormatter>() {
+				@Override
+				public DateTimeFormatter load(Map.Entry<String, ZoneId> key) {
+					final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(key.getKey());
+					return key.getValue() == null ? formatter : formatter.withZone(key.getValue());
+				}
+			});
+
+	private static volatile ZoneId zone = ZoneId.systemDefault();
+	private static volatile DateTimeFormatter instantFormat = DateTimeFormatter.ISO_INSTANT;
+	private static volatile DateTimeFormatter localDateFormat = DateTimeFormatter.ISO_LOCAL_DATE;
+	private static volatile DateTimeFormatter localDateTimeFormat = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+	private static volatile DateTimeFormatter offsetDateTimeFormat = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+	private static volatile DateTimeFormatter zonedDateTimeFormat = DateTimeFormatter.ISO_ZONED_DATE_TIME;
+
+	private TimeConverters() {}
+
+
+	/**
+	 * @param zone The zone of the formatter, or <code>null</code> for none
+	 * @return The formatter for the pattern, shared by all callers
+	 * @throws IllegalArgumentException if the pattern is invalid
+	 */
+	public static DateTimeFormatter formatter(String pattern, ZoneId zone) {
+		return FORMATTERS.getUnchecked(Maps.immutableEntry(Preconditions.checkNotNull(pattern), zone));
+	}
+
+
+	/**
+	 * Set the pattern to convert the type to and from {@link String}. An {@link Instant} needs a zone to be formatted.
+	 * @param type {@link Instant}, {@link LocalDate}, {@link LocalDateTime}, {@link OffsetDateTime} or {@link ZonedDateTime}
+	 * @param zone The zone of the formatter, or <code>null</code> for none
+	 */
+	public static void setFormat(Class<? extends TemporalAccessor> type, String pattern, ZoneId zone) {
+		final DateTimeFormatter formatter = formatter(pattern, zone);
+		if( Instant.class == type ){
+			instantFormat = formatter;
+		} else if( LocalDate.class == type ){
+			localDateFormat = formatter;
+		} else if( LocalDateTime.class == type ){
+			localDateTimeFormat = formatter;
+		} else if( OffsetDateTime.class == type ){
+			offsetDateTimeFormat = formatter;
+		} else if( ZonedDateTime.class == type ){
+			zonedDateTimeFormat = formatter;
+		} else {
+			throw new IllegalArgumentException("No format for " + type);
+		}
+	}
+
+
+	/**
+	 * @return The zone to convert local types to and from instants.
+	 */
+	public static ZoneId getZone() {
+		return zone;
+	}
+
+
+	/**
+	 * Set the zone to convert local types to and from instants.
+	 */
+	public static void setZone(ZoneId zone) {
+		TimeConverters.zone = Preconditions.checkNotNull(zone);
+	}
+
+
+	@Converter
+	public static Instant toInstant(Date s){
+		return s == null ? null : Instant.ofEpochMilli(s.getTime());
+	}
+
+	@Converter
+	public static Instant toInstant(Timestamp s){
+		return s == null ? null : s.toInstant();
+	}
+
+	@Converter
+	public static Instant toInstant(Calendar s){
+		return s == null ? null : Instant.ofEpochMilli(s.getTimeInMillis());
+	}
+
+	@Converter
+	public static Instant toInstant(Long s){
+		return s == null ? null : Instant.ofEpochMilli(s);
+	}
+
+	@Converter
+	public static Instant toInstant(OffsetDateTime s){
+		return s == null ? null : s.toInstant();
+	}
+
+	@Converter
+	public static Instant toInstant(ZonedDateTime s){
+		return s == null ? null : s.toInstant();
+	}
+
+	@Converter
+	public static Instant toInstant(String s){
+		return s == null ? null : Instant.from(instantFormat.parse(s));
+	}
+
+	@Converter
+	public static Date toDate(Instant s){
+		return s == null ? null : new Date(s.toEpochMilli());
+	}
+
+	@Converter
+	public static Timestamp toTimestamp(Instant s){
+		return s == null ? null : Timestamp.from(s);
+	}
+
+	@Converter
+	public static Long toLong(Instant s){
+		return s == null ? null : s.toEpochMilli();
+	}
+
+	@Converter
+	public static String toString(Instant s){
+		return s == null ? null : instantFormat.format(s);
+	}
+
+
+	@Converter
+	public static LocalDate toLocalDate(java.sql.Date s){
+		return s == null ? null : s.toLocalDate();
+	}
+
+	@Converter
+	public static LocalDate toLocalDate(Date s){
+		return s == null ? null : Instant.ofEpochMilli(s.getTime()).atZone(zone).toLocalDate();
+	}
+
+	@Converter
+	public static LocalDate toLocalDate(LocalDateTime s){
+		return s == null ? null : s.toLocalDate();
+	}
+
+	@Converter
+	public static LocalDate toLocalDate(String s){
+		return s == null ? null : LocalDate.from(localDateFormat.parse(s));
+	}
+
+	@Converter
+	public static java.sql.Date toSqlDate(LocalDate s){
+		return s == null ? null : java.sql.Date.valueOf(s);
+	}
+
+	@Converter
+	public static String toString(LocalDate s){
+		return s == null ? null : localDateFormat.format(s);
+	}
+
+
+	@Converter
+	public static LocalDateTime toLocalDateTime(Timestamp s){
+		return s == null ? null : s.toLocalDateTime();
+	}
+
+	@Converter
+	public static LocalDateTime toLocalDateTime(Date s){
+		return s == null ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(s.getTime()), zone);
+	}
+
+	@Converter
+	public static LocalDateTime toLocalDateTime(Instant s){
+		return s == null ? null : LocalDateTime.ofInstant(s, zone);
+	}
+
+	@Converter
+	public static LocalDateTime toLocalDateTime(String s){
+		return s == null ? null : LocalDateTime.from(localDateTimeFormat.parse(s));
+	}
+
+	@Converter
+	public static Timestamp toTimestamp(LocalDateTime s){
+		return s == null ? null : Timestamp.valueOf(s);
+	}
+
+	@Converter
+	public static Date toDate(LocalDateTime s){
+		return s == null ? null : Date.from(s.atZone(zone).toInstant());
+	}
+
+	@Converter
+	public static String toString(LocalDateTime s){
+		return s == null ? null : localDateTimeFormat.format(s);
+	}
+
+
+	@Converter
+	public static OffsetDateTime toOffsetDateTime(Date s){
+		return s == null ? null : OffsetDateTime.ofInstant(Instant.ofEpochMilli(s.getTime()), zone);
+	}
+
+	@Converter
+	public static OffsetDateTime toOffsetDateTime(Instant s){
+		return s == null ? null : OffsetDateTime.ofInstant(s, zone);
+	}
+
+	@Converter
+	public static OffsetDateTime toOffsetDateTime(ZonedDateTime s){
+		return s == null ? null : s.toOffsetDateTime();
+	}
+
+	@Converter
+	public static OffsetDateTime toOffsetDateTime(String s){
+		return s == null ? null : OffsetDateTime.from(offsetDateTimeFormat.parse(s));
+	}
+
+	@Converter
+	public static Date toDate(OffsetDateTime s){
+		return s == null ? null : new Date(s.toInstant().toEpochMilli());
+	}
+
+	@Converter
+	public static String toString(OffsetDateTime s){
+		return s == null ? null : offsetDateTimeFormat.format(s);
+	}
+
+
+	/**
+	 * In the zone of the calendar.
+	 */
+	@Converter
+	public static ZonedDateTime toZonedDateTime(Calendar s){
+		if( s instanceof GregorianCalendar ){
+			return ((GregorianCalendar) s).toZonedDateTime();
+		}
+		return s == null ? null : ZonedDateTime.ofInstant(Instant.ofEpochMilli(s.getTimeInMillis()), s.getTimeZone().toZoneId());
+	}
+
+	@Converter
+	public static ZonedDateTime toZonedDateTime(Date s){
+		return s == null ? null : ZonedDateTime.ofInstant(Instant.ofEpochMilli(s.getTime()), zone);
+	}
+
+	@Converter
+	public static ZonedDateTime toZonedDateTime(Instant s){
+		return s == null ? null : ZonedDateTime.ofInstant(s, zone);
+	}
+
+	@Converter
+	public static ZonedDateTime toZonedDateTime(OffsetDateTime s){
+		return s == null ? null : s.toZonedDateTime();
+	}
+
+	@Converter
+	public static ZonedDateTime toZonedDateTime(String s){
+		return s == null ? null : ZonedDateTime.from(zonedDateTimeFormat.parse(s));
+	}
+
+	@Converter
+	public static Calendar toCalendar(ZonedDateTime s){
+		return s == null ? null : GregorianCalendar.from(s);
+	}
+
+	@Converter
+	public static Date toDate(ZonedDateTime s){
+		return s == null ? null : new Date(s.toInstant().toEpochMilli());
+	}
+
+	@Converter
+	public static String toString(ZonedDateTime s){
+		return s == null ? null : zonedDateTimeFormat.format(s);
+	}
+
+}
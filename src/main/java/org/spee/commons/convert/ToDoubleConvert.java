@@ -0,0 +1,12 @@
+package org.spee.commons.convert;
+
+/**
+ * Conversion to a <code>double</code>, without boxing the result.
+ * @see Convert
+ * @see MapperFactory#getPrimitiveConverter(Class, Class)
+ */
+public interface ToDoubleConvert<S> {
+
+	double convert(S source);
+
+}
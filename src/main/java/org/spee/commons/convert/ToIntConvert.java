@@ -0,0 +1,12 @@
+package org.spee.commons.convert;
+
+/**
+ * Conversion to an <code>int</code>, without boxing the result.
+ * @see Convert
+ * @see MapperFactory#getPrimitiveConverter(Class, Class)
+ */
+public interface ToIntConvert<S> {
+
+	int convert(S source);
+
+}
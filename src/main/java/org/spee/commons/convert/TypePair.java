@@ -0,0 +1,60 @@
+package org.spee.commons.convert;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A source and target type of a conversion.
+ * @param <S> The source type
+ * @param <T> The target type
+ */
+public final class TypePair<S, T> {
+	private final Class<S> sourceType;
+	private final Class<T> targetType;
+
+
+	private TypePair(Class<S> sourceType, Class<T> targetType) {
+		this.sourceType = Preconditions.checkNotNull(sourceType);
+		this.targetType = Preconditions.checkNotNull(targetType);
+	}
+
+
+	public static <S, T> TypePair<S, T> of(Class<S> sourceType, Class<T> targetType) {
+		return new TypePair<>(sourceType, targetType);
+	}
+
+
+	public Class<S> getSourceType() {
+		return sourceType;
+	}
+
+
+	public Class<T> getTargetType() {
+		return targetType;
+	}
+
+
+	@Override
+	public int hashCode() {
+		return 31 * sourceType.hashCode() + targetType.hashCode();
+	}
+
+
+	@Override
+	public boolean equals(Object obj) {
+		if( this == obj ){
+			return true;
+		}
+		if( !(obj instanceof TypePair) ){
+			return false;
+		}
+		TypePair<?, ?> other = (TypePair<?, ?>) obj;
+		return sourceType == other.sourceType && targetType == other.targetType;
+	}
+
+
+	@Override
+	public String toString() {
+		return sourceType.getName() + " to " + targetType.getName();
+	}
+
+}
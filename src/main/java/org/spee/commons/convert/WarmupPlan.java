@@ -0,0 +1,210 @@
+package org.spee.commons.convert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spee.commons.convert.generator.ClassMap.MappedProperties;
+import org.spee.commons.convert.generator.ClassMapBuilder;
+import org.spee.commons.convert.generator.GeneratorFactory;
+import org.spee.commons.convert.generator.PrecompiledConverters;
+import org.spee.commons.convert.generator.TieredConverter;
+import org.spee.commons.convert.internals.MappingLocator;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+
+/**
+ * Creates a set of converters in parallel, so the first requests of an application don't have to.
+ * Bean converters, and those of their nested beans, are generated right away instead of being interpreted
+ * first, see {@link TieredConverter}. The conversions of their properties are resolved by the {@link MappingLocator},
+ * so their invokedynamic call sites link without resolving. Nothing is converted, so no converter runs on made up values.
+ * A conversion without converter, which would fail on every call, is reported in {@link #getFailures()}.
+ * <pre>
+ * WarmupPlan plan = new WarmupPlan()
+ *                       .add(Customer.class, CustomerDto.class)
+ *                       .add(Order.class, OrderDto.class)
+ *                       .using(startupPool);
+ * plan.start();
+ * ...
+ * boolean ready = plan.isComplete(); // readiness probe
+ * </pre>
+ */
+public class WarmupPlan {
+	private static final Logger LOG = LoggerFactory.getLogger(WarmupPlan.class);
+
+	private final Set<TypePair<?, ?>> pairs = new LinkedHashSet<>();
+	private final Map<TypePair<?, ?>, Throwable> failures = new ConcurrentHashMap<>();
+	private ForkJoinPool pool = ForkJoinPool.commonPool();
+	private volatile ForkJoinTask<Void> task;
+
+
+	public <S, T> WarmupPlan add(Class<S> sourceType, Class<T> targetType) {
+		return add(TypePair.of(sourceType, targetType));
+	}
+
+
+	public WarmupPlan add(TypePair<?, ?> pair) {
+		Preconditions.checkState(task == null, "Warm-up already started");
+		pairs.add(Preconditions.checkNotNull(pair));
+		return this;
+	}
+
+
+	public WarmupPlan addAll(Collection<? extends TypePair<?, ?>> pairs) {
+		for (TypePair<?, ?> pair : pairs) {
+			add(pair);
+		}
+		return this;
+	}
+
+
+	/**
+	 * The pool to create the converters on. Defaults to the {@link ForkJoinPool#commonPool()}.
+	 */
+	public WarmupPlan using(ForkJoinPool pool) {
+		Preconditions.checkState(task == null, "Warm-up already started");
+		this.pool = Preconditions.checkNotNull(pool);
+		return this;
+	}
+
+
+	/**
+	 * Start the warm-up in the background.
+	 * @return The running warm-up
+	 */
+	public synchronized ForkJoinTask<Void> start() {
+		if( task == null ){
+			final List<WarmupPair> actions = new ArrayList<>(pairs.size());
+			for (TypePair<?, ?> pair : pairs) {
+				actions.add(new WarmupPair(pair));
+			}
+			LOG.debug("Warming up {} converters", actions.size());
+			task = pool.submit(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					invokeAll(actions);
+				}
+			});
+		}
+		return task;
+	}
+
+
+	/**
+	 * Run the warm-up and wait until it is completed.
+	 * A converter that could not be created does not stop the warm-up, see {@link #getFailures()}.
+	 */
+	public WarmupPlan execute() {
+		try {
+			start().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while warming up converters", e);
+		} catch (ExecutionException e) {
+			throw Throwables.propagate(e.getCause());
+		}
+		return this;
+	}
+
+
+	/**
+	 * @return <code>true</code> when all converters of this plan are handled.
+	 */
+	public boolean isComplete() {
+		return task != null && task.isDone();
+	}
+
+
+	/**
+	 * @return The pairs for which no converter could be created, or the conversions of their properties for which
+	 * there is no converter, with the reason.
+	 */
+	public Map<TypePair<?, ?>, Throwable> getFailures() {
+		return Collections.unmodifiableMap(failures);
+	}
+
+
+	/**
+	 * Create the converter and resolve its conversions, so the call sites of the converter link without resolving.
+	 * Bean converters are generated right away, instead of when they are used often enough, and so are the converters
+	 * of nested beans.
+	 * @param warmed The pairs warmed up so far, so the warm-up of beans that refer to each other ends
+	 */
+	private void warmup(TypePair<?, ?> pair, Set<TypePair<?, ?>> warmed) {
+		if( !warmed.add(pair) ){
+			return;
+		}
+		final Convert<?, ?> converter = MapperFactory.getConverter(pair.getSourceType(), pair.getTargetType());
+		if( converter instanceof TieredConverter ){
+			((TieredConverter<?, ?>) converter).compileNow();
+		}
+
+		if( PrecompiledConverters.find(pair.getSourceType(), pair.getTargetType()) == null
+				&& !GeneratorFactory.isBeanConversion(pair.getSourceType(), pair.getTargetType()) ){
+			resolve(pair, pair);
+			return;
+		}
+		for (MappedProperties mapped : ClassMapBuilder.build(pair.getSourceType(), pair.getTargetType()).useDefaults(true).generate().getMappedProperties()) {
+			if( mapped.hasCustomConverter() ){
+				continue;
+			}
+			// nested beans, or the elements, keys and values of collections and maps
+			for (TypePair<?, ?> conversion : GeneratorFactory.valueConversions(mapped)) {
+				if( GeneratorFactory.isBeanConversion(conversion.getSourceType(), conversion.getTargetType()) ){
+					warmup(conversion, warmed);
+				} else {
+					resolve(pair, conversion);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Resolve the conversion, which is memoized for the call sites that link to it.
+	 * @param pair The pair of the converter that uses the conversion
+	 */
+	private void resolve(TypePair<?, ?> pair, TypePair<?, ?> conversion) {
+		if( MappingLocator.resolve(conversion.getSourceType(), conversion.getTargetType()) == null ){
+			final String message = pair.equals(conversion) ? "No converter for " + conversion : "No converter for " + conversion + " of " + pair;
+			LOG.warn("Could not warm up converter: {}", message);
+			failures.put(conversion, new IllegalArgumentException(message));
+		}
+	}
+
+
+	private class WarmupPair extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final TypePair<?, ?> pair;
+
+		WarmupPair(TypePair<?, ?> pair) {
+			this.pair = pair;
+		}
+
+		@Override
+		protected void compute() {
+			try {
+				warmup(pair, new HashSet<TypePair<?, ?>>());
+			} catch (RuntimeException | LinkageError e) {
+				LOG.warn("Could not warm up converter for {}: {}", pair, e.getMessage(), e);
+				failures.put(pair, e);
+			}
+		}
+	}
+
+}
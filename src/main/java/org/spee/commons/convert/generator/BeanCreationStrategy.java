@@ -128,6 +128,16 @@ public class BeanCreationStrategy {
 		}
 	}
 
+	/**
+	 * Check if there is a strategy to create the given type. The strategy is resolved once, so this also prepares
+	 * the {@link #bootstrap(java.lang.invoke.MethodHandles.Lookup, String, MethodType) bootstrap} for the type.
+	 * @param type
+	 * @return <code>true</code> if a new instance can be created
+	 */
+	public static boolean canCreate(final Class<?> type) {
+		return beanCreator.get(type) != null;
+	}
+
 	/**
 	 * Register a {@link Supplier} that can create a certain type.
 	 * @param supplier
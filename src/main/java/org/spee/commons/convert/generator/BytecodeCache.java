@@ -0,0 +1,290 @@
+package org.spee.commons.convert.generator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spee.commons.convert.TypePair;
+import org.spee.commons.convert.generator.ClassMap.MappedProperties;
+import org.spee.commons.convert.internals.MappingLocator;
+
+import com.google.common.base.Optional;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+import net.bytebuddy.ByteBuddy;
+
+/**
+ * Content addressed cache of generated converter classes on disk.
+ * The key is a hash of the class bytes of the source and target type (including their super classes),
+ * the mapping of the properties and the conversions resolved for them, and the generator itself: the class bytes
+ * of every class in this package and in the package of the {@link MappingLocator}, nested classes included, and
+ * the version of ByteBuddy. So a change in any of them results in a new key.
+ * <p>
+ * Other code the generated bytecode depends on, like the {@link org.spee.commons.convert.Converter} methods that
+ * a conversion calls directly, is only part of the key by its signature. Clear the directory when such code changes
+ * its behaviour, or when the library is updated by copying classes instead of replacing the jar.
+ * <p>
+ * The cache is enabled by setting the system property {@value #CACHE_DIRECTORY_PROPERTY} to a directory.
+ * Entries are written to a temporary file and then moved in place, so multiple JVMs can share the directory.
+ */
+final class BytecodeCache {
+	private static final Logger LOG = LoggerFactory.getLogger(BytecodeCache.class);
+	static final String CACHE_DIRECTORY_PROPERTY = "org.spee.commons.convert.cache";
+	private static final String FORMAT_VERSION = "1";
+	private static final String CLASS_FILE_EXTENSION = ".class";
+	/**
+	 * The classes whose packages determine the generated bytecode.
+	 */
+	private static final Class<?>[] GENERATOR_PACKAGES = { GeneratorFactory.class, MappingLocator.class };
+
+	private final Path directory;
+
+
+	BytecodeCache(Path directory) throws IOException {
+		if( !GeneratorFingerprint.VALUE.isPresent() ){
+			throw new IOException("The classes of the generator can not be read");
+		}
+		this.directory = Files.createDirectories(directory);
+	}
+
+
+	/**
+	 * Create the cache for the directory in the system property {@value #CACHE_DIRECTORY_PROPERTY}.
+	 * @return The cache, or absent if it is not configured or the directory can not be used
+	 */
+	static Optional<BytecodeCache> fromSystemProperty() {
+		final String directory = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+		if( directory != null && !directory.isEmpty() ){
+			try {
+				return Optional.of(new BytecodeCache(Paths.get(directory)));
+			} catch (IOException | RuntimeException e) {
+				LOG.warn("Bytecode cache disabled, could not use directory {}: {}", directory, e.getMessage(), e);
+			}
+		}
+		return Optional.absent();
+	}
+
+
+	/**
+	 * Calculate the key for the converter of the given mapping, with the default layout.
+	 * @param classMap
+	 * @return The key, or absent when the class bytes of a type are not available
+	 */
+	static Optional<String> keyOf(ClassMap classMap) {
+		return keyOf(classMap, ConverterLayout.fromSystemProperty());
+	}
+
+
+	/**
+	 * Calculate the key for the converter of the given mapping. Two converters with the same key have the same bytecode,
+	 * which is also how {@link PrecompiledConverters} decides whether a converter generated at build time can be used.
+	 * @param classMap
+	 * @param layout
+	 * @return The key, or absent when the class bytes of a type are not available
+	 */
+	static Optional<String> keyOf(ClassMap classMap, ConverterLayout layout) {
+		if( !GeneratorFingerprint.VALUE.isPresent() ){
+			return Optional.absent();
+		}
+		try {
+			final Hasher hasher = Hashing.sha256().newHasher().putBytes(GeneratorFingerprint.VALUE.get()).putString(layout.name(), StandardCharsets.UTF_8);
+			putHierarchy(hasher, classMap.getSource().getBeanDescriptor().getBeanClass());
+			putHierarchy(hasher, classMap.getTarget().getBeanDescriptor().getBeanClass());
+
+			for (MappedProperties mappedProperties : classMap.getMappedProperties()) {
+				if( !GeneratorFactory.isConverted(mappedProperties) ){
+					continue;
+				}
+				hasher.putString(String.valueOf(mappedProperties.getSourceProperty().getReadMethod()), StandardCharsets.UTF_8);
+				hasher.putString(String.valueOf(mappedProperties.getTargetProperty().getWriteMethod()), StandardCharsets.UTF_8);
+				if( mappedProperties.hasCustomConverter() ){
+					hasher.putBytes(classBytes(mappedProperties.getCustomConverter()));
+				} else {
+					// conversions resolved while generating are part of the bytecode
+					hasher.putBoolean(GenerateConvertMethod_List.isElementConversion(mappedProperties));
+					hasher.putBoolean(GenerateConvertMethod_Map.isMapConversion(mappedProperties));
+					for (TypePair<?, ?> conversion : GeneratorFactory.valueConversions(mappedProperties)) {
+						hasher.putString(GeneratorFactory.isBeanConversion(conversion.getSourceType(), conversion.getTargetType()) ? "child converter"
+											: String.valueOf(StaticConversion.resolve(conversion.getSourceType(), conversion.getTargetType()).orNull()), StandardCharsets.UTF_8);
+					}
+				}
+			}
+			return Optional.of(hasher.hash().toString());
+		} catch (IOException e) {
+			LOG.debug("Converter not cacheable: {}", e.getMessage());
+			return Optional.absent();
+		}
+	}
+
+
+	/**
+	 * @param key
+	 * @return The cached class bytes, or <code>null</code> if not cached
+	 */
+	byte[] read(String key) {
+		try {
+			return Files.readAllBytes(pathOf(key));
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException e) {
+			LOG.warn("Could not read cached converter {}: {}", key, e.getMessage(), e);
+			return null;
+		}
+	}
+
+
+	void write(String key, byte[] classBytes) {
+		final Path target = pathOf(key);
+		Path temporary = null;
+		try {
+			temporary = Files.createTempFile(directory, key, ".tmp");
+			Files.write(temporary, classBytes);
+			try {
+				Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+			LOG.debug("Cached converter bytes in {}", target);
+		} catch (IOException e) {
+			LOG.warn("Could not write converter bytes to {}: {}", target, e.getMessage(), e);
+			deleteQuietly(temporary);
+		}
+	}
+
+
+	/**
+	 * Remove an entry that could not be used.
+	 */
+	void evict(String key) {
+		deleteQuietly(pathOf(key));
+	}
+
+
+	private Path pathOf(String key) {
+		return directory.resolve(key + CLASS_FILE_EXTENSION);
+	}
+
+
+	private static void deleteQuietly(Path path) {
+		try {
+			if( path != null ){
+				Files.deleteIfExists(path);
+			}
+		} catch (IOException e) {
+			LOG.debug("Could not delete {}: {}", path, e.getMessage());
+		}
+	}
+
+
+	/**
+	 * Hash of the generator: the classes in this package and the package of the {@link MappingLocator}, and ByteBuddy.
+	 * Computed on first use, absent when the classes can not be read.
+	 */
+	private static final class GeneratorFingerprint {
+		static final Optional<byte[]> VALUE = compute();
+
+		private static Optional<byte[]> compute() {
+			try {
+				final Hasher hasher = Hashing.sha256().newHasher().putString(FORMAT_VERSION, StandardCharsets.UTF_8);
+				for (Class<?> packageClass : GENERATOR_PACKAGES) {
+					for (Map.Entry<String, byte[]> generatorClass : packageClassBytes(packageClass).entrySet()) {
+						hasher.putString(generatorClass.getKey(), StandardCharsets.UTF_8).putBytes(generatorClass.getValue());
+					}
+				}
+				final String byteBuddyVersion = ByteBuddy.class.getPackage().getImplementationVersion();
+				if( byteBuddyVersion != null ){
+					hasher.putString(byteBuddyVersion, StandardCharsets.UTF_8);
+				} else {
+					// repackaged without its manifest
+					hasher.putBytes(classBytes(ByteBuddy.class));
+				}
+				return Optional.of(hasher.hash().asBytes());
+			} catch (IOException e) {
+				LOG.warn("Converters can not be cached or precompiled: {}", e.getMessage(), e);
+				return Optional.absent();
+			}
+		}
+	}
+
+
+	private static void putHierarchy(Hasher hasher, Class<?> type) throws IOException {
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+			hasher.putString(current.getName(), StandardCharsets.UTF_8).putBytes(classBytes(current));
+		}
+	}
+
+
+	/**
+	 * @return The class bytes of every class in the package of the type, nested classes included, by class file name
+	 * @throws IOException when the classes of the package can not be listed
+	 */
+	static SortedMap<String, byte[]> packageClassBytes(Class<?> type) throws IOException {
+		final String packagePath = type.getPackage().getName().replace('.', '/') + '/';
+		final CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+		if( codeSource == null || codeSource.getLocation() == null ){
+			throw new IOException("No location for the classes of " + type);
+		}
+		final Path location;
+		try {
+			location = Paths.get(codeSource.getLocation().toURI());
+		} catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+			throw new IOException("Can not list the classes of " + type + " in " + codeSource.getLocation(), e);
+		}
+
+		final SortedMap<String, byte[]> classes = new TreeMap<>();
+		if( Files.isDirectory(location) ){
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(location.resolve(packagePath), "*" + CLASS_FILE_EXTENSION)) {
+				for (Path file : files) {
+					classes.put(file.getFileName().toString(), Files.readAllBytes(file));
+				}
+			}
+		} else {
+			try (JarFile jar = new JarFile(location.toFile())) {
+				for (JarEntry entry : Collections.list(jar.entries())) {
+					final String name = entry.getName();
+					if( name.startsWith(packagePath) && name.endsWith(CLASS_FILE_EXTENSION) && name.indexOf('/', packagePath.length()) < 0 ){
+						try (InputStream in = jar.getInputStream(entry)) {
+							classes.put(name.substring(packagePath.length()), ByteStreams.toByteArray(in));
+						}
+					}
+				}
+			}
+		}
+		if( classes.isEmpty() ){
+			throw new IOException("No classes found for the package of " + type + " in " + location);
+		}
+		return classes;
+	}
+
+
+	private static byte[] classBytes(Class<?> type) throws IOException {
+		final ClassLoader classLoader = type.getClassLoader() == null ? ClassLoader.getSystemClassLoader() : type.getClassLoader();
+		try (InputStream in = classLoader.getResourceAsStream(type.getName().replace('.', '/') + CLASS_FILE_EXTENSION)) {
+			if( in == null ){
+				throw new IOException("No class bytes available for " + type);
+			}
+			return ByteStreams.toByteArray(in);
+		}
+	}
+
+}
@@ -15,6 +15,7 @@ import java.util.Base64.Encoder;
 import java.util.Collections;
 import java.util.List;
 
+import org.spee.commons.convert.DefaultImplementations;
 import org.spee.commons.convert.generator.ClassMap.MappedProperties;
 
 import com.google.common.base.Predicate;
@@ -30,6 +31,8 @@ import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.Implementation.Composable;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
+import net.bytebuddy.implementation.bytecode.constant.ClassConstant;
 import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
 import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
 import net.bytebuddy.jar.asm.Label;
@@ -37,6 +40,18 @@ import net.bytebuddy.jar.asm.MethodVisitor;
 import net.bytebuddy.utility.RandomString;
 
 final class ClassGeneratorHelper {
+	/**
+	 * {@link DefaultImplementations#newInstance(Class, int)}
+	 */
+	private static final StackManipulation NEW_SIZED_INSTANCE;
+
+	static {
+		try {
+			NEW_SIZED_INSTANCE = MethodInvocation.invoke(new MethodDescription.ForLoadedMethod(DefaultImplementations.class.getMethod("newInstance", Class.class, Integer.TYPE)));
+		} catch (NoSuchMethodException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
 
 	/**
 	 * Add a check if the given variable is <code>null</code> and if so return <code>null</code>.
@@ -126,9 +141,31 @@ final class ClassGeneratorHelper {
 	public static class ClearOrNewBuilder implements ByteCodeAppender, Composable {
 
 		private MappedProperties fieldMap;
+		private int sizeOffset;
+		private Class<?> instanceType;
 
+		/**
+		 * Create the collection without an expected size.
+		 */
 		public ClearOrNewBuilder(MappedProperties fieldMap) {
+			this(fieldMap, -1);
+		}
+
+		/**
+		 * @param sizeOffset The local variable with the expected size of the new collection, or <code>-1</code> if unknown
+		 */
+		public ClearOrNewBuilder(MappedProperties fieldMap, int sizeOffset) {
+			this(fieldMap, sizeOffset, fieldMap.getTargetProperty().getPropertyType());
+		}
+
+		/**
+		 * @param sizeOffset The local variable with the expected size of the new collection
+		 * @param instanceType The type to create with the expected size, the property type or an implementation of it
+		 */
+		public ClearOrNewBuilder(MappedProperties fieldMap, int sizeOffset, Class<?> instanceType) {
 			this.fieldMap = fieldMap;
+			this.sizeOffset = sizeOffset;
+			this.instanceType = instanceType;
 		}
 		
 		@Override
@@ -153,7 +190,7 @@ final class ClassGeneratorHelper {
 		 * public void convertField_0(S source, T target){
 		 * 		Iterable local;
 		 * 		if ( hasSetter() ){
-		 * 			local = new Iterable();
+		 * 			local = DefaultImplementations.newInstance(Iterable.class, size);
 		 * 			target.setProperty(local);
 		 * 		}
 		 * 		else {
@@ -165,23 +202,37 @@ final class ClassGeneratorHelper {
 		 */
 		@Override
 		public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
-			
+			final ParameterDescription parameterDescription = instrumentedMethod.getParameters().get(1);
+			StackManipulation.Size size = getCode(parameterDescription, parameterDescription.getOffset() + 1).apply(methodVisitor, implementationContext);
+			return new ByteCodeAppender.Size(size.getMaximalSize(), instrumentedMethod.getStackSize() + 1);
+		}
+
+		/**
+		 * @param target The target parameter
+		 * @param local_field_offset The local variable to store the collection in
+		 */
+		public StackManipulation getCode(ParameterDescription target, int local_field_offset) {
 			final TypeDescription returnType = new TypeDescription.ForLoadedType(fieldMap.getTargetProperty().getPropertyType());
 			final MethodVariableAccess localVar = MethodVariableAccess.of(returnType);
-			final List<StackManipulation> insr = new ArrayList<>(5);
-			final ParameterDescription parameterDescription = instrumentedMethod.getParameters().get(1);
-			final int local_field_offset = parameterDescription.getOffset() + 1;
+			final List<StackManipulation> insr = new ArrayList<>(7);
 
 			if( fieldMap.getTargetProperty().getWriteMethod() != null ){
 				// target.setValue(new Collection());
 				final MethodDescription.ForLoadedMethod targetMethodDesc = new MethodDescription.ForLoadedMethod(fieldMap.getTargetProperty().getWriteMethod());
 
 				// target_var = new instance
-				insr.add(GeneratorFactory.BeanCreationStrategyinvokeDynamic.dynamic("new_instance", returnType, Collections.<TypeDescription> emptyList(), emptyList()));
+				if( sizeOffset < 0 ){
+					insr.add(GeneratorFactory.BeanCreationStrategyinvokeDynamic.dynamic("new_instance", returnType, Collections.<TypeDescription> emptyList(), emptyList()));
+				} else {
+					insr.add(ClassConstant.of(new TypeDescription.ForLoadedType(instanceType)));
+					insr.add(MethodVariableAccess.INTEGER.loadFrom(sizeOffset));
+					insr.add(NEW_SIZED_INSTANCE);
+					insr.add(TypeCasting.to(returnType));
+				}
 				insr.add(localVar.storeAt(local_field_offset));
 
 				// target.setValue(target_var)
-				insr.add(MethodVariableAccess.load(parameterDescription));
+				insr.add(MethodVariableAccess.load(target));
 				insr.add(localVar.loadFrom(local_field_offset));
 				insr.add(MethodInvocation.invoke(targetMethodDesc));
 
@@ -190,7 +241,7 @@ final class ClassGeneratorHelper {
 				final MethodDescription.Latent clearMethodDesc = new MethodDescription.Latent(returnType, new MethodDescription.Token("clear", Modifier.PUBLIC, TypeDescription.Generic.VOID));
 
 				// target_var = target.getValue();
-				insr.add(MethodVariableAccess.load(parameterDescription));
+				insr.add(MethodVariableAccess.load(target));
 				insr.add(MethodInvocation.invoke(targetMethodDesc));
 				insr.add(localVar.storeAt(local_field_offset));
 
@@ -199,8 +250,7 @@ final class ClassGeneratorHelper {
 				insr.add(MethodInvocation.invoke(clearMethodDesc));
 			}
 			
-			StackManipulation.Size size = new StackManipulation.Compound(insr).apply(methodVisitor, implementationContext);
-			return new ByteCodeAppender.Size(size.getMaximalSize(), instrumentedMethod.getStackSize());
+			return new StackManipulation.Compound(insr);
 		}
 
 		
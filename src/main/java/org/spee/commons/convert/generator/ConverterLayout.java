@@ -0,0 +1,40 @@
+package org.spee.commons.convert.generator;
+
+import org.slf4j.LoggerFactory;
+
+/**
+ * How the property conversions are laid out in the generated converter.
+ */
+public enum ConverterLayout {
+	/**
+	 * A private method per property, which are called by <code>convert(source, target)</code>.
+	 */
+	PER_PROPERTY,
+	/**
+	 * The properties are converted in <code>convert(source, target)</code> itself. Wide beans are split in
+	 * chunks, so every method stays small enough to be inlined by the JIT compiler. Generating takes longer, since
+	 * the size of each property conversion is measured first. Only very wide beans convert faster than
+	 * {@link #PER_PROPERTY}, see <code>ConverterLayoutBenchmark</code>.
+	 * @see GenerateConvertMethod_Fused
+	 */
+	FUSED;
+
+	public static final String LAYOUT_PROPERTY = "org.spee.commons.convert.layout";
+
+
+	/**
+	 * @return The layout in the system property {@value #LAYOUT_PROPERTY}, defaults to {@link #PER_PROPERTY}.
+	 */
+	static ConverterLayout fromSystemProperty() {
+		final String layout = System.getProperty(LAYOUT_PROPERTY);
+		if( layout != null && !layout.isEmpty() ){
+			try {
+				return valueOf(layout.trim().toUpperCase());
+			} catch (IllegalArgumentException e) {
+				LoggerFactory.getLogger(ConverterLayout.class).warn("Unknown converter layout '{}', using {}", layout, PER_PROPERTY);
+			}
+		}
+		return PER_PROPERTY;
+	}
+
+}
@@ -0,0 +1,160 @@
+package org.spee.commons.convert.generator;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spee.commons.convert.Convert;
+import org.spee.commons.convert.ConvertTo;
+import org.spee.commons.convert.MapperFactory;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+
+import net.bytebuddy.dynamic.DynamicType.Unloaded;
+
+/**
+ * Generates converters at build time, so they don't have to be generated when the application runs.
+ * The converter classes are written to the output directory, together with the index that is read by
+ * {@link PrecompiledConverters}.
+ * <p>
+ * The pairs to generate are read from {@value #PAIRS_RESOURCE}, which is written by the annotation processor
+ * for {@link ConvertTo}. Each line contains the source and target type name, separated by whitespace.
+ * <pre>
+ * java org.spee.commons.convert.generator.ConverterPrecompiler build/classes/main
+ * </pre>
+ * The build of an application that declares pairs runs it on its own classes after compiling them, with Gradle:
+ * <pre>
+ * task precompileConverters(type: JavaExec, dependsOn: classes) {
+ *     classpath = sourceSets.main.runtimeClasspath
+ *     main = 'org.spee.commons.convert.generator.ConverterPrecompiler'
+ *     args sourceSets.main.output.classesDir
+ * }
+ * jar.dependsOn precompileConverters
+ * </pre>
+ * Custom {@link ClassMap}s can be added by using this class directly. A precompiled converter is only used
+ * while it is the converter that would be generated at runtime, see {@link PrecompiledConverters}.
+ */
+public class ConverterPrecompiler {
+	private static final Logger LOG = LoggerFactory.getLogger(ConverterPrecompiler.class);
+	static final String PAIRS_RESOURCE = "META-INF/spee/converters.list";
+
+	private final File outputDirectory;
+	private final ConverterLayout layout = ConverterLayout.fromSystemProperty();
+	private final GeneratorFactory generatorFactory = new GeneratorFactory(layout);
+	private final Properties index = new Properties();
+
+
+	public ConverterPrecompiler(File outputDirectory) {
+		Preconditions.checkArgument(outputDirectory.isDirectory(), "Not a directory: %s", outputDirectory);
+		this.outputDirectory = outputDirectory;
+		// the default converters are registered like at runtime, so the same conversions are resolved
+		try {
+			Class.forName(MapperFactory.class.getName(), true, MapperFactory.class.getClassLoader());
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+
+	/**
+	 * Generate the converter using the default mapping of the properties.
+	 * @see GeneratorFactory#build(Class, Class)
+	 */
+	public ConverterPrecompiler add(Class<?> sourceClass, Class<?> targetClass) {
+		return add(ClassMapBuilder.build(sourceClass, targetClass).useDefaults(true).generate());
+	}
+
+
+	/**
+	 * Generate the converter for the given mapping.
+	 * @param classMap
+	 * @return
+	 * @throws RuntimeException if the class could not be written
+	 */
+	public ConverterPrecompiler add(ClassMap classMap) {
+		final String sourceType = classMap.getSource().getBeanDescriptor().getBeanClass().getName();
+		final String targetType = classMap.getTarget().getBeanDescriptor().getBeanClass().getName();
+		final Optional<String> key = BytecodeCache.keyOf(classMap, layout);
+		if( !key.isPresent() ){
+			throw new RuntimeException("Could not calculate the key of the converter for " + sourceType + " to " + targetType);
+		}
+		final Unloaded<Convert<?, ?>> converter = generatorFactory.make(classMap);
+
+		LOG.debug("Precompiling converter {} for {} to {}", converter.getTypeDescription().getName(), sourceType, targetType);
+		try {
+			converter.saveIn(outputDirectory);
+		} catch (IOException e) {
+			throw new RuntimeException("Could not write converter for " + sourceType + " to " + targetType, e);
+		}
+		index.setProperty(PrecompiledConverters.key(sourceType, targetType), converter.getTypeDescription().getName() + PrecompiledConverters.KEY_SEPARATOR + key.get());
+		return this;
+	}
+
+
+	/**
+	 * Add the pairs that are listed in {@value #PAIRS_RESOURCE}.
+	 * @param classLoader The class loader to find the resources and the types
+	 * @return
+	 */
+	public ConverterPrecompiler addDeclared(ClassLoader classLoader) throws IOException, ClassNotFoundException {
+		Enumeration<URL> resources = classLoader.getResources(PAIRS_RESOURCE);
+		while( resources.hasMoreElements() ){
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(resources.nextElement().openStream(), StandardCharsets.UTF_8))) {
+				for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+					final String[] pair = line.trim().split("\\s+");
+					if( pair.length == 2 ){
+						add(Class.forName(pair[0], false, classLoader), Class.forName(pair[1], false, classLoader));
+					}
+				}
+			}
+		}
+		return this;
+	}
+
+
+	/**
+	 * Write the index of the generated converters. An existing index in the output directory is extended.
+	 */
+	public void writeIndex() throws IOException {
+		final File indexFile = new File(outputDirectory, PrecompiledConverters.INDEX_RESOURCE);
+		final Properties merged = new Properties();
+
+		if( indexFile.isFile() ){
+			try (InputStream in = new FileInputStream(indexFile)) {
+				merged.load(in);
+			}
+		} else if( !indexFile.getParentFile().isDirectory() && !indexFile.getParentFile().mkdirs() ){
+			throw new IOException("Could not create directory " + indexFile.getParentFile());
+		}
+
+		merged.putAll(index);
+		try (OutputStream out = new FileOutputStream(indexFile)) {
+			merged.store(out, "Generated by " + ConverterPrecompiler.class.getName());
+		}
+	}
+
+
+	public static void main(String[] args) throws Exception {
+		Preconditions.checkArgument(args.length == 1, "Usage: ConverterPrecompiler <output directory>");
+		final ConverterPrecompiler precompiler = new ConverterPrecompiler(new File(args[0]));
+
+		precompiler.addDeclared(Thread.currentThread().getContextClassLoader());
+		if( !precompiler.index.isEmpty() ){
+			precompiler.writeIndex();
+		}
+		LOG.info("Precompiled {} converters into {}", precompiler.index.size(), args[0]);
+	}
+
+}
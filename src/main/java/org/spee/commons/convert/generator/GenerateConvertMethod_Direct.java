@@ -2,12 +2,19 @@ package org.spee.commons.convert.generator;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+import java.lang.reflect.Method;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.spee.commons.convert.Convert;
+import org.spee.commons.convert.TypePair;
 import org.spee.commons.convert.generator.ClassMap.MappedProperties;
 
+import com.google.common.base.Optional;
+
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.method.ParameterDescription;
 import net.bytebuddy.description.modifier.Visibility;
@@ -17,6 +24,7 @@ import net.bytebuddy.dynamic.scaffold.InstrumentedType;
 import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
 import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
 import net.bytebuddy.implementation.bytecode.member.MethodReturn;
 import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
@@ -50,8 +58,11 @@ class GenerateConvertMethod_Direct implements ByteCodeAppender, Implementation {
 
 
 	/**
-	 * Write bytecode for a single property conversion. The convert call is done
-	 * by InvokeDynamic. It looks somewhat like the following:
+	 * Write bytecode for a single property conversion. The convert call is written as
+	 * bytecode when it is resolved while generating, see {@link StaticConversion}.
+	 * Nested beans are converted by the converter of the child, see
+	 * {@link GeneratorFactory#generateChildConverters}. Otherwise it is done by InvokeDynamic.
+	 * It looks somewhat like the following:
 	 * 
 	 * <pre>
 	 * private void convertField_0(Source source, Target target){
@@ -59,28 +70,63 @@ class GenerateConvertMethod_Direct implements ByteCodeAppender, Implementation {
 	 * }
 	 * </pre>
 	 */
+	public StackManipulation getCode(MappedProperties fieldMap, ParameterDescription source, ParameterDescription target,
+			Implementation.Context implementationContext) {
+		final Method readMethod = fieldMap.getSourceProperty().getReadMethod();
+		final Method writeMethod = fieldMap.getTargetProperty().getWriteMethod();
+		final GeneratorFactory.Context.ConverterField childConverter = context.childConverters.get(TypePair.of(readMethod.getReturnType(), writeMethod.getParameterTypes()[0]));
+
+		if( childConverter != null ){
+			// target.setValue((TargetType) childConverter_0().convert(source.getValue()))
+			return new StackManipulation.Compound(
+							MethodVariableAccess.load(target),
+							MethodVariableAccess.loadThis(),
+							MethodInvocation.invoke(implementationContext.getInstrumentedType().getDeclaredMethods().filter(named(childConverter.fieldName).and(takesArguments(0))).getOnly()),
+							MethodVariableAccess.load(source),
+							MethodInvocation.invoke(new MethodDescription.ForLoadedMethod(readMethod)),
+							GeneratorFactory.ConvertMethodInvoke,
+							TypeCasting.to(new TypeDescription.ForLoadedType(writeMethod.getParameterTypes()[0])),
+							MethodInvocation.invoke(new MethodDescription.ForLoadedMethod(writeMethod))
+					);
+		}
+
+		return new StackManipulation.Compound(
+						MethodVariableAccess.load(target),
+						MethodVariableAccess.load(source),
+						MethodInvocation.invoke(new MethodDescription.ForLoadedMethod(readMethod)),
+						conversion(readMethod.getReturnType(), writeMethod.getParameterTypes()[0]),
+						MethodInvocation.invoke(new MethodDescription.ForLoadedMethod(writeMethod))
+				);
+	}
+
+
 	@Override
 	public ByteCodeAppender.Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
 		ParameterDescription source = instrumentedMethod.getParameters().get(0);
-		final MethodDescription.ForLoadedMethod sourceMethodDesc = new MethodDescription.ForLoadedMethod(fieldMapping.getSourceProperty().getReadMethod());
 		ParameterDescription target = instrumentedMethod.getParameters().get(1);
-		final MethodDescription.ForLoadedMethod targetMethodDesc = new MethodDescription.ForLoadedMethod(fieldMapping.getTargetProperty().getWriteMethod());
-		final TypeDescription targetType = targetMethodDesc.getParameters().get(0).getType().asErasure();
-
-		LOG.debug("Mapping property {}", fieldMapping);
 
 		StackManipulation.Size size = new StackManipulation.Compound(
-										MethodVariableAccess.load(target),
-										MethodVariableAccess.load(source),
-										MethodInvocation.invoke(sourceMethodDesc),
-										GeneratorFactory.MappingLocatorInvokeDynamic.dynamic(GeneratorFactory.CONVERT_METHODNAME, targetType, asList(sourceMethodDesc.getReturnType().asErasure()), emptyList()),
-										MethodInvocation.invoke(targetMethodDesc),
+										getCode(fieldMapping, source, target, implementationContext),
 										MethodReturn.VOID
 							).apply(methodVisitor, implementationContext);
 		return new ByteCodeAppender.Size(size.getMaximalSize(), instrumentedMethod.getStackSize());
 	}
 
 
+	/**
+	 * The conversion of the value on the stack from the source type to the target type.
+	 */
+	static StackManipulation conversion(Class<?> sourceType, Class<?> targetType) {
+		final Optional<StaticConversion> staticConversion = StaticConversion.resolve(sourceType, targetType);
+		if( staticConversion.isPresent() ){
+			LOG.trace("Converting {} to {} by {}", sourceType, targetType, staticConversion.get());
+			return staticConversion.get().getStackManipulation();
+		}
+		return GeneratorFactory.MappingLocatorInvokeDynamic.dynamic(GeneratorFactory.CONVERT_METHODNAME, new TypeDescription.ForLoadedType(targetType),
+					asList(new TypeDescription.ForLoadedType(sourceType)), emptyList());
+	}
+
+
 	public Builder<Convert<?, ?>> generateConvertMethod(Builder<Convert<?, ?>> builder) {
 		builder = builder.defineMethod(methodName, Void.TYPE, Visibility.PRIVATE)
 						.withParameter(context.sourceType)
@@ -0,0 +1,252 @@
+package org.spee.commons.convert.generator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.spee.commons.convert.Convert;
+import org.spee.commons.convert.generator.ClassMap.MappedProperties;
+
+import com.google.common.base.Preconditions;
+
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType.Builder;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.jar.asm.ClassReader;
+import net.bytebuddy.jar.asm.ClassVisitor;
+import net.bytebuddy.jar.asm.Handle;
+import net.bytebuddy.jar.asm.Label;
+import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+
+/**
+ * Write the conversion of multiple properties in a single method body.
+ * <pre>
+ * private void convertFields_0(Source source, Target target){
+ *     target.setValue(convert(source.getValue()));
+ *     target.setOther((OtherType) converter_0.convert(source.getOther()));
+ *     ...
+ * }
+ * </pre>
+ * A method is only inlined by HotSpot when its bytecode is at most <code>-XX:FreqInlineSize</code> (325 bytes
+ * by default), so the properties are split in chunks of at most {@link #MAX_CHUNK_SIZE} bytes. The size of a property
+ * conversion varies with the conversion: from 9 bytes for a copied value to about 150 bytes for a map of beans. So it is
+ * measured on the same conversions generated with a method per property, see {@link #propertySizes(byte[], String, int)}.
+ */
+class GenerateConvertMethod_Fused implements ByteCodeAppender, Implementation {
+	static final String CHUNK_SIZE_PROPERTY = "org.spee.commons.convert.layout.chunksize";
+	/**
+	 * Maximum bytecode size of the property conversions of a chunk: 325 bytes less the null check (5) and the return (1)
+	 * of <code>convert(source, target)</code>, when all properties fit in it.
+	 */
+	static final int MAX_CHUNK_SIZE = Integer.getInteger(CHUNK_SIZE_PROPERTY, 319);
+
+	private GeneratorFactory.Context<?, ?> context;
+	private String methodName;
+	private List<MappedProperties> fieldMappings;
+
+
+	public GenerateConvertMethod_Fused(GeneratorFactory.Context<?, ?> context, String methodName, List<MappedProperties> mappings) {
+		this.context = context;
+		this.methodName = methodName;
+		this.fieldMappings = mappings;
+	}
+
+
+	@Override
+	public InstrumentedType prepare(InstrumentedType instrumentedType) {
+		return instrumentedType;
+	}
+
+
+	@Override
+	public ByteCodeAppender appender(Target implementationTarget) {
+		return this;
+	}
+
+
+	@Override
+	public ByteCodeAppender.Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
+		ParameterDescription source = instrumentedMethod.getParameters().get(0);
+		ParameterDescription target = instrumentedMethod.getParameters().get(1);
+		List<StackManipulation> insr = new ArrayList<>(fieldMappings.size() + 1);
+		int incr_stack = 1;
+		int locals = 0;
+
+		for (MappedProperties fieldMapping : fieldMappings) {
+			if( fieldMapping.hasCustomConverter() ){
+				insr.add(new GenerateConvertMethod_WithFieldUsage(context, methodName, fieldMapping).getCode(fieldMapping, source, target, implementationContext));
+			} else if( GenerateConvertMethod_List.isElementConversion(fieldMapping) ){
+				insr.add(new GenerateConvertMethod_List(context, methodName, fieldMapping).getCode(fieldMapping, source, target, implementationContext));
+				locals = Math.max(locals, GenerateConvertMethod_List.LOCAL_VARIABLES);
+			} else if( GenerateConvertMethod_Map.isMapConversion(fieldMapping) ){
+				insr.add(new GenerateConvertMethod_Map(context, methodName, fieldMapping).getCode(fieldMapping, source, target, implementationContext));
+				locals = Math.max(locals, GenerateConvertMethod_Map.LOCAL_VARIABLES);
+			} else {
+				insr.add(new GenerateConvertMethod_Direct(context, methodName, fieldMapping).getCode(fieldMapping, source, target, implementationContext));
+			}
+		}
+
+		insr.add(MethodReturn.VOID);
+		StackManipulation.Size size = new StackManipulation.Compound(insr).apply(methodVisitor, implementationContext);
+		return new ByteCodeAppender.Size(size.getMaximalSize() + incr_stack, instrumentedMethod.getStackSize() + Math.max(incr_stack, locals));
+	}
+
+
+	public Builder<Convert<?, ?>> generateConvertMethod(Builder<Convert<?, ?>> builder) {
+		builder = builder.defineMethod(methodName, Void.TYPE, Visibility.PRIVATE)
+						.withParameter(context.sourceType)
+						.withParameter(context.targetType)
+						.intercept(this);
+		return builder;
+	}
+
+
+	/**
+	 * Split the properties in chunks of at most {@link #MAX_CHUNK_SIZE} bytes. A larger property gets a chunk of its own.
+	 * There is always at least one chunk.
+	 * @param sizes The bytecode size of the conversion of each property
+	 */
+	static List<List<MappedProperties>> chunks(List<MappedProperties> mappedProperties, List<Integer> sizes) {
+		Preconditions.checkArgument(mappedProperties.size() == sizes.size(), "%s sizes for %s properties", sizes.size(), mappedProperties.size());
+		final List<List<MappedProperties>> chunks = new ArrayList<>();
+		List<MappedProperties> chunk = new ArrayList<>();
+		int chunkSize = 0;
+
+		for (int index = 0; index < mappedProperties.size(); index++) {
+			final int size = sizes.get(index);
+			if( chunkSize + size > MAX_CHUNK_SIZE && !chunk.isEmpty() ){
+				chunks.add(chunk);
+				chunk = new ArrayList<>();
+				chunkSize = 0;
+			}
+			chunk.add(mappedProperties.get(index));
+			chunkSize += size;
+		}
+		chunks.add(chunk);
+		return chunks;
+	}
+
+
+	/**
+	 * @param classBytes A converter generated with {@link ConverterLayout#PER_PROPERTY}
+	 * @param methodPrefix The prefix of the methods per property, which is followed by the index of the property
+	 * @return The bytecode size of the conversion in each method per property, without the return
+	 */
+	static List<Integer> propertySizes(byte[] classBytes, String methodPrefix, int properties) {
+		final Map<String, Integer> methodSizes = methodSizes(classBytes);
+		final List<Integer> sizes = new ArrayList<>(properties);
+		for (int index = 0; index < properties; index++) {
+			sizes.add(methodSizes.get(methodPrefix + index) - 1);
+		}
+		return sizes;
+	}
+
+
+	/**
+	 * @return The bytecode size of each method of the class by name, the largest one of overloaded methods
+	 */
+	static Map<String, Integer> methodSizes(byte[] classBytes) {
+		final Map<String, Integer> sizes = new HashMap<>();
+		new ClassReader(classBytes).accept(new ClassVisitor(Opcodes.ASM5) {
+			@Override
+			public MethodVisitor visitMethod(int access, final String name, String desc, String signature, String[] exceptions) {
+				return new CodeSize() {
+					@Override
+					public void visitEnd() {
+						final Integer overloaded = sizes.get(name);
+						sizes.put(name, overloaded == null ? size : Math.max(overloaded, size));
+					}
+				};
+			}
+		}, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+		return sizes;
+	}
+
+
+	/**
+	 * Sum of the sizes of the visited instructions. Where an instruction has a shorter form, like <code>ldc</code>
+	 * for <code>ldc_w</code>, the longer one is counted, so the size is never too small.
+	 */
+	private static class CodeSize extends MethodVisitor {
+		int size;
+
+		CodeSize() {
+			super(Opcodes.ASM5);
+		}
+
+		@Override
+		public void visitInsn(int opcode) {
+			size += 1;
+		}
+
+		@Override
+		public void visitIntInsn(int opcode, int operand) {
+			size += opcode == Opcodes.SIPUSH ? 3 : 2;
+		}
+
+		@Override
+		public void visitVarInsn(int opcode, int var) {
+			// xload_0 to xload_3 and the like have no operand, wide ones a 2 byte index
+			size += var <= 3 && opcode != Opcodes.RET ? 1 : var <= 255 ? 2 : 4;
+		}
+
+		@Override
+		public void visitTypeInsn(int opcode, String type) {
+			size += 3;
+		}
+
+		@Override
+		public void visitFieldInsn(int opcode, String owner, String name, String desc) {
+			size += 3;
+		}
+
+		@Override
+		public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
+			size += opcode == Opcodes.INVOKEINTERFACE ? 5 : 3;
+		}
+
+		@Override
+		public void visitInvokeDynamicInsn(String name, String desc, Handle bsm, Object... bsmArgs) {
+			size += 5;
+		}
+
+		@Override
+		public void visitJumpInsn(int opcode, Label label) {
+			size += 3;
+		}
+
+		@Override
+		public void visitLdcInsn(Object cst) {
+			size += 3;
+		}
+
+		@Override
+		public void visitIincInsn(int var, int increment) {
+			size += var <= 255 && increment >= Byte.MIN_VALUE && increment <= Byte.MAX_VALUE ? 3 : 6;
+		}
+
+		@Override
+		public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+			size += 1 + 3 + 12 + 4 * labels.length;
+		}
+
+		@Override
+		public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+			size += 1 + 3 + 8 + 8 * labels.length;
+		}
+
+		@Override
+		public void visitMultiANewArrayInsn(String desc, int dims) {
+			size += 4;
+		}
+	}
+
+}
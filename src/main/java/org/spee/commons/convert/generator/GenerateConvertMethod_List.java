@@ -1,38 +1,83 @@
 package org.spee.commons.convert.generator;
 
-import java.lang.reflect.Modifier;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.RandomAccess;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.spee.commons.convert.Convert;
+import org.spee.commons.convert.DefaultImplementations;
+import org.spee.commons.convert.TypePair;
 import org.spee.commons.convert.generator.ClassMap.MappedProperties;
-import org.spee.commons.utils.IterableUtils;
+import org.spee.commons.convert.internals.MappingLocator;
+
+import com.google.common.base.Optional;
+import com.google.common.reflect.TypeToken;
 
-import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.method.MethodDescription;
-import net.bytebuddy.description.method.MethodDescription.InDefinedShape;
 import net.bytebuddy.description.method.ParameterDescription;
 import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.description.type.TypeDescription;
-import net.bytebuddy.description.type.TypeDescription.Generic;
 import net.bytebuddy.dynamic.DynamicType.Builder;
 import net.bytebuddy.dynamic.scaffold.InstrumentedType;
 import net.bytebuddy.implementation.Implementation;
-import net.bytebuddy.implementation.Implementation.Target;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
 import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
-import net.bytebuddy.implementation.bytecode.assign.primitive.PrimitiveUnboxingDelegate;
-import net.bytebuddy.implementation.bytecode.member.FieldAccess;
 import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
 import net.bytebuddy.implementation.bytecode.member.MethodReturn;
-import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.jar.asm.Label;
 import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.jar.asm.Type;
 
-public class GenerateConvertMethod_List implements ByteCodeAppender, Implementation {
-	private static final Logger LOG = LoggerFactory.getLogger(GenerateConvertMethod_WithFieldUsage.class);
+/**
+ * Write bytecode to convert a collection or array property element by element.
+ * The target is created with the size of the source, so it never has to grow, and the elements are
+ * converted like a single property: resolved while generating, by a child converter or by InvokeDynamic.
+ * <pre>
+ * private void convertField_0(Source source, Target target){
+ *     List&lt;A&gt; values = source.getValues();
+ *     if( values == null ){
+ *         target.setValues(null);
+ *         return;
+ *     }
+ *     int size = values.size();
+ *     List&lt;B&gt; converted = DefaultImplementations.newInstance(ArrayList.class, size); // or target.getValues().clear() without setter
+ *     target.setValues(converted);
+ *     if( values instanceof RandomAccess ){
+ *         for(int i = 0; i &lt; size; i++){
+ *             converted.add( convert(values.get(i)) );
+ *         }
+ *     } else {
+ *         for(Iterator&lt;A&gt; it = values.iterator(); it.hasNext(); ){
+ *             converted.add( convert(it.next()) );
+ *         }
+ *     }
+ * }
+ * </pre>
+ * Arrays are read and written by index.
+ */
+class GenerateConvertMethod_List implements ByteCodeAppender, Implementation {
+	private static final Logger LOG = LoggerFactory.getLogger(GenerateConvertMethod_List.class);
+	/**
+	 * The local variables used, next to the parameters: source values, size, target values, index and iterator.
+	 */
+	static final int LOCAL_VARIABLES = 5;
+	/**
+	 * Maximum operand stack used: target values, index, child converter, source values, index and room for a
+	 * wide element.
+	 */
+	private static final int MAX_STACK = 8;
 
 	private GeneratorFactory.Context<?, ?> context;
 	private String methodName;
@@ -59,39 +104,71 @@ public class GenerateConvertMethod_List implements ByteCodeAppender, Implementat
 
 
 	/**
-	 * 
-	 * <pre>
-	 * private void convertField_0(Source source, Target target){
-	 *     target.setValue((TargetType) converter_0.convert(source.getValue()));
-	 * }
-	 * </pre>
+	 * @return <code>true</code> if the property is a collection or array that is converted element by element.
+	 * A conversion that is registered for the property types is used instead.
 	 */
-	public StackManipulation getCode(MappedProperties fieldMap, ParameterDescription source, ParameterDescription target, Implementation.Context implementationContext) {
-		final InDefinedShape sourceMethodDesc = new MethodDescription.ForLoadedMethod(fieldMap.getSourceProperty().getReadMethod());
-		final InDefinedShape targetMethodDesc = new MethodDescription.ForLoadedMethod(fieldMap.getTargetProperty().getWriteMethod());
-/*
- 5  aload_1
- 6  invokemethod source.getValue() : java.lang.Object[]
- 7  invokestatic org.spee.commons.utils.IterableUtils.of(java.lang.Object[]) : java.lang.Iterable
- 8  invokeinterface java.lang.Iterable.iterator() : java.util.Iterator
-14  astore_3
-15  goto 35
-18  aload_3
-19  invokeinterface java.util.Iterator.next() : java.lang.Object
-// convert
-35  aload_3
-36  invokeinterface java.util.Iterator.hasNext() : boolean
-41  ifne 18
-44  return
- */
-		InDefinedShape toIterableMethodDesc = new MethodDescription.Latent(new TypeDescription.ForLoadedType(IterableUtils.class), new MethodDescription.Token("of", Modifier.PUBLIC & Modifier.STATIC, null));
-		final Generic targetType = targetMethodDesc.getParameters().get(0).getType();
-		final TypeDescription wrapperType = ClassGeneratorHelper.getPrimitiveWrapperType(targetType); // if target is primitive, use wrapper
+	static boolean isElementConversion(MappedProperties fieldMap) {
+		if( fieldMap.hasCustomConverter() || !fieldMap.hasSourceProperty() || !fieldMap.hasTargetProperty() || fieldMap.getSourceProperty().getReadMethod() == null || fieldMap.getTargetProperty().getReadMethod() == null ){
+			return false;
+		}
+		final Class<?> sourceType = fieldMap.getSourceProperty().getReadMethod().getReturnType();
+		final Class<?> targetType = targetContainerType(fieldMap);
+		final boolean sourceContainer = sourceType.isArray() || Iterable.class.isAssignableFrom(sourceType);
+		final boolean targetContainer = targetType.isArray() ? sourceType.isArray() || Collection.class.isAssignableFrom(sourceType) : Collection.class.isAssignableFrom(targetType);
+
+		return sourceContainer && targetContainer && MappingLocator.resolve(sourceType, targetType) == null;
+	}
+
+
+	/**
+	 * @return The element types of the property, or <code>null</code> if it is not converted element by element.
+	 */
+	static TypePair<?, ?> elementTypes(MappedProperties fieldMap) {
+		if( !isElementConversion(fieldMap) ){
+			return null;
+		}
+		final Method readMethod = fieldMap.getSourceProperty().getReadMethod();
+		final Method writeMethod = fieldMap.getTargetProperty().getWriteMethod();
+		final java.lang.reflect.Type targetType = writeMethod != null ? writeMethod.getGenericParameterTypes()[0] : fieldMap.getTargetProperty().getReadMethod().getGenericReturnType();
+		return TypePair.of(elementType(readMethod.getGenericReturnType()), elementType(targetType));
+	}
+
+
+	/**
+	 * @return The element type of an array or {@link Iterable}, {@link Object} when it is not known
+	 */
+	static Class<?> elementType(java.lang.reflect.Type containerType) {
+		final TypeToken<?> type = TypeToken.of(containerType);
+		if( type.isArray() ){
+			return type.getComponentType().getRawType();
+		}
+		return type.resolveType(Iterable.class.getTypeParameters()[0]).getRawType();
+	}
+
 
-		LOG.debug("convert: read={} ,write={}, converter={} (primitive:{})", fieldMap.getSourceProperty().getReadMethod(),
-				fieldMap.getTargetProperty().getWriteMethod(), fieldMap.getCustomConverter(), wrapperType != null);
+	/**
+	 * The type of the collection created for the converted elements. A {@link List}, {@link Collection} or {@link Iterable}
+	 * is created as an {@link ArrayList}, which is presized and read by index, instead of the {@link LinkedList} that
+	 * {@link DefaultImplementations} creates for them. Other types are created by {@link DefaultImplementations}.
+	 */
+	static Class<?> newCollectionType(Class<?> targetType) {
+		return targetType == List.class || targetType == Collection.class || targetType == Iterable.class ? ArrayList.class : targetType;
+	}
 
-		return null;
+
+	/**
+	 * The type of the target collection: the type of the setter, or the getter when there is no setter.
+	 */
+	static Class<?> targetContainerType(MappedProperties fieldMap) {
+		final Method writeMethod = fieldMap.getTargetProperty().getWriteMethod();
+		return writeMethod != null ? writeMethod.getParameterTypes()[0] : fieldMap.getTargetProperty().getReadMethod().getReturnType();
+	}
+
+
+	public StackManipulation getCode(MappedProperties fieldMap, ParameterDescription source, ParameterDescription target, Implementation.Context implementationContext) {
+		LOG.trace("convert elements: read={} ,write={}, elements={}", fieldMap.getSourceProperty().getReadMethod(),
+				fieldMap.getTargetProperty().getWriteMethod(), elementTypes(fieldMap));
+		return new ElementConversion(fieldMap, source, target);
 	}
 
 
@@ -100,14 +177,11 @@ public class GenerateConvertMethod_List implements ByteCodeAppender, Implementat
 		ParameterDescription source = instrumentedMethod.getParameters().get(0);
 		ParameterDescription target = instrumentedMethod.getParameters().get(1);
 
-		LOG.debug("Mapping property {}", fieldMapping);
-		int incr_stack = 1;
-
 		StackManipulation.Size size = new StackManipulation.Compound(
 									getCode(fieldMapping, source, target, implementationContext),
 									MethodReturn.VOID
 							).apply(methodVisitor, implementationContext);
-		return new ByteCodeAppender.Size(size.getMaximalSize() + incr_stack, instrumentedMethod.getStackSize() + incr_stack);
+		return new ByteCodeAppender.Size(size.getMaximalSize(), instrumentedMethod.getStackSize() + LOCAL_VARIABLES);
 	}
 
 
@@ -119,5 +193,302 @@ public class GenerateConvertMethod_List implements ByteCodeAppender, Implementat
 		return builder;
 	}
 
-}
 
+	/**
+	 * The loop over the elements. It uses the local variables after the parameters of the method, and
+	 * leaves the operand stack and the local variables as they were.
+	 */
+	private class ElementConversion implements StackManipulation {
+		private final MappedProperties fieldMap;
+		private final ParameterDescription source;
+		private final ParameterDescription target;
+		private final Method readMethod;
+		private final Method writeMethod;
+		private final Class<?> sourceType;
+		private final Class<?> targetType;
+		private final TypePair<?, ?> elementTypes;
+		private final int sourceValues;
+		private final int size;
+		private final int targetValues;
+		private final int index;
+		private final int iterator;
+
+
+		ElementConversion(MappedProperties fieldMap, ParameterDescription source, ParameterDescription target) {
+			this.fieldMap = fieldMap;
+			this.source = source;
+			this.target = target;
+			this.readMethod = fieldMap.getSourceProperty().getReadMethod();
+			this.writeMethod = fieldMap.getTargetProperty().getWriteMethod();
+			this.sourceType = readMethod.getReturnType();
+			this.targetType = targetContainerType(fieldMap);
+			this.elementTypes = elementTypes(fieldMap);
+			this.sourceValues = target.getOffset() + 1;
+			this.size = sourceValues + 1;
+			this.targetValues = size + 1;
+			this.index = targetValues + 1;
+			this.iterator = index + 1;
+		}
+
+
+		@Override
+		public boolean isValid() {
+			return true;
+		}
+
+
+		@Override
+		public Size apply(MethodVisitor mv, Implementation.Context implementationContext) {
+			final Label notNull = new Label();
+			final Label end = new Label();
+
+			// values = source.getValues(); if( values == null ) ...
+			mv.visitVarInsn(Opcodes.ALOAD, source.getOffset());
+			invoke(mv, implementationContext, readMethod);
+			mv.visitVarInsn(Opcodes.ASTORE, sourceValues);
+			mv.visitVarInsn(Opcodes.ALOAD, sourceValues);
+			mv.visitJumpInsn(Opcodes.IFNONNULL, notNull);
+			if( writeMethod != null ){
+				mv.visitVarInsn(Opcodes.ALOAD, target.getOffset());
+				mv.visitInsn(Opcodes.ACONST_NULL);
+				invoke(mv, implementationContext, writeMethod);
+			}
+			mv.visitJumpInsn(Opcodes.GOTO, end);
+			mv.visitLabel(notNull);
+			frame(mv, implementationContext, Type.getInternalName(sourceType));
+
+			// size = values.length / values.size()
+			mv.visitVarInsn(Opcodes.ALOAD, sourceValues);
+			if( sourceType.isArray() ){
+				mv.visitInsn(Opcodes.ARRAYLENGTH);
+			} else if( Collection.class.isAssignableFrom(sourceType) ){
+				mv.visitMethodInsn(sourceType.isInterface() ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL, Type.getInternalName(sourceType), "size", "()I", sourceType.isInterface());
+			} else {
+				mv.visitInsn(Opcodes.POP);
+				mv.visitIntInsn(Opcodes.BIPUSH, 10);
+			}
+			mv.visitVarInsn(Opcodes.ISTORE, size);
+
+			newTargetValues(mv, implementationContext);
+
+			if( sourceType.isArray() || RandomAccess.class.isAssignableFrom(sourceType) ){
+				indexedLoop(mv, implementationContext);
+			} else if( List.class.isAssignableFrom(sourceType) ){
+				// values instanceof RandomAccess ? indexed : iterator
+				final Label iterate = new Label();
+				mv.visitVarInsn(Opcodes.ALOAD, sourceValues);
+				mv.visitTypeInsn(Opcodes.INSTANCEOF, Type.getInternalName(RandomAccess.class));
+				mv.visitJumpInsn(Opcodes.IFEQ, iterate);
+				indexedLoop(mv, implementationContext);
+				mv.visitJumpInsn(Opcodes.GOTO, end);
+				mv.visitLabel(iterate);
+				frame(mv, implementationContext, Type.getInternalName(sourceType), Opcodes.INTEGER, Type.getInternalName(targetType));
+				iteratorLoop(mv, implementationContext);
+			} else {
+				iteratorLoop(mv, implementationContext);
+			}
+
+			mv.visitLabel(end);
+			frame(mv, implementationContext);
+			return new Size(0, MAX_STACK);
+		}
+
+
+		/**
+		 * <code>target.setValues(converted = newInstance(size))</code>, or <code>(converted = target.getValues()).clear()</code>
+		 */
+		private void newTargetValues(MethodVisitor mv, Implementation.Context implementationContext) {
+			if( !targetType.isArray() ){
+				new ClassGeneratorHelper.ClearOrNewBuilder(fieldMap, size, newCollectionType(targetType)).getCode(target, targetValues).apply(mv, implementationContext);
+				return;
+			}
+
+			mv.visitVarInsn(Opcodes.ILOAD, size);
+			if( targetType.getComponentType().isPrimitive() ){
+				mv.visitIntInsn(Opcodes.NEWARRAY, arrayType(targetType.getComponentType()));
+			} else {
+				mv.visitTypeInsn(Opcodes.ANEWARRAY, Type.getInternalName(targetType.getComponentType()));
+			}
+			mv.visitVarInsn(Opcodes.ASTORE, targetValues);
+			mv.visitVarInsn(Opcodes.ALOAD, target.getOffset());
+			mv.visitVarInsn(Opcodes.ALOAD, targetValues);
+			invoke(mv, implementationContext, writeMethod);
+		}
+
+
+		/**
+		 * <code>for(int i = 0; i &lt; size; i++){ add(convert(values[i])); }</code>
+		 */
+		private void indexedLoop(MethodVisitor mv, Implementation.Context implementationContext) {
+			final Label condition = new Label();
+			final Label body = new Label();
+
+			mv.visitInsn(Opcodes.ICONST_0);
+			mv.visitVarInsn(Opcodes.ISTORE, index);
+			mv.visitJumpInsn(Opcodes.GOTO, condition);
+			mv.visitLabel(body);
+			frame(mv, implementationContext, Type.getInternalName(sourceType), Opcodes.INTEGER, Type.getInternalName(targetType), Opcodes.INTEGER);
+
+			beginStore(mv);
+			mv.visitVarInsn(Opcodes.ALOAD, sourceValues);
+			mv.visitVarInsn(Opcodes.ILOAD, index);
+			if( sourceType.isArray() ){
+				mv.visitInsn(Type.getType(sourceType.getComponentType()).getOpcode(Opcodes.IALOAD));
+			} else {
+				mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(List.class), "get", "(I)Ljava/lang/Object;", true);
+			}
+			convertElement(mv, implementationContext, sourceType.isArray());
+			endStore(mv);
+
+			mv.visitIincInsn(index, 1);
+			mv.visitLabel(condition);
+			frame(mv, implementationContext, Type.getInternalName(sourceType), Opcodes.INTEGER, Type.getInternalName(targetType), Opcodes.INTEGER);
+			mv.visitVarInsn(Opcodes.ILOAD, index);
+			mv.visitVarInsn(Opcodes.ILOAD, size);
+			mv.visitJumpInsn(Opcodes.IF_ICMPLT, body);
+		}
+
+
+		/**
+		 * <code>for(Iterator it = values.iterator(); it.hasNext(); ){ add(convert(it.next())); }</code>
+		 */
+		private void iteratorLoop(MethodVisitor mv, Implementation.Context implementationContext) {
+			final Label condition = new Label();
+			final Label body = new Label();
+			final String iteratorType = Type.getInternalName(Iterator.class);
+
+			mv.visitInsn(Opcodes.ICONST_0);
+			mv.visitVarInsn(Opcodes.ISTORE, index);
+			mv.visitVarInsn(Opcodes.ALOAD, sourceValues);
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(Iterable.class), "iterator", "()Ljava/util/Iterator;", true);
+			mv.visitVarInsn(Opcodes.ASTORE, iterator);
+			mv.visitJumpInsn(Opcodes.GOTO, condition);
+			mv.visitLabel(body);
+			frame(mv, implementationContext, Type.getInternalName(sourceType), Opcodes.INTEGER, Type.getInternalName(targetType), Opcodes.INTEGER, iteratorType);
+
+			beginStore(mv);
+			mv.visitVarInsn(Opcodes.ALOAD, iterator);
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, iteratorType, "next", "()Ljava/lang/Object;", true);
+			convertElement(mv, implementationContext, false);
+			endStore(mv);
+			if( targetType.isArray() ){
+				mv.visitIincInsn(index, 1);
+			}
+
+			mv.visitLabel(condition);
+			frame(mv, implementationContext, Type.getInternalName(sourceType), Opcodes.INTEGER, Type.getInternalName(targetType), Opcodes.INTEGER, iteratorType);
+			mv.visitVarInsn(Opcodes.ALOAD, iterator);
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, iteratorType, "hasNext", "()Z", true);
+			mv.visitJumpInsn(Opcodes.IFNE, body);
+		}
+
+
+		/**
+		 * Load the target values, and for an array the index to store at.
+		 */
+		private void beginStore(MethodVisitor mv) {
+			mv.visitVarInsn(Opcodes.ALOAD, targetValues);
+			if( targetType.isArray() ){
+				mv.visitVarInsn(Opcodes.ILOAD, index);
+			}
+		}
+
+
+		private void endStore(MethodVisitor mv) {
+			if( targetType.isArray() ){
+				mv.visitInsn(Type.getType(targetType.getComponentType()).getOpcode(Opcodes.IASTORE));
+			} else {
+				mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(Collection.class), "add", "(Ljava/lang/Object;)Z", true);
+				mv.visitInsn(Opcodes.POP);
+			}
+		}
+
+
+		/**
+		 * Convert the element on the stack. Elements of a collection are on the stack as {@link Object}.
+		 */
+		private void convertElement(MethodVisitor mv, Implementation.Context implementationContext, boolean typed) {
+			final Class<?> sourceElement = elementTypes.getSourceType();
+			final Class<?> targetElement = targetType.isArray() ? targetType.getComponentType() : elementTypes.getTargetType();
+			if( !typed && sourceElement != Object.class ){
+				TypeCasting.to(new TypeDescription.ForLoadedType(sourceElement)).apply(mv, implementationContext);
+			}
+
+			convertValue(context, mv, implementationContext, sourceElement, targetElement);
+		}
+
+
+		private void invoke(MethodVisitor mv, Implementation.Context implementationContext, Method method) {
+			MethodInvocation.invoke(new MethodDescription.ForLoadedMethod(method)).apply(mv, implementationContext);
+		}
+
+
+		private void frame(MethodVisitor mv, Implementation.Context implementationContext, Object... locals) {
+			fullFrame(mv, implementationContext, source, target, locals);
+		}
+	}
+
+
+	/**
+	 * Full frame with the parameters and the given local variables, and an empty stack.
+	 */
+	static void fullFrame(MethodVisitor mv, Implementation.Context implementationContext, ParameterDescription source, ParameterDescription target, Object... locals) {
+		final Object[] frame = new Object[target.getOffset() + 1 + locals.length];
+		frame[0] = implementationContext.getInstrumentedType().getInternalName();
+		frame[source.getOffset()] = source.getType().asErasure().getInternalName();
+		frame[target.getOffset()] = target.getType().asErasure().getInternalName();
+		System.arraycopy(locals, 0, frame, target.getOffset() + 1, locals.length);
+		mv.visitFrame(Opcodes.F_FULL, frame.length, frame, 0, new Object[0]);
+	}
+
+
+	/**
+	 * Convert the value of the source type on the stack to the target type, like a single property: by a child
+	 * converter for beans, by a conversion resolved while generating, or by invokedynamic.
+	 */
+	static void convertValue(GeneratorFactory.Context<?, ?> context, MethodVisitor mv, Implementation.Context implementationContext, Class<?> sourceType, Class<?> targetType) {
+		final GeneratorFactory.Context.ConverterField childConverter = context.childConverters.get(TypePair.of(sourceType, targetType));
+		if( childConverter != null ){
+			// childConverter_0().convert(value)
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			MethodInvocation.invoke(implementationContext.getInstrumentedType().getDeclaredMethods().filter(named(childConverter.fieldName).and(takesArguments(0))).getOnly())
+							.apply(mv, implementationContext);
+			mv.visitInsn(Opcodes.SWAP);
+			GeneratorFactory.ConvertMethodInvoke.apply(mv, implementationContext);
+			TypeCasting.to(new TypeDescription.ForLoadedType(targetType)).apply(mv, implementationContext);
+			return;
+		}
+
+		final Optional<StaticConversion> staticConversion = StaticConversion.resolve(sourceType, targetType);
+		if( staticConversion.isPresent() ){
+			staticConversion.get().getStackManipulation().apply(mv, implementationContext);
+		} else if( targetType.isAssignableFrom(sourceType) ){
+			// untyped or same types, like List<Object>
+			Assigner.DEFAULT.assign(new TypeDescription.ForLoadedType(sourceType).asGenericType(), new TypeDescription.ForLoadedType(targetType).asGenericType(), Assigner.Typing.DYNAMIC)
+							.apply(mv, implementationContext);
+		} else {
+			GenerateConvertMethod_Direct.conversion(sourceType, targetType).apply(mv, implementationContext);
+		}
+	}
+
+
+	private static int arrayType(Class<?> componentType) {
+		if( componentType == Boolean.TYPE ){
+			return Opcodes.T_BOOLEAN;
+		} else if( componentType == Character.TYPE ){
+			return Opcodes.T_CHAR;
+		} else if( componentType == Byte.TYPE ){
+			return Opcodes.T_BYTE;
+		} else if( componentType == Short.TYPE ){
+			return Opcodes.T_SHORT;
+		} else if( componentType == Integer.TYPE ){
+			return Opcodes.T_INT;
+		} else if( componentType == Long.TYPE ){
+			return Opcodes.T_LONG;
+		} else if( componentType == Float.TYPE ){
+			return Opcodes.T_FLOAT;
+		}
+		return Opcodes.T_DOUBLE;
+	}
+
+}
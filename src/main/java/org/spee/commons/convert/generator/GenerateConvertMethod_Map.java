@@ -0,0 +1,297 @@
+package org.spee.commons.convert.generator;
+
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spee.commons.convert.Convert;
+import org.spee.commons.convert.TypePair;
+import org.spee.commons.convert.generator.ClassMap.MappedProperties;
+import org.spee.commons.convert.internals.MappingLocator;
+
+import com.google.common.reflect.TypeToken;
+
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType.Builder;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.jar.asm.Label;
+import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.jar.asm.Type;
+
+/**
+ * Write bytecode to convert a map property entry by entry. The target map is created for the size of the source,
+ * so it never rehashes, and keys and values are converted like a single property.
+ * <pre>
+ * private void convertField_0(Source source, Target target){
+ *     Map&lt;A, B&gt; values = source.getValues();
+ *     if( values == null ){
+ *         target.setValues(null);
+ *         return;
+ *     }
+ *     int size = values.size();
+ *     Map&lt;C, D&gt; converted = DefaultImplementations.newInstance(Map.class, size); // or target.getValues().clear() without setter
+ *     target.setValues(converted);
+ *     for(Iterator&lt;Map.Entry&lt;A, B&gt;&gt; it = values.entrySet().iterator(); it.hasNext(); ){
+ *         Map.Entry&lt;A, B&gt; entry = it.next();
+ *         converted.put( convert(entry.getKey()), convert(entry.getValue()) );
+ *     }
+ * }
+ * </pre>
+ * @see GenerateConvertMethod_List
+ */
+class GenerateConvertMethod_Map implements ByteCodeAppender, Implementation {
+	private static final Logger LOG = LoggerFactory.getLogger(GenerateConvertMethod_Map.class);
+	/**
+	 * The local variables used, next to the parameters: source map, size, target map, iterator and entry.
+	 */
+	static final int LOCAL_VARIABLES = 5;
+	/**
+	 * Maximum operand stack used: target map, key, value, child converter and value.
+	 */
+	private static final int MAX_STACK = 6;
+
+	private GeneratorFactory.Context<?, ?> context;
+	private String methodName;
+	private MappedProperties fieldMapping;
+
+
+	public GenerateConvertMethod_Map(GeneratorFactory.Context<?, ?> context, String methodName, MappedProperties mapping) {
+		this.context = context;
+		this.methodName = methodName;
+		this.fieldMapping = mapping;
+	}
+
+
+	@Override
+	public InstrumentedType prepare(InstrumentedType instrumentedType) {
+		return instrumentedType;
+	}
+
+
+	@Override
+	public ByteCodeAppender appender(Target implementationTarget) {
+		return this;
+	}
+
+
+	/**
+	 * @return <code>true</code> if the property is a map that is converted entry by entry.
+	 * A conversion that is registered for the property types is used instead.
+	 */
+	static boolean isMapConversion(MappedProperties fieldMap) {
+		if( fieldMap.hasCustomConverter() || !fieldMap.hasSourceProperty() || !fieldMap.hasTargetProperty() || fieldMap.getSourceProperty().getReadMethod() == null || fieldMap.getTargetProperty().getReadMethod() == null ){
+			return false;
+		}
+		final Class<?> sourceType = fieldMap.getSourceProperty().getReadMethod().getReturnType();
+		final Class<?> targetType = GenerateConvertMethod_List.targetContainerType(fieldMap);
+
+		return Map.class.isAssignableFrom(sourceType) && Map.class.isAssignableFrom(targetType) && MappingLocator.resolve(sourceType, targetType) == null;
+	}
+
+
+	/**
+	 * @return The key types of the map property, or <code>null</code> if it is not converted entry by entry.
+	 */
+	static TypePair<?, ?> keyTypes(MappedProperties fieldMap) {
+		return isMapConversion(fieldMap) ? entryTypes(fieldMap, 0) : null;
+	}
+
+
+	/**
+	 * @return The value types of the map property, or <code>null</code> if it is not converted entry by entry.
+	 */
+	static TypePair<?, ?> valueTypes(MappedProperties fieldMap) {
+		return isMapConversion(fieldMap) ? entryTypes(fieldMap, 1) : null;
+	}
+
+
+	private static TypePair<?, ?> entryTypes(MappedProperties fieldMap, int typeParameter) {
+		final Method readMethod = fieldMap.getSourceProperty().getReadMethod();
+		final Method writeMethod = fieldMap.getTargetProperty().getWriteMethod();
+		final java.lang.reflect.Type targetType = writeMethod != null ? writeMethod.getGenericParameterTypes()[0] : fieldMap.getTargetProperty().getReadMethod().getGenericReturnType();
+		return TypePair.of(entryType(readMethod.getGenericReturnType(), typeParameter), entryType(targetType, typeParameter));
+	}
+
+
+	private static Class<?> entryType(java.lang.reflect.Type mapType, int typeParameter) {
+		return TypeToken.of(mapType).resolveType(Map.class.getTypeParameters()[typeParameter]).getRawType();
+	}
+
+
+	public StackManipulation getCode(MappedProperties fieldMap, ParameterDescription source, ParameterDescription target, Implementation.Context implementationContext) {
+		LOG.trace("convert entries: read={} ,write={}, keys={}, values={}", fieldMap.getSourceProperty().getReadMethod(),
+				fieldMap.getTargetProperty().getWriteMethod(), keyTypes(fieldMap), valueTypes(fieldMap));
+		return new EntryConversion(fieldMap, source, target);
+	}
+
+
+	@Override
+	public ByteCodeAppender.Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
+		ParameterDescription source = instrumentedMethod.getParameters().get(0);
+		ParameterDescription target = instrumentedMethod.getParameters().get(1);
+
+		StackManipulation.Size size = new StackManipulation.Compound(
+									getCode(fieldMapping, source, target, implementationContext),
+									MethodReturn.VOID
+							).apply(methodVisitor, implementationContext);
+		return new ByteCodeAppender.Size(size.getMaximalSize(), instrumentedMethod.getStackSize() + LOCAL_VARIABLES);
+	}
+
+
+	public Builder<Convert<?, ?>> generateConvertMethod(Builder<Convert<?, ?>> builder) {
+		builder = builder.defineMethod(methodName, Void.TYPE, Visibility.PRIVATE)
+						.withParameter(context.sourceType)
+						.withParameter(context.targetType)
+						.intercept(this);
+		return builder;
+	}
+
+
+	/**
+	 * The loop over the entries. It uses the local variables after the parameters of the method, and
+	 * leaves the operand stack and the local variables as they were.
+	 */
+	private class EntryConversion implements StackManipulation {
+		private final MappedProperties fieldMap;
+		private final ParameterDescription source;
+		private final ParameterDescription target;
+		private final Method readMethod;
+		private final Method writeMethod;
+		private final Class<?> sourceType;
+		private final Class<?> targetType;
+		private final TypePair<?, ?> keyTypes;
+		private final TypePair<?, ?> valueTypes;
+		private final int sourceMap;
+		private final int size;
+		private final int targetMap;
+		private final int iterator;
+		private final int entry;
+
+
+		EntryConversion(MappedProperties fieldMap, ParameterDescription source, ParameterDescription target) {
+			this.fieldMap = fieldMap;
+			this.source = source;
+			this.target = target;
+			this.readMethod = fieldMap.getSourceProperty().getReadMethod();
+			this.writeMethod = fieldMap.getTargetProperty().getWriteMethod();
+			this.sourceType = readMethod.getReturnType();
+			this.targetType = GenerateConvertMethod_List.targetContainerType(fieldMap);
+			this.keyTypes = keyTypes(fieldMap);
+			this.valueTypes = valueTypes(fieldMap);
+			this.sourceMap = target.getOffset() + 1;
+			this.size = sourceMap + 1;
+			this.targetMap = size + 1;
+			this.iterator = targetMap + 1;
+			this.entry = iterator + 1;
+		}
+
+
+		@Override
+		public boolean isValid() {
+			return true;
+		}
+
+
+		@Override
+		public Size apply(MethodVisitor mv, Implementation.Context implementationContext) {
+			final Label notNull = new Label();
+			final Label end = new Label();
+			final Label condition = new Label();
+			final Label body = new Label();
+			final String mapType = Type.getInternalName(Map.class);
+			final String entryType = Type.getInternalName(Map.Entry.class);
+			final String iteratorType = Type.getInternalName(Iterator.class);
+
+			// values = source.getValues(); if( values == null ) ...
+			mv.visitVarInsn(Opcodes.ALOAD, source.getOffset());
+			invoke(mv, implementationContext, readMethod);
+			mv.visitVarInsn(Opcodes.ASTORE, sourceMap);
+			mv.visitVarInsn(Opcodes.ALOAD, sourceMap);
+			mv.visitJumpInsn(Opcodes.IFNONNULL, notNull);
+			if( writeMethod != null ){
+				mv.visitVarInsn(Opcodes.ALOAD, target.getOffset());
+				mv.visitInsn(Opcodes.ACONST_NULL);
+				invoke(mv, implementationContext, writeMethod);
+			}
+			mv.visitJumpInsn(Opcodes.GOTO, end);
+			mv.visitLabel(notNull);
+			frame(mv, implementationContext, Type.getInternalName(sourceType));
+
+			// size = values.size(); converted = newInstance(size)
+			mv.visitVarInsn(Opcodes.ALOAD, sourceMap);
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, mapType, "size", "()I", true);
+			mv.visitVarInsn(Opcodes.ISTORE, size);
+			new ClassGeneratorHelper.ClearOrNewBuilder(fieldMap, size).getCode(target, targetMap).apply(mv, implementationContext);
+
+			// it = values.entrySet().iterator()
+			mv.visitVarInsn(Opcodes.ALOAD, sourceMap);
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, mapType, "entrySet", "()Ljava/util/Set;", true);
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(Iterable.class), "iterator", "()Ljava/util/Iterator;", true);
+			mv.visitVarInsn(Opcodes.ASTORE, iterator);
+			mv.visitJumpInsn(Opcodes.GOTO, condition);
+			mv.visitLabel(body);
+			frame(mv, implementationContext, Type.getInternalName(sourceType), Opcodes.INTEGER, Type.getInternalName(targetType), iteratorType);
+
+			// entry = it.next()
+			mv.visitVarInsn(Opcodes.ALOAD, iterator);
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, iteratorType, "next", "()Ljava/lang/Object;", true);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, entryType);
+			mv.visitVarInsn(Opcodes.ASTORE, entry);
+
+			// converted.put(convert(entry.getKey()), convert(entry.getValue()))
+			mv.visitVarInsn(Opcodes.ALOAD, targetMap);
+			mv.visitVarInsn(Opcodes.ALOAD, entry);
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, entryType, "getKey", "()Ljava/lang/Object;", true);
+			convertEntry(mv, implementationContext, keyTypes);
+			mv.visitVarInsn(Opcodes.ALOAD, entry);
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, entryType, "getValue", "()Ljava/lang/Object;", true);
+			convertEntry(mv, implementationContext, valueTypes);
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, mapType, "put", "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+			mv.visitInsn(Opcodes.POP);
+
+			mv.visitLabel(condition);
+			frame(mv, implementationContext, Type.getInternalName(sourceType), Opcodes.INTEGER, Type.getInternalName(targetType), iteratorType);
+			mv.visitVarInsn(Opcodes.ALOAD, iterator);
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, iteratorType, "hasNext", "()Z", true);
+			mv.visitJumpInsn(Opcodes.IFNE, body);
+
+			mv.visitLabel(end);
+			frame(mv, implementationContext);
+			return new Size(0, MAX_STACK);
+		}
+
+
+		/**
+		 * Convert the key or value on the stack, which is on the stack as {@link Object}.
+		 */
+		private void convertEntry(MethodVisitor mv, Implementation.Context implementationContext, TypePair<?, ?> types) {
+			if( types.getSourceType() != Object.class ){
+				TypeCasting.to(new TypeDescription.ForLoadedType(types.getSourceType())).apply(mv, implementationContext);
+			}
+			GenerateConvertMethod_List.convertValue(context, mv, implementationContext, types.getSourceType(), types.getTargetType());
+		}
+
+
+		private void invoke(MethodVisitor mv, Implementation.Context implementationContext, Method method) {
+			MethodInvocation.invoke(new MethodDescription.ForLoadedMethod(method)).apply(mv, implementationContext);
+		}
+
+
+		private void frame(MethodVisitor mv, Implementation.Context implementationContext, Object... locals) {
+			GenerateConvertMethod_List.fullFrame(mv, implementationContext, source, target, locals);
+		}
+	}
+
+}
@@ -73,7 +73,7 @@ class GenerateConvertMethod_WithFieldUsage implements ByteCodeAppender, Implemen
 		final TypeDescription wrapperType = ClassGeneratorHelper.getPrimitiveWrapperType(targetType); // if target is primitive, use wrapper
 		final List<StackManipulation> insr = new ArrayList<>(9);
 
-		LOG.debug("convert: read={} ,write={}, converter={} (primitive:{})", fieldMap.getSourceProperty().getReadMethod(),
+		LOG.trace("convert: read={} ,write={}, converter={} (primitive:{})", fieldMap.getSourceProperty().getReadMethod(),
 				fieldMap.getTargetProperty().getWriteMethod(), fieldMap.getCustomConverter(), wrapperType != null);
 
 		insr.add(MethodVariableAccess.load(target));
@@ -99,7 +99,6 @@ class GenerateConvertMethod_WithFieldUsage implements ByteCodeAppender, Implemen
 		ParameterDescription source = instrumentedMethod.getParameters().get(0);
 		ParameterDescription target = instrumentedMethod.getParameters().get(1);
 
-		LOG.debug("Mapping property {}", fieldMapping);
 		int incr_stack = 1;
 
 		StackManipulation.Size size = new StackManipulation.Compound(
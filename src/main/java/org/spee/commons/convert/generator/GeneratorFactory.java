@@ -9,15 +9,12 @@ import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
 import static org.spee.commons.convert.generator.ClassGeneratorHelper.filterOnlyCustomConverters;
 
-import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Type;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.text.DateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.LinkedHashMap;
@@ -27,12 +24,15 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.spee.commons.convert.Convert;
+import org.spee.commons.convert.MapperFactory;
+import org.spee.commons.convert.TypePair;
 import org.spee.commons.convert.generator.ClassMap.MappedProperties;
 import org.spee.commons.convert.internals.MappingLocator;
 import org.spee.commons.utils.ReflectionUtils;
 
 import com.google.common.base.Converter;
 import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterables;
 
 import net.bytebuddy.ByteBuddy;
@@ -49,19 +49,25 @@ import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.description.type.TypeDescription.Generic;
 import net.bytebuddy.dynamic.DynamicType.Builder;
 import net.bytebuddy.dynamic.DynamicType.Loaded;
+import net.bytebuddy.dynamic.DynamicType.Unloaded;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.dynamic.scaffold.InstrumentedType;
 import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
 import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.SuperMethodCall;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.Duplication;
+import net.bytebuddy.implementation.bytecode.Removal;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
 import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
+import net.bytebuddy.implementation.bytecode.constant.ClassConstant;
 import net.bytebuddy.implementation.bytecode.constant.TextConstant;
 import net.bytebuddy.implementation.bytecode.member.FieldAccess;
 import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
 import net.bytebuddy.implementation.bytecode.member.MethodInvocation.WithImplicitInvocationTargetType;
 import net.bytebuddy.implementation.bytecode.member.MethodReturn;
 import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.jar.asm.Label;
 import net.bytebuddy.jar.asm.MethodVisitor;
 import net.bytebuddy.jar.asm.Opcodes;
 import net.bytebuddy.matcher.ElementMatchers;
@@ -77,6 +83,7 @@ public class gen_Source_TypetoTargetTypeConverter extends Object {
 	}
 	
 	private Converter<A,B> converter_1;
+	private Convert<C,D> childConverter_0; // nested beans, fetched on first use by childConverter_0()
 
 	public void initCustomConverters(){
 		converter_1 = BeanCreationStrategy.newInstance(CustomConverter.class);
@@ -90,6 +97,10 @@ public class gen_Source_TypetoTargetTypeConverter extends Object {
 		target.setValue1( (TargetType)converter_1.convert(source.getValue1()) );
 	}
 
+	public void convertField_2(Source source, Target target){
+		target.setChild( (D)childConverter_0().convert(source.getChild()) );
+	}
+
 	public void convert(Source source, Target target){
 		convertField_0(source, target);
 		convertField_1(source, target);
@@ -108,12 +119,15 @@ public class GeneratorFactory {
 	static final String DEFAULT_PACKAGE = "gen.spee.commons.converter";
 	private static final String INIT_CUSTOM_CONVERTERS_METHOD = "initCustomConverters";
 	private static final String CONVERTER_FIELDNAME_PREFIX = "converter_";
+	private static final String CHILD_CONVERTER_FIELDNAME_PREFIX = "childConverter_";
 	private static final String CONVERTFIELD_METHODNAME_PREFIX = "convertField_";
+	private static final String CONVERTFIELDS_METHODNAME_PREFIX = "convertFields_";
 	protected static final String CONVERT_METHODNAME = "convert";
 	private static final Class<Converter> INTERNAL_CONVERTER_TYPE = Converter.class;
 	private static final Optional<Class> JAVAX_ANNOTATION_GENERATED = ReflectionUtils.isTypePresent("javax.annotation.Generated");
 
 	private static final Logger LOG = LoggerFactory.getLogger(GeneratorFactory.class);
+	private static final Optional<BytecodeCache> BYTECODE_CACHE = BytecodeCache.fromSystemProperty();
 	/**
 	 * Parent class for generated converters
 	 */
@@ -123,6 +137,8 @@ public class GeneratorFactory {
 	protected static WithImplicitInvocationTargetType BeanCreationStrategyinvokeDynamic;
 	protected static WithImplicitInvocationTargetType MappingLocatorInvokeDynamic;
 	protected static WithImplicitInvocationTargetType ConverterMethodInvoke;
+	protected static WithImplicitInvocationTargetType ConvertMethodInvoke;
+	protected static WithImplicitInvocationTargetType GetConverterInvoke;
 
 	static {
 		try {
@@ -131,6 +147,9 @@ public class GeneratorFactory {
 			MappingLocatorInvokeDynamic = MethodInvocation.invoke(new MethodDescription.ForLoadedMethod(MappingLocator.class.getDeclaredMethod("bootstrap", MethodHandles.Lookup.class, String.class, MethodType.class)));
 			// Direct method invoker on converter
 			ConverterMethodInvoke = MethodInvocation.invoke(new MethodDescription.ForLoadedMethod(INTERNAL_CONVERTER_TYPE.getMethod(CONVERT_METHODNAME, Object.class)));
+			// Direct method invoker on the converter of a nested bean, and its lookup
+			ConvertMethodInvoke = MethodInvocation.invoke(new MethodDescription.ForLoadedMethod(PARENT_CLASS.getMethod(CONVERT_METHODNAME, Object.class)));
+			GetConverterInvoke = MethodInvocation.invoke(new MethodDescription.ForLoadedMethod(MapperFactory.class.getMethod("getConverter", Class.class, Class.class)));
 		} catch (NoSuchMethodException | SecurityException e) {
 			// we are sure of their existence, since they are bundled
 		}
@@ -142,7 +161,10 @@ public class GeneratorFactory {
 		Type sourceType;
 		Type targetType;
 		ClassMap classMap = new ClassMap(null, null);
+		ConverterLayout layout = ConverterLayout.fromSystemProperty();
+		Optional<BytecodeCache> bytecodeCache = BYTECODE_CACHE;
 		Map<Class<?>, ConverterField> customConverters = new LinkedHashMap<>();
+		Map<TypePair<?, ?>, ConverterField> childConverters = new LinkedHashMap<>();
 		Map<String, MappedProperties> fieldConvert = new LinkedHashMap<>();
 
 		public Context(Class<S> source, Class<T> target) {
@@ -150,6 +172,19 @@ public class GeneratorFactory {
 			this.targetType = target;
 		}
 
+		/**
+		 * @return A new context for the same conversion with another layout, without anything generated yet
+		 */
+		Context<S, T> withLayout(ConverterLayout layout) {
+			final Context<S, T> context = new Context<>(null, null);
+			context.sourceType = sourceType;
+			context.targetType = targetType;
+			context.classMap = classMap;
+			context.layout = layout;
+			context.bytecodeCache = bytecodeCache;
+			return context;
+		}
+
 		static class ConverterField {
 			String fieldName;
 			FieldDescription.Token field;
@@ -163,45 +198,161 @@ public class GeneratorFactory {
 	}
 
 
-	@SuppressWarnings("rawtypes")
+	private final ConverterLayout layout;
+	private final Optional<BytecodeCache> bytecodeCache;
+
+
+	/**
+	 * Generate converters with the layout of the system property {@value ConverterLayout#LAYOUT_PROPERTY}.
+	 */
+	public GeneratorFactory() {
+		this(ConverterLayout.fromSystemProperty());
+	}
+
+
+	public GeneratorFactory(ConverterLayout layout) {
+		this(layout, BYTECODE_CACHE);
+	}
+
+
+	/**
+	 * @param bytecodeCache The cache instead of the one of the system property {@value BytecodeCache#CACHE_DIRECTORY_PROPERTY}
+	 */
+	GeneratorFactory(ConverterLayout layout, Optional<BytecodeCache> bytecodeCache) {
+		this.layout = Preconditions.checkNotNull(layout);
+		this.bytecodeCache = Preconditions.checkNotNull(bytecodeCache);
+	}
+
+
+	@SuppressWarnings("unchecked")
 	public Class<Convert<?, ?>> build(ClassMap classMap) {
-		Context context = new Context<>(classMap.getSource().getBeanDescriptor().getBeanClass(), classMap.getTarget().getBeanDescriptor().getBeanClass());
-		context.classMap = classMap;
-		return build(context);
+		final Context<?, ?> context = contextOf(classMap);
+		context.layout = layout;
+		context.bytecodeCache = bytecodeCache;
+		return (Class<Convert<?, ?>>) (Class<?>) build(context);
 	}
 
 
 	public <S, T> Class<Convert<S, T>> build(Class<S> sourceClass, Class<T> targetClass) {
 		Context<S, T> context = new Context<>(sourceClass, targetClass);
 		context.classMap = ClassMapBuilder.build(sourceClass, targetClass).useDefaults(true).generate();
+		context.layout = layout;
+		context.bytecodeCache = bytecodeCache;
 		return build(context);
 	}
 
 
-	@SuppressWarnings("unchecked")
-	private static <S, T> Class<Convert<S, T>> build(Context<S, T> context) {
+	/**
+	 * Generate the converter class for the given {@link ClassMap} without loading it.
+	 * Used to write the converter ahead of time, see {@link ConverterPrecompiler}.
+	 * @param classMap
+	 * @return The unloaded type, containing the class bytes
+	 */
+	public Unloaded<Convert<?, ?>> make(ClassMap classMap) {
+		final Context<?, ?> context = contextOf(classMap);
+		context.layout = layout;
+		return make(context);
+	}
+
+
+	/**
+	 * @return The context for the bean classes of the mapping
+	 */
+	private static Context<?, ?> contextOf(ClassMap classMap) {
+		final Context<?, ?> context = new Context<>(classMap.getSource().getBeanDescriptor().getBeanClass(), classMap.getTarget().getBeanDescriptor().getBeanClass());
+		context.classMap = classMap;
+		return context;
+	}
+
+
+	/**
+	 * @return <code>true</code> if the type can be converted property by property.
+	 * Primitives, arrays, enums and the types of the JDK are converted as a whole.
+	 */
+	public static boolean isBean(Class<?> type) {
+		if( type.isPrimitive() || type.isArray() || type.isEnum() || type.isAnnotation() ){
+			return false;
+		}
+		final String name = type.getName();
+		return !name.startsWith("java.") && !name.startsWith("javax.");
+	}
+
+
+	/**
+	 * @return <code>true</code> if the types are converted property by property, since there is no conversion
+	 * between the types themselves.
+	 */
+	public static boolean isBeanConversion(Class<?> sourceType, Class<?> targetType) {
+		return isBean(sourceType) && isBean(targetType) && MappingLocator.resolve(sourceType, targetType) == null;
+	}
+
+
+	private static <S, T> Unloaded<Convert<?, ?>> make(Context<S, T> context) {
 		Builder<Convert<?, ?>> builder = generateClassDefinition(context)
 											.defineConstructor(Visibility.PUBLIC)
 											.intercept(SuperMethodCall.INSTANCE.andThen(ConstructorBuilder.INSTANCE));
 		builder = generateInitCustomConverters(context, builder);
-		builder = generateConvertFieldMethods(context, builder);
-		builder = generate2ArgsConvertMethod(context, builder);
+		builder = generateChildConverters(context, builder);
+		if( context.layout == ConverterLayout.FUSED ){
+			builder = generateFused2ArgsConvertMethod(context, builder);
+		} else {
+			builder = generateConvertFieldMethods(context, builder);
+			builder = generate2ArgsConvertMethod(context, builder);
+		}
 		builder = generateConvertMethod(builder);
-		
+		return builder.make();
+	}
 
-		Loaded<Convert<?, ?>> loaded = builder.make().load(GeneratorFactory.class.getClassLoader());
-		Path saveTo = Paths.get("target/", loaded.getTypeDescription().getName() + ".class");
-		try {
-			LOG.debug("Writing class bytes to file: {}", saveTo);
-			Files.write(saveTo, loaded.getBytes());
-		} catch (IOException e) {
-			LOG.warn("Could not write class bytes to file {}: {}", saveTo, e.getMessage(), e);
+
+	/**
+	 * Generate and load the converter class. When the {@link BytecodeCache} is enabled, a previously
+	 * generated class is loaded from the cache instead.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <S, T> Class<Convert<S, T>> build(Context<S, T> context) {
+		final ClassLoader classLoader = GeneratorFactory.class.getClassLoader();
+		final Optional<BytecodeCache> bytecodeCache = context.bytecodeCache;
+		final Optional<String> cacheKey = bytecodeCache.isPresent() ? BytecodeCache.keyOf(context.classMap, context.layout) : Optional.<String>absent();
+
+		if( cacheKey.isPresent() ){
+			Class<Convert<S, T>> cached = loadCached(context, bytecodeCache.get(), cacheKey.get(), classLoader);
+			if( cached != null ){
+				return cached;
+			}
 		}
 
+		if( LOG.isTraceEnabled() ){
+			LOG.trace("Generating converter for {} to {} with layout {}: {}", context.sourceType, context.targetType, context.layout, convertedProperties(context));
+		}
+		// like the cached classes, in a class loader of its own: the name is the same for every build of the pair
+		Loaded<Convert<?, ?>> loaded = make(context).load(classLoader, ClassLoadingStrategy.Default.WRAPPER);
+		if( cacheKey.isPresent() ){
+			bytecodeCache.get().write(cacheKey.get(), loaded.getBytes());
+		}
 		return (Class<Convert<S, T>>) loaded.getLoaded();
 	}
 
 
+	@SuppressWarnings("unchecked")
+	private static <S, T> Class<Convert<S, T>> loadCached(Context<S, T> context, BytecodeCache bytecodeCache, String cacheKey, ClassLoader classLoader) {
+		final byte[] classBytes = bytecodeCache.read(cacheKey);
+		if( classBytes == null ){
+			return null;
+		}
+
+		final String className = ClassGeneratorHelper.TypeNamingStrategy.INSTANCE.subclass(parameterizedType(PARENT_CLASS, context.sourceType, context.targetType).build());
+		final TypeDescription typeDescription = new TypeDescription.Latent(className, Opcodes.ACC_PUBLIC, TypeDescription.Generic.OBJECT, Collections.<Generic>emptyList());
+		try {
+			LOG.debug("Loading cached converter {} for {} to {}", className, context.sourceType, context.targetType);
+			return (Class<Convert<S, T>>) ClassLoadingStrategy.Default.WRAPPER.load(classLoader, Collections.singletonMap(typeDescription, classBytes)).get(typeDescription);
+		} catch (LinkageError e) {
+			LOG.warn("Discarding cached converter {}: {}", cacheKey, e.getMessage(), e);
+			bytecodeCache.evict(cacheKey);
+			return null;
+		}
+	}
+
+
 	/**
 	 * Generate the basic class definition
 	 * 
@@ -278,6 +429,101 @@ public class GeneratorFactory {
 	}
 
 
+	/**
+	 * Generate a private field and a lazy getter per pair of nested beans, for the converter of the nested bean.
+	 * The converter is retrieved on first use, so converters of types that refer to each other (or to themselves)
+	 * do not need each other while they are created. Collections and arrays of beans get a child converter for
+	 * their elements, maps for their keys and values.
+	 * 
+	 * <pre>
+	 * private Convert childConverter_0;
+	 * 
+	 * private Convert childConverter_0(){
+	 *     Convert converter = childConverter_0;
+	 *     if( converter == null ){
+	 *         childConverter_0 = converter = MapperFactory.getConverter(Child.class, ChildDto.class);
+	 *     }
+	 *     return converter;
+	 * }
+	 * </pre>
+	 */
+	private static <T> Builder<T> generateChildConverters(GeneratorFactory.Context<?, ?> context, Builder<T> builder) {
+		for (MappedProperties mappedProperties : context.classMap.getMappedProperties()) {
+			if( mappedProperties.hasCustomConverter() ){
+				continue;
+			}
+			for (TypePair<?, ?> pair : valueConversions(mappedProperties)) {
+				final Class<?> sourceType = pair.getSourceType();
+				final Class<?> targetType = pair.getTargetType();
+
+				if( !context.childConverters.containsKey(pair) && isBeanConversion(sourceType, targetType) ){
+					final String fieldName = CHILD_CONVERTER_FIELDNAME_PREFIX + context.childConverters.size();
+					final FieldDescription.Token token = new FieldDescription.Token(fieldName, Opcodes.ACC_PRIVATE, parameterizedType(PARENT_CLASS, sourceType, targetType).build());
+
+					LOG.debug("child converter field {} for {}", fieldName, pair);
+
+					builder = builder.defineField(token.getName(), token.getType(), token.getModifiers())
+									.defineMethod(fieldName, PARENT_CLASS, Visibility.PRIVATE)
+									.intercept(new ChildConverterGetter(token, pair));
+					context.childConverters.put(pair, new Context.ConverterField(fieldName, token));
+				}
+			}
+		}
+		return builder;
+	}
+
+
+	/**
+	 * @return <code>true</code> if the property is converted: it is read from the source by a getter, and written to
+	 * the target by a setter. A collection or map without a setter is cleared and filled through the getter.
+	 * Other properties without a getter or setter, like computed ones, are skipped.
+	 */
+	static boolean isConverted(MappedProperties mappedProperties) {
+		if( !mappedProperties.hasSourceProperty() || !mappedProperties.hasTargetProperty() || mappedProperties.getSourceProperty().getReadMethod() == null ){
+			return false;
+		}
+		if( mappedProperties.getTargetProperty().getWriteMethod() != null ){
+			return true;
+		}
+		return GenerateConvertMethod_List.isElementConversion(mappedProperties) && !GenerateConvertMethod_List.targetContainerType(mappedProperties).isArray()
+				|| GenerateConvertMethod_Map.isMapConversion(mappedProperties);
+	}
+
+
+	/**
+	 * @return The properties that are converted, see {@link #isConverted(MappedProperties)}
+	 */
+	private static List<MappedProperties> convertedProperties(Context<?, ?> context) {
+		final List<MappedProperties> converted = new ArrayList<>();
+		for (MappedProperties mappedProperties : context.classMap.getMappedProperties()) {
+			if( isConverted(mappedProperties) ){
+				converted.add(mappedProperties);
+			}
+		}
+		return converted;
+	}
+
+
+	/**
+	 * The conversions of single values the property needs: the elements of a collection or array, the keys and
+	 * values of a map, or else the property itself.
+	 */
+	public static List<TypePair<?, ?>> valueConversions(MappedProperties mappedProperties) {
+		if( !isConverted(mappedProperties) ){
+			return Collections.emptyList();
+		}
+		final TypePair<?, ?> elementTypes = GenerateConvertMethod_List.elementTypes(mappedProperties);
+		if( elementTypes != null ){
+			return Collections.<TypePair<?, ?>>singletonList(elementTypes);
+		}
+		if( GenerateConvertMethod_Map.isMapConversion(mappedProperties) ){
+			return Arrays.<TypePair<?, ?>>asList(GenerateConvertMethod_Map.keyTypes(mappedProperties), GenerateConvertMethod_Map.valueTypes(mappedProperties));
+		}
+		return Collections.<TypePair<?, ?>>singletonList(TypePair.of(mappedProperties.getSourceProperty().getReadMethod().getReturnType(),
+																	mappedProperties.getTargetProperty().getWriteMethod().getParameterTypes()[0]));
+	}
+
+
 	/**
 	 * Generate the method <code>public void convert(source, target){...}</code>
 	 * 
@@ -287,7 +533,45 @@ public class GeneratorFactory {
 	 */
 	private static Builder<Convert<?, ?>> generate2ArgsConvertMethod(Context<?, ?> context, Builder<Convert<?, ?>> builder) {
 		builder = builder.defineMethod(CONVERT_METHODNAME, Void.TYPE, Visibility.PUBLIC).withParameter(context.sourceType).withParameter(context.targetType)
-				.intercept(new ClassGeneratorHelper.NullcheckAndReturnBuilder(false).andThen(new Converter2Builder(context)));
+				.intercept(new ClassGeneratorHelper.NullcheckAndReturnBuilder(false).andThen(new Converter2Builder(CONVERTFIELD_METHODNAME_PREFIX)));
+		return builder;
+	}
+
+
+	/**
+	 * Generate the method <code>public void convert(source, target){...}</code> with the conversion of the
+	 * properties in the method itself. When there are too many properties, they are converted in chunks:
+	 * 
+	 * <pre>
+	 * public void convert(Source source, Target target){
+	 *     convertFields_0(source, target);
+	 *     convertFields_1(source, target);
+	 * }
+	 * </pre>
+	 * 
+	 * The size of each property conversion is measured on the converter with a method per property, which is
+	 * generated for it, but not loaded.
+	 * 
+	 * @see GenerateConvertMethod_Fused
+	 */
+	private static Builder<Convert<?, ?>> generateFused2ArgsConvertMethod(Context<?, ?> context, Builder<Convert<?, ?>> builder) {
+		final List<MappedProperties> mappedProperties = convertedProperties(context);
+		final byte[] perProperty = make(context.withLayout(ConverterLayout.PER_PROPERTY)).getBytes();
+		final List<Integer> sizes = GenerateConvertMethod_Fused.propertySizes(perProperty, CONVERTFIELD_METHODNAME_PREFIX, mappedProperties.size());
+		final List<List<MappedProperties>> chunks = GenerateConvertMethod_Fused.chunks(mappedProperties, sizes);
+		final Implementation implementation;
+
+		if( chunks.size() == 1 ){
+			implementation = new GenerateConvertMethod_Fused(context, CONVERT_METHODNAME, chunks.get(0));
+		} else {
+			for (int index = 0; index < chunks.size(); index++) {
+				builder = new GenerateConvertMethod_Fused(context, CONVERTFIELDS_METHODNAME_PREFIX + index, chunks.get(index)).generateConvertMethod(builder);
+			}
+			implementation = new Converter2Builder(CONVERTFIELDS_METHODNAME_PREFIX);
+		}
+
+		builder = builder.defineMethod(CONVERT_METHODNAME, Void.TYPE, Visibility.PUBLIC).withParameter(context.sourceType).withParameter(context.targetType)
+				.intercept(new ClassGeneratorHelper.NullcheckAndReturnBuilder(false).andThen(implementation));
 		return builder;
 	}
 
@@ -314,12 +598,18 @@ public class GeneratorFactory {
 	 */
 	private static Builder<Convert<?, ?>> generateConvertFieldMethods(Context<?, ?> context, Builder<Convert<?, ?>> builder) {
 		int convertFieldMethodIndex = 0;
-		for (MappedProperties fieldMap : context.classMap.getMappedProperties()) {
+		for (MappedProperties fieldMap : convertedProperties(context)) {
 			final String fieldMethodName = CONVERTFIELD_METHODNAME_PREFIX + (convertFieldMethodIndex++);
 
 			if( fieldMap.hasCustomConverter() ){
 				builder = new GenerateConvertMethod_WithFieldUsage(context, fieldMethodName, fieldMap).generateConvertMethod(builder);
 			}
+			else if( GenerateConvertMethod_List.isElementConversion(fieldMap) ){
+				builder = new GenerateConvertMethod_List(context, fieldMethodName, fieldMap).generateConvertMethod(builder);
+			}
+			else if( GenerateConvertMethod_Map.isMapConversion(fieldMap) ){
+				builder = new GenerateConvertMethod_Map(context, fieldMethodName, fieldMap).generateConvertMethod(builder);
+			}
 			else {
 				builder = new GenerateConvertMethod_Direct(context, fieldMethodName, fieldMap).generateConvertMethod(builder);
 			}
@@ -375,6 +665,61 @@ public class GeneratorFactory {
 		}
 	}
 
+	/**
+	 * The lazy getter of a child converter, see {@link GeneratorFactory#generateChildConverters(Context, Builder)}.
+	 */
+	static class ChildConverterGetter implements ByteCodeAppender, Implementation {
+		private FieldDescription.Token field;
+		private TypePair<?, ?> pair;
+
+
+		public ChildConverterGetter(FieldDescription.Token field, TypePair<?, ?> pair) {
+			this.field = field;
+			this.pair = pair;
+		}
+
+
+		@Override
+		public InstrumentedType prepare(InstrumentedType instrumentedType) {
+			return instrumentedType;
+		}
+
+
+		@Override
+		public ByteCodeAppender appender(Target implementationTarget) {
+			return this;
+		}
+
+
+		@Override
+		public ByteCodeAppender.Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
+			final FieldDescription fieldDescription = new Latent(implementationContext.getInstrumentedType(), field);
+			final Label returnConverter = new Label();
+			StackManipulation.Size size = new StackManipulation.Compound(
+							MethodVariableAccess.loadThis(),
+							FieldAccess.forField(fieldDescription).read(),
+							Duplication.SINGLE
+						).apply(methodVisitor, implementationContext);
+			methodVisitor.visitJumpInsn(Opcodes.IFNONNULL, returnConverter);
+
+			size = size.aggregate(new StackManipulation.Compound(
+							Removal.SINGLE,
+							MethodVariableAccess.loadThis(),
+							ClassConstant.of(new TypeDescription.ForLoadedType(pair.getSourceType())),
+							ClassConstant.of(new TypeDescription.ForLoadedType(pair.getTargetType())),
+							GetConverterInvoke,
+							Duplication.SINGLE.flipOver(implementationContext.getInstrumentedType()),
+							FieldAccess.forField(fieldDescription).write()
+						).apply(methodVisitor, implementationContext));
+			methodVisitor.visitLabel(returnConverter);
+			methodVisitor.visitFrame(Opcodes.F_SAME1, 0, null, 1, new Object[]{ PARENT_CLASS.getName().replace('.', '/') });
+
+			size = size.aggregate(MethodReturn.REFERENCE.apply(methodVisitor, implementationContext));
+			return new ByteCodeAppender.Size(size.getMaximalSize(), instrumentedMethod.getStackSize());
+		}
+	}
+
+
 	/**
 	 * Create the default constructor that calls the
 	 * <code>initCustomConverters()</code> method. <code>
@@ -468,13 +813,14 @@ public class GeneratorFactory {
 	 * 		this.convertField_n(source, target);
 	 *      return target;
 	 * </code>
+	 * Calling all methods of which the name starts with the given prefix.
 	 */
 	private static class Converter2Builder implements ByteCodeAppender, Implementation {
-		private GeneratorFactory.Context<?, ?> context;
+		private String methodNamePrefix;
 
 
-		public Converter2Builder(GeneratorFactory.Context<?, ?> context) {
-			this.context = context;
+		public Converter2Builder(String methodNamePrefix) {
+			this.methodNamePrefix = methodNamePrefix;
 		}
 
 
@@ -499,7 +845,7 @@ public class GeneratorFactory {
 			List<StackManipulation> insr = new ArrayList<>();
 
 			MethodList<InDefinedShape> convertFieldMethodList = implementationContext.getInstrumentedType().getDeclaredMethods()
-																	.filter(nameStartsWith(CONVERTFIELD_METHODNAME_PREFIX).and(takesArguments(2)));
+																	.filter(nameStartsWith(methodNamePrefix).and(takesArguments(2)));
 
 			for (InDefinedShape convertFieldMethod : convertFieldMethodList) {
 				LOG.debug("Mapping calls method {}", convertFieldMethod);
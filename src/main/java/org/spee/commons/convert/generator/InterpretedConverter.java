@@ -0,0 +1,339 @@
+package org.spee.commons.convert.generator;
+
+import static java.lang.invoke.MethodHandles.publicLookup;
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.spee.commons.convert.Convert;
+import org.spee.commons.convert.DefaultImplementations;
+import org.spee.commons.convert.MapperFactory;
+import org.spee.commons.convert.TypePair;
+import org.spee.commons.convert.generator.ClassMap.MappedProperties;
+import org.spee.commons.convert.internals.MappingLocator;
+
+import com.google.common.base.Converter;
+
+/**
+ * Converter that executes a {@link ClassMap} by a chain of {@link MethodHandle}s, instead of generating a class.
+ * Creating it is cheap, but it is slower than the generated converter. Every property is copied by:
+ * <pre>
+ * target.setValue( convert(source.getValue()) );
+ * </pre>
+ * Where <code>convert</code> is the same {@link MappingLocator} conversion the generated converter uses, the
+ * custom converter of the property, the converter of a nested bean, or the element by element conversion of a
+ * collection, array or map. Like the generated converter, a collection or map without a setter is cleared and
+ * filled through its getter, and other properties without a getter or setter are skipped.
+ */
+final class InterpretedConverter<S, T> implements Convert<S, T> {
+	private static final MethodType COPY_TYPE = methodType(void.class, Object.class, Object.class);
+	private static final MethodType OBJECT_CONVERSION = methodType(Object.class, Object.class);
+	private static final MethodHandle NO_COPY;
+	private static final MethodHandle CHILD_CONVERT;
+	private static final MethodHandle ELEMENTS_CONVERT;
+	private static final MethodHandle ELEMENTS_CONVERT_INTO;
+	private static final MethodHandle ENTRIES_CONVERT;
+	private static final MethodHandle ENTRIES_CONVERT_INTO;
+
+	static {
+		try {
+			NO_COPY = MethodHandles.lookup().findStatic(InterpretedConverter.class, "noCopy", COPY_TYPE);
+			CHILD_CONVERT = MethodHandles.lookup().findVirtual(ChildConverter.class, GeneratorFactory.CONVERT_METHODNAME, methodType(Object.class, Object.class));
+			ELEMENTS_CONVERT = MethodHandles.lookup().findVirtual(ElementConverter.class, GeneratorFactory.CONVERT_METHODNAME, methodType(Object.class, Object.class));
+			ELEMENTS_CONVERT_INTO = MethodHandles.lookup().findVirtual(ElementConverter.class, "convertInto", COPY_TYPE);
+			ENTRIES_CONVERT = MethodHandles.lookup().findVirtual(EntryConverter.class, GeneratorFactory.CONVERT_METHODNAME, methodType(Object.class, Object.class));
+			ENTRIES_CONVERT_INTO = MethodHandles.lookup().findVirtual(EntryConverter.class, "convertInto", COPY_TYPE);
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final Class<T> targetType;
+	/**
+	 * <code>(Object target, Object source)void</code> copying all properties.
+	 */
+	private final MethodHandle copyProperties;
+
+
+	@SuppressWarnings("unchecked")
+	InterpretedConverter(ClassMap classMap) {
+		this.targetType = (Class<T>) classMap.getTarget().getBeanDescriptor().getBeanClass();
+		this.copyProperties = copyProperties(classMap);
+	}
+
+
+	@Override
+	public T convert(S source) {
+		if( source == null ){
+			return null;
+		}
+
+		final T target = BeanCreationStrategy.newInstance(targetType);
+		try {
+			copyProperties.invokeExact((Object)target, (Object)source);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
+		return target;
+	}
+
+
+	private static MethodHandle copyProperties(ClassMap classMap) {
+		final List<MappedProperties> mappedProperties = new ArrayList<>(classMap.getMappedProperties());
+		Collections.reverse(mappedProperties); // folding executes the last added copy first
+		MethodHandle copyProperties = NO_COPY;
+
+		for (MappedProperties mapped : mappedProperties) {
+			try {
+				final MethodHandle copyProperty = copyProperty(mapped);
+				if( copyProperty != null ){
+					copyProperties = MethodHandles.foldArguments(copyProperties, copyProperty);
+				}
+			} catch (IllegalAccessException | NoSuchMethodException e) {
+				throw new IllegalArgumentException("Can not access property " + mapped, e);
+			}
+		}
+		return copyProperties;
+	}
+
+
+	/**
+	 * <code>target.setValue( convert(source.getValue()) )</code> as <code>(Object target, Object source)void</code>
+	 * @return The copy, or <code>null</code> if the property can not be copied
+	 */
+	private static MethodHandle copyProperty(MappedProperties mapped) throws IllegalAccessException, NoSuchMethodException {
+		final Method readMethod = mapped.getSourceProperty().getReadMethod();
+		final Method writeMethod = mapped.getTargetProperty().getWriteMethod();
+		if( readMethod == null ){
+			return null;
+		}
+		if( writeMethod == null ){
+			return fillProperty(mapped);
+		}
+
+		final MethodHandle getter = publicLookup().unreflect(readMethod);
+		final MethodHandle setter = publicLookup().unreflect(writeMethod);
+		final MethodType conversionType = methodType(setter.type().parameterType(1), getter.type().returnType());
+		final MethodHandle converter;
+
+		if( mapped.hasCustomConverter() ){
+			converter = publicLookup().findVirtual(Converter.class, GeneratorFactory.CONVERT_METHODNAME, methodType(Object.class, Object.class))
+							.bindTo(BeanCreationStrategy.newInstance(mapped.getCustomConverter()))
+							.asType(conversionType);
+		} else if( GenerateConvertMethod_List.isElementConversion(mapped) ){
+			final TypePair<?, ?> elementTypes = GenerateConvertMethod_List.elementTypes(mapped);
+			converter = ELEMENTS_CONVERT.bindTo(new ElementConverter(conversionType.returnType(), elementConverter(elementTypes.getSourceType(), elementTypes.getTargetType())))
+							.asType(conversionType);
+		} else if( GenerateConvertMethod_Map.isMapConversion(mapped) ){
+			final TypePair<?, ?> keyTypes = GenerateConvertMethod_Map.keyTypes(mapped);
+			final TypePair<?, ?> valueTypes = GenerateConvertMethod_Map.valueTypes(mapped);
+			converter = ENTRIES_CONVERT.bindTo(new EntryConverter(conversionType.returnType(), elementConverter(keyTypes.getSourceType(), keyTypes.getTargetType()),
+																	elementConverter(valueTypes.getSourceType(), valueTypes.getTargetType())))
+							.asType(conversionType);
+		} else {
+			converter = valueConverter(conversionType);
+		}
+
+		return MethodHandles.filterArguments(setter, 1, MethodHandles.filterReturnValue(getter, converter)).asType(COPY_TYPE);
+	}
+
+
+	/**
+	 * <code>target.getValues().clear()</code> and add the converted elements or entries, for a collection or map
+	 * without a setter, as <code>(Object target, Object source)void</code>.
+	 * @return The copy, or <code>null</code> if the property is no collection or map
+	 */
+	private static MethodHandle fillProperty(MappedProperties mapped) throws IllegalAccessException, NoSuchMethodException {
+		final Class<?> targetType = GenerateConvertMethod_List.targetContainerType(mapped);
+		final MethodHandle fill;
+
+		if( GenerateConvertMethod_List.isElementConversion(mapped) && !targetType.isArray() ){
+			final TypePair<?, ?> elementTypes = GenerateConvertMethod_List.elementTypes(mapped);
+			fill = ELEMENTS_CONVERT_INTO.bindTo(new ElementConverter(targetType, elementConverter(elementTypes.getSourceType(), elementTypes.getTargetType())));
+		} else if( GenerateConvertMethod_Map.isMapConversion(mapped) ){
+			final TypePair<?, ?> keyTypes = GenerateConvertMethod_Map.keyTypes(mapped);
+			final TypePair<?, ?> valueTypes = GenerateConvertMethod_Map.valueTypes(mapped);
+			fill = ENTRIES_CONVERT_INTO.bindTo(new EntryConverter(targetType, elementConverter(keyTypes.getSourceType(), keyTypes.getTargetType()),
+																	elementConverter(valueTypes.getSourceType(), valueTypes.getTargetType())));
+		} else {
+			return null;
+		}
+
+		final MethodHandle targetGetter = publicLookup().unreflect(mapped.getTargetProperty().getReadMethod()).asType(OBJECT_CONVERSION);
+		final MethodHandle sourceGetter = publicLookup().unreflect(mapped.getSourceProperty().getReadMethod()).asType(OBJECT_CONVERSION);
+		return MethodHandles.filterArguments(fill, 0, targetGetter, sourceGetter);
+	}
+
+
+	/**
+	 * The conversion of a single value: the converter of a nested bean, or the {@link MappingLocator} conversion.
+	 */
+	private static MethodHandle valueConverter(MethodType conversionType) throws IllegalAccessException, NoSuchMethodException {
+		if( GeneratorFactory.isBeanConversion(conversionType.parameterType(0), conversionType.returnType()) ){
+			return CHILD_CONVERT.bindTo(new ChildConverter<>(conversionType.parameterType(0), conversionType.returnType()))
+							.asType(conversionType);
+		}
+		// follows the call site when it links again
+		return MappingLocator.bootstrap(MethodHandles.lookup(), GeneratorFactory.CONVERT_METHODNAME, conversionType).dynamicInvoker();
+	}
+
+
+	/**
+	 * The conversion of an element as <code>(Object)Object</code>, boxing primitive array elements.
+	 */
+	private static MethodHandle elementConverter(Class<?> sourceType, Class<?> targetType) throws IllegalAccessException, NoSuchMethodException {
+		return valueConverter(methodType(targetType, sourceType)).asType(OBJECT_CONVERSION);
+	}
+
+
+	@SuppressWarnings("unused")
+	private static void noCopy(Object target, Object source) {
+	}
+
+
+	/**
+	 * Converter of a nested bean, retrieved on first use so types that refer to each other can be converted.
+	 */
+	private static final class ChildConverter<S, T> implements Convert<S, T> {
+		private final Class<S> sourceType;
+		private final Class<T> targetType;
+		private volatile Convert<S, T> converter;
+
+		ChildConverter(Class<S> sourceType, Class<T> targetType) {
+			this.sourceType = sourceType;
+			this.targetType = targetType;
+		}
+
+		@Override
+		public T convert(S source) {
+			Convert<S, T> converter = this.converter;
+			if( converter == null ){
+				this.converter = converter = MapperFactory.getConverter(sourceType, targetType);
+			}
+			return converter.convert(source);
+		}
+	}
+
+
+	/**
+	 * Converter of a collection or array, element by element, into a collection or array of the size of the source.
+	 * @see GenerateConvertMethod_List
+	 */
+	private static final class ElementConverter {
+		private final Class<?> targetType;
+		private final MethodHandle elementConverter;
+
+		ElementConverter(Class<?> targetType, MethodHandle elementConverter) {
+			this.targetType = targetType;
+			this.elementConverter = elementConverter;
+		}
+
+		public Object convert(Object source) throws Throwable {
+			if( source == null ){
+				return null;
+			}
+
+			final int size = source.getClass().isArray() ? Array.getLength(source) : source instanceof Collection ? ((Collection<?>) source).size() : 10;
+			final Object target = targetType.isArray() ? Array.newInstance(targetType.getComponentType(), size) : DefaultImplementations.newInstance(GenerateConvertMethod_List.newCollectionType(targetType), size);
+			fill(target, source, size);
+			return target;
+		}
+
+		/**
+		 * Replace the elements of the collection of the target by the converted elements, nothing for <code>null</code>.
+		 */
+		public void convertInto(Object target, Object source) throws Throwable {
+			if( source == null ){
+				return;
+			}
+
+			((Collection<?>) target).clear();
+			fill(target, source, source.getClass().isArray() ? Array.getLength(source) : source instanceof Collection ? ((Collection<?>) source).size() : 0);
+		}
+
+		private void fill(Object target, Object source, int size) throws Throwable {
+			int index = 0;
+
+			if( source.getClass().isArray() || source instanceof RandomAccess ){
+				final List<?> list = source instanceof List ? (List<?>) source : null;
+				for (; index < size; index++) {
+					add(target, index, elementConverter.invokeExact(list != null ? list.get(index) : Array.get(source, index)));
+				}
+			} else {
+				for (Object element : (Iterable<?>) source) {
+					add(target, index++, elementConverter.invokeExact(element));
+				}
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private static void add(Object target, int index, Object element) {
+			if( target instanceof Collection ){
+				((Collection<Object>) target).add(element);
+			} else {
+				Array.set(target, index, element);
+			}
+		}
+	}
+
+
+
+	/**
+	 * Converter of a map, entry by entry, into a map of the size of the source.
+	 * @see GenerateConvertMethod_Map
+	 */
+	private static final class EntryConverter {
+		private final Class<?> targetType;
+		private final MethodHandle keyConverter;
+		private final MethodHandle valueConverter;
+
+		EntryConverter(Class<?> targetType, MethodHandle keyConverter, MethodHandle valueConverter) {
+			this.targetType = targetType;
+			this.keyConverter = keyConverter;
+			this.valueConverter = valueConverter;
+		}
+
+		public Object convert(Object source) throws Throwable {
+			if( source == null ){
+				return null;
+			}
+
+			final Object target = DefaultImplementations.newInstance(targetType, ((Map<?, ?>) source).size());
+			fill(target, source);
+			return target;
+		}
+
+		/**
+		 * Replace the entries of the map of the target by the converted entries, nothing for <code>null</code>.
+		 */
+		public void convertInto(Object target, Object source) throws Throwable {
+			if( source == null ){
+				return;
+			}
+
+			((Map<?, ?>) target).clear();
+			fill(target, source);
+		}
+
+		@SuppressWarnings("unchecked")
+		private void fill(Object target, Object source) throws Throwable {
+			final Map<Object, Object> targetMap = (Map<Object, Object>) target;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) source).entrySet()) {
+				targetMap.put(keyConverter.invokeExact(entry.getKey()), valueConverter.invokeExact(entry.getValue()));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+package org.spee.commons.convert.generator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.WeakHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spee.commons.convert.Convert;
+
+/**
+ * Lookup of the converters that are generated at build time by the {@link ConverterPrecompiler}.
+ * The precompiler writes an index ({@value #INDEX_RESOURCE}) next to the generated classes, which maps
+ * the source and target type to the name of the converter class and the {@link BytecodeCache#keyOf(ClassMap) key}
+ * of its bytecode.
+ * <pre>
+ * org.example.Source&gt;org.example.Target=gen.spee.commons.converter.gen_... 3f2a...
+ * </pre>
+ * The index is read once per {@link ClassLoader}.
+ * <p>
+ * A converter generated at build time has the conversions resolved then built in: the registered converters and
+ * the {@link org.spee.commons.convert.OverflowPolicy}. So it is only used while the key is the same at runtime,
+ * that is when the converter generated now would be the same. Otherwise the converter is generated at runtime.
+ */
+public final class PrecompiledConverters {
+	private static final Logger LOG = LoggerFactory.getLogger(PrecompiledConverters.class);
+	static final String INDEX_RESOURCE = "META-INF/spee/converters.index";
+	static final String PAIR_SEPARATOR = ">";
+	static final String KEY_SEPARATOR = " ";
+
+	private static final Map<ClassLoader, Map<String, String>> indexes = new WeakHashMap<>();
+
+	private PrecompiledConverters() {}
+
+
+	/**
+	 * Find the converter class that is generated at build time.
+	 * @param sourceType
+	 * @param targetType
+	 * @return The converter class, or <code>null</code> if it is not precompiled, or not the converter
+	 * that would be generated now
+	 */
+	@SuppressWarnings("unchecked")
+	public static <S, T> Class<Convert<S, T>> find(Class<S> sourceType, Class<T> targetType) {
+		final ClassLoader classLoader = classLoaderOf(sourceType);
+		final String entry = getIndex(classLoader).get(key(sourceType.getName(), targetType.getName()));
+		if( entry == null ){
+			return null;
+		}
+
+		final String[] classNameAndKey = entry.split(KEY_SEPARATOR);
+		final String className = classNameAndKey[0];
+		final ClassMap classMap = ClassMapBuilder.build(sourceType, targetType).useDefaults(true).generate();
+		if( classNameAndKey.length != 2 || !classNameAndKey[1].equals(BytecodeCache.keyOf(classMap).orNull()) ){
+			LOG.debug("Precompiled converter {} for {} to {} is outdated, it is generated instead", className, sourceType, targetType);
+		} else {
+			try {
+				return (Class<Convert<S, T>>) Class.forName(className, true, classLoader);
+			} catch (ClassNotFoundException | LinkageError e) {
+				LOG.warn("Could not load precompiled converter {} for {} to {}: {}", className, sourceType, targetType, e.getMessage(), e);
+			}
+		}
+		return null;
+	}
+
+
+	static String key(String sourceTypeName, String targetTypeName) {
+		return sourceTypeName + PAIR_SEPARATOR + targetTypeName;
+	}
+
+
+	private static ClassLoader classLoaderOf(Class<?> type) {
+		return type.getClassLoader() == null ? PrecompiledConverters.class.getClassLoader() : type.getClassLoader();
+	}
+
+
+	private static synchronized Map<String, String> getIndex(ClassLoader classLoader) {
+		Map<String, String> index = indexes.get(classLoader);
+		if( index == null ){
+			index = readIndex(classLoader);
+			indexes.put(classLoader, index);
+		}
+		return index;
+	}
+
+
+	private static Map<String, String> readIndex(ClassLoader classLoader) {
+		final Map<String, String> index = new HashMap<>();
+		try {
+			Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE);
+			while( resources.hasMoreElements() ){
+				final URL url = resources.nextElement();
+				LOG.debug("Reading precompiled converters from {}", url);
+				try (InputStream in = url.openStream()) {
+					Properties properties = new Properties();
+					properties.load(in);
+					for (String pair : properties.stringPropertyNames()) {
+						index.put(pair, properties.getProperty(pair));
+					}
+				}
+			}
+		} catch (IOException e) {
+			LOG.warn("Could not read the precompiled converters index: {}", e.getMessage(), e);
+		}
+		return index.isEmpty() ? Collections.<String, String>emptyMap() : index;
+	}
+
+}
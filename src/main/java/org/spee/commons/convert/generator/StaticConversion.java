@@ -0,0 +1,228 @@
+package org.spee.commons.convert.generator;
+
+import static java.lang.reflect.Modifier.isPublic;
+import static java.lang.reflect.Modifier.isStatic;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spee.commons.convert.OverflowPolicy;
+import org.spee.commons.convert.internals.ImmutableMapper;
+import org.spee.commons.convert.internals.MappingLocator;
+import org.spee.commons.convert.internals.NumberConverter;
+import org.spee.commons.convert.internals.PrimitiveConverter;
+
+import com.google.common.base.Optional;
+import com.google.common.primitives.Primitives;
+
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.StackSize;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+
+/**
+ * A conversion that is resolved while generating the converter, so it can be written as plain bytecode instead
+ * of an invokedynamic call to {@link MappingLocator}. This is the case when the {@link MappingLocator} resolves to:
+ * <ul>
+ * <li>the identity conversion: nothing, or a cast, (un)boxing or primitive widening</li>
+ * <li>a cast between numeric primitives: the conversion instructions, like <code>i2l</code> or <code>l2i</code>.
+ * Narrowing only with {@link OverflowPolicy#WRAP}, other policies check the value.</li>
+ * <li>a public static method with one parameter: <code>invokestatic</code></li>
+ * <li>a public method without parameters on the source: <code>invokevirtual</code> or <code>invokeinterface</code></li>
+ * </ul>
+ * Other conversions, like bound custom converters, keep using invokedynamic.
+ */
+final class StaticConversion {
+	private static final Logger LOG = LoggerFactory.getLogger(StaticConversion.class);
+	private static final Assigner ASSIGNER = Assigner.DEFAULT;
+
+	private final StackManipulation stackManipulation;
+	private final String description;
+
+
+	private StaticConversion(StackManipulation stackManipulation, String description) {
+		this.stackManipulation = stackManipulation;
+		this.description = description;
+	}
+
+
+	/**
+	 * Resolve the conversion of a value of the source type on the stack to the target type.
+	 * @return The conversion, or absent when it has to be resolved at runtime
+	 */
+	static Optional<StaticConversion> resolve(Class<?> sourceType, Class<?> targetType) {
+		final MethodHandle converter = MappingLocator.resolve(sourceType, targetType);
+		if( converter == null ){
+			return Optional.absent();
+		}
+
+		if( ImmutableMapper.isIdentity(converter) ){
+			return of(assign(sourceType, targetType), "identity");
+		}
+
+		final Class<?> sourcePrimitive = Primitives.unwrap(sourceType);
+		final Class<?> targetPrimitive = Primitives.unwrap(targetType);
+		if( PrimitiveConverter.canConvert(sourceType, targetType)
+				&& (NumberConverter.getOverflowPolicy() == OverflowPolicy.WRAP || NumberConverter.isWidening(sourcePrimitive, targetPrimitive)) ){
+			return of(new StackManipulation.Compound(
+							assign(sourceType, sourcePrimitive),
+							new PrimitiveCast(sourcePrimitive, targetPrimitive),
+							assign(targetPrimitive, targetType)
+						), "(" + targetPrimitive + ")");
+		}
+
+		final Method method = directMethod(converter);
+		if( method == null || !isPublic(method.getModifiers()) || !isPublic(method.getDeclaringClass().getModifiers()) || !isVisible(method.getDeclaringClass()) ){
+			return Optional.absent();
+		}
+
+		final MethodDescription methodDescription = new MethodDescription.ForLoadedMethod(method);
+		if( isStatic(method.getModifiers()) && method.getParameterTypes().length == 1 ){
+			return of(new StackManipulation.Compound(
+							assign(sourceType, method.getParameterTypes()[0]),
+							MethodInvocation.invoke(methodDescription),
+							assign(method.getReturnType(), targetType)
+						), method.toString());
+		}
+		if( !isStatic(method.getModifiers()) && method.getParameterTypes().length == 0 ){
+			return of(new StackManipulation.Compound(
+							assign(sourceType, method.getDeclaringClass()),
+							MethodInvocation.invoke(methodDescription),
+							assign(method.getReturnType(), targetType)
+						), method.toString());
+		}
+		return Optional.absent();
+	}
+
+
+	/**
+	 * @return The bytecode for the conversion
+	 */
+	StackManipulation getStackManipulation() {
+		return stackManipulation;
+	}
+
+
+	@Override
+	public String toString() {
+		return description;
+	}
+
+
+	private static Optional<StaticConversion> of(StackManipulation stackManipulation, String description) {
+		return stackManipulation.isValid() ? Optional.of(new StaticConversion(stackManipulation, description)) : Optional.<StaticConversion>absent();
+	}
+
+
+	private static StackManipulation assign(Class<?> sourceType, Class<?> targetType) {
+		return ASSIGNER.assign(new TypeDescription.ForLoadedType(sourceType).asGenericType(), new TypeDescription.ForLoadedType(targetType).asGenericType(), Assigner.Typing.DYNAMIC);
+	}
+
+
+	/**
+	 * @return The method the handle directly invokes, or <code>null</code> if it is not a direct method handle
+	 */
+	private static Method directMethod(MethodHandle converter) {
+		try {
+			return MethodHandles.reflectAs(Method.class, converter);
+		} catch (IllegalArgumentException | ClassCastException | SecurityException e) {
+			LOG.trace("Not a direct method handle {}: {}", converter, e.getMessage());
+			return null;
+		}
+	}
+
+
+	/**
+	 * The generated converter must be able to link the method.
+	 */
+	private static boolean isVisible(Class<?> type) {
+		try {
+			return Class.forName(type.getName(), false, GeneratorFactory.class.getClassLoader()) == type;
+		} catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+
+
+	/**
+	 * The Java cast between numeric primitives: first to the computational type of the target
+	 * (<code>int</code>, <code>long</code>, <code>float</code> or <code>double</code>), then narrowed
+	 * to <code>byte</code>, <code>short</code> or <code>char</code>.
+	 */
+	private static final class PrimitiveCast implements StackManipulation {
+		private final Class<?> sourceType;
+		private final Class<?> targetType;
+
+		PrimitiveCast(Class<?> sourceType, Class<?> targetType) {
+			this.sourceType = sourceType;
+			this.targetType = targetType;
+		}
+
+		@Override
+		public boolean isValid() {
+			return true;
+		}
+
+		@Override
+		public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+			final char source = computationalType(sourceType);
+			final char target = computationalType(targetType);
+			if( source != target ){
+				methodVisitor.visitInsn(conversion(source, target));
+			}
+			if( targetType != sourceType && !(targetType == Short.TYPE && sourceType == Byte.TYPE) ){
+				if( targetType == Byte.TYPE ){
+					methodVisitor.visitInsn(Opcodes.I2B);
+				} else if( targetType == Short.TYPE ){
+					methodVisitor.visitInsn(Opcodes.I2S);
+				} else if( targetType == Character.TYPE ){
+					methodVisitor.visitInsn(Opcodes.I2C);
+				}
+			}
+			final int sizeChange = StackSize.of(targetType).getSize() - StackSize.of(sourceType).getSize();
+			return new Size(sizeChange, Math.max(sizeChange, 0));
+		}
+
+		private static char computationalType(Class<?> type) {
+			if( type == Long.TYPE ){
+				return 'J';
+			} else if( type == Float.TYPE ){
+				return 'F';
+			} else if( type == Double.TYPE ){
+				return 'D';
+			}
+			return 'I';
+		}
+
+		/**
+		 * @return The instruction converting between the computational types, like <code>i2l</code>
+		 */
+		private static int conversion(char source, char target) {
+			switch (String.valueOf(source) + target) {
+				case "IJ": return Opcodes.I2L;
+				case "IF": return Opcodes.I2F;
+				case "ID": return Opcodes.I2D;
+				case "JI": return Opcodes.L2I;
+				case "JF": return Opcodes.L2F;
+				case "JD": return Opcodes.L2D;
+				case "FI": return Opcodes.F2I;
+				case "FJ": return Opcodes.F2L;
+				case "FD": return Opcodes.F2D;
+				case "DI": return Opcodes.D2I;
+				case "DJ": return Opcodes.D2L;
+				case "DF": return Opcodes.D2F;
+				default: throw new IllegalArgumentException("No conversion from " + source + " to " + target);
+			}
+		}
+	}
+
+}
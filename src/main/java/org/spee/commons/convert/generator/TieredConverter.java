@@ -0,0 +1,109 @@
+package org.spee.commons.convert.generator;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spee.commons.convert.Convert;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Converter that starts by interpreting the {@link ClassMap} and switches to a generated converter once it is used
+ * often enough. Pairs that are converted only now and then never pay for generating and loading a class, while the
+ * frequently used pairs still end up with the generated converter.
+ * <ol>
+ * <li>The conversion is done by the {@link InterpretedConverter}.</li>
+ * <li>When the number of conversions reaches the threshold, the converter is generated on the executor.</li>
+ * <li>When it is generated, the conversions are done by the generated converter.</li>
+ * </ol>
+ */
+public final class TieredConverter<S, T> implements Convert<S, T> {
+	private static final Logger LOG = LoggerFactory.getLogger(TieredConverter.class);
+
+	private final ClassMap classMap;
+	private final int compileThreshold;
+	private final Executor compileExecutor;
+	private final AtomicBoolean compileRequested = new AtomicBoolean();
+	private volatile Convert<S, T> implementation;
+	/**
+	 * Not synchronized; an update that gets lost only delays the compilation.
+	 */
+	private int invocations;
+
+
+	/**
+	 * @param classMap The mapping to convert
+	 * @param compileThreshold The number of conversions before the converter is generated
+	 * @param compileExecutor The executor to generate the converter on
+	 */
+	public TieredConverter(ClassMap classMap, int compileThreshold, Executor compileExecutor) {
+		Preconditions.checkArgument(compileThreshold > 0, "Threshold must be positive: %s", compileThreshold);
+		this.classMap = classMap;
+		this.compileThreshold = compileThreshold;
+		this.compileExecutor = Preconditions.checkNotNull(compileExecutor);
+		this.implementation = new InterpretedConverter<>(classMap);
+	}
+
+
+	@Override
+	public T convert(S source) {
+		if( invocations < compileThreshold && ++invocations == compileThreshold ){
+			compile();
+		}
+		return implementation.convert(source);
+	}
+
+
+	/**
+	 * @return <code>true</code> if the conversions are done by the generated converter.
+	 */
+	public boolean isCompiled() {
+		return !(implementation instanceof InterpretedConverter);
+	}
+
+
+	/**
+	 * Generate the converter on the calling thread, instead of waiting for the threshold.
+	 * Does nothing when the converter is already requested.
+	 * @return <code>true</code> if the conversions are done by the generated converter.
+	 */
+	public boolean compileNow() {
+		if( compileRequested.compareAndSet(false, true) ){
+			generate();
+		}
+		return isCompiled();
+	}
+
+
+	private void compile() {
+		if( compileRequested.compareAndSet(false, true) ){
+			compileExecutor.execute(new Runnable() {
+				@Override
+				public void run() {
+					generate();
+				}
+			});
+		}
+	}
+
+
+	private void generate() {
+		try {
+			@SuppressWarnings("unchecked")
+			Class<Convert<S, T>> converter = (Class<Convert<S, T>>)(Class<?>) new GeneratorFactory().build(classMap);
+			implementation = converter.newInstance();
+			LOG.debug("Switched to generated converter {}", converter);
+		} catch (RuntimeException | InstantiationException | IllegalAccessException | LinkageError e) {
+			LOG.warn("Could not generate converter, keep interpreting {}: {}", this, e.getMessage(), e);
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		return "tiered converter " + classMap.getSource().getBeanDescriptor().getBeanClass() + " to " + classMap.getTarget().getBeanDescriptor().getBeanClass();
+	}
+
+}
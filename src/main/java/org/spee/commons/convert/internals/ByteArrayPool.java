@@ -0,0 +1,69 @@
+package org.spee.commons.convert.internals;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Scratch <code>byte[]</code>s for copies that do not leave the converter, like the bytes of a direct buffer
+ * that are decoded to a {@link String}:
+ * <pre>
+ * byte[] bytes = ByteArrayPool.acquire(length);
+ * try {
+ *     ...
+ * } finally {
+ *     ByteArrayPool.release(bytes);
+ * }
+ * </pre>
+ * Each thread keeps one array per power of two up to {@value #MAX_POOLED_LENGTH} bytes, so the pool needs no locking.
+ * Larger arrays are not pooled.
+ */
+public final class ByteArrayPool {
+
+	public static final int MAX_POOLED_LENGTH = 64 * 1024;
+	private static final int MIN_POOLED_LENGTH = 64;
+	private static final int SIZE_CLASSES = Integer.numberOfTrailingZeros(MAX_POOLED_LENGTH / MIN_POOLED_LENGTH) + 1;
+
+	private static final ThreadLocal<byte[][]> ARRAYS = new ThreadLocal<byte[][]>() {
+		@Override
+		protected byte[][] initialValue() {
+			return new byte[SIZE_CLASSES][];
+		}
+	};
+
+	private ByteArrayPool() {}
+
+
+	/**
+	 * @return An array of at least the length, with any content.
+	 */
+	public static byte[] acquire(int minLength) {
+		Preconditions.checkArgument(minLength >= 0, "Negative length: %s", minLength);
+		if( minLength > MAX_POOLED_LENGTH ){
+			return new byte[minLength];
+		}
+		final int sizeClass = sizeClass(minLength);
+		final byte[][] arrays = ARRAYS.get();
+		final byte[] array = arrays[sizeClass];
+		if( array == null ){
+			return new byte[MIN_POOLED_LENGTH << sizeClass];
+		}
+		arrays[sizeClass] = null;
+		return array;
+	}
+
+
+	/**
+	 * Give the array back, it must not be used afterwards.
+	 */
+	public static void release(byte[] array) {
+		final int length = array.length;
+		if( length >= MIN_POOLED_LENGTH && length <= MAX_POOLED_LENGTH && Integer.bitCount(length) == 1 ){
+			ARRAYS.get()[sizeClass(length)] = array;
+		}
+	}
+
+
+	private static int sizeClass(int length) {
+		return length <= MIN_POOLED_LENGTH ? 0 : 32 - Integer.numberOfLeadingZeros(length - 1) - Integer.numberOfTrailingZeros(MIN_POOLED_LENGTH);
+	}
+
+}
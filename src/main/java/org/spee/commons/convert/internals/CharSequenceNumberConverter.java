@@ -0,0 +1,76 @@
+package org.spee.commons.convert.internals;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.Objects;
+import java.util.Set;
+
+import org.spee.commons.convert.NumberParser;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import com.google.common.primitives.Primitives;
+
+/**
+ * Converter from text to <code>int</code>, <code>long</code> and <code>double</code> by the {@link NumberParser},
+ * so the text is not copied to a {@link String} and the number is not boxed:
+ * <pre>
+ * NumberParser.parseInt(text)
+ * </pre>
+ * Any {@link CharSequence} converts to the primitives. Other {@link CharSequence}s than {@link String} also convert to the
+ * wrappers, with <code>null</code> converted to <code>null</code>; {@link String} to a wrapper is left to the {@link NumberConverter}.
+ */
+public class CharSequenceNumberConverter implements InternalConverter {
+
+	private static final Set<TypeKind> SOURCE_KINDS = Sets.immutableEnumSet(TypeKind.CHAR_SEQUENCE);
+	private static final Set<TypeKind> TARGET_KINDS = Sets.immutableEnumSet(TypeKind.PRIMITIVE, TypeKind.WRAPPER);
+
+	private static final MethodHandle IS_NULL;
+	private static final ImmutableMap<Class<?>, MethodHandle> PARSERS;
+
+	static {
+		try {
+			final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			IS_NULL = lookup.findStatic(Objects.class, "isNull", methodType(boolean.class, Object.class));
+			PARSERS = ImmutableMap.<Class<?>, MethodHandle>of(
+					Integer.TYPE, lookup.findStatic(NumberParser.class, "parseInt", methodType(int.class, CharSequence.class)),
+					Long.TYPE, lookup.findStatic(NumberParser.class, "parseLong", methodType(long.class, CharSequence.class)),
+					Double.TYPE, lookup.findStatic(NumberParser.class, "parseDouble", methodType(double.class, CharSequence.class)));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+
+	@Override
+	public Set<TypeKind> sourceKinds() {
+		return SOURCE_KINDS;
+	}
+
+	@Override
+	public Set<TypeKind> targetKinds() {
+		return TARGET_KINDS;
+	}
+
+	@Override
+	public boolean canMap(Class<?> sourceType, Class<?> targetType) {
+		return CharSequence.class.isAssignableFrom(sourceType) && PARSERS.containsKey(Primitives.unwrap(targetType))
+				&& (targetType.isPrimitive() || sourceType != String.class);
+	}
+
+
+	@Override
+	public MethodHandle getTypeConverter(Class<?> sourceType, Class<?> targetType) {
+		final MethodHandle parser = PARSERS.get(Primitives.unwrap(targetType)).asType(methodType(targetType, sourceType));
+		if( targetType.isPrimitive() ){
+			return parser;
+		}
+		// null stays null
+		return MethodHandles.guardWithTest(IS_NULL.asType(methodType(boolean.class, sourceType)),
+				MethodHandles.dropArguments(MethodHandles.constant(targetType, null), 0, sourceType),
+				parser);
+	}
+
+}
@@ -0,0 +1,179 @@
+package org.spee.commons.convert.internals;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spee.commons.convert.internals.MappingLocator.Conversion;
+
+import com.google.common.primitives.Primitives;
+
+/**
+ * Conversions by a chain of converters, when there is no single converter for the types, like
+ * <code>String</code> to <code>Date</code> by <code>toLong(String)</code> and <code>toDate(Long)</code>.
+ * <p>
+ * Only the registered converters are edges, from exactly the type they declare to exactly the type they return,
+ * weighted by their {@link org.spee.commons.convert.Converter#cost() cost}. The conversion of an edge is not
+ * widened to supertypes or done by the internal converters, as a chain would lose the value on the way. For the same
+ * reason, the chain does not go through {@link String} or {@link Object}, and not through converters that narrow a
+ * number, like <code>long</code> to <code>byte</code>.
+ * <p>
+ * The chain is the cheapest one of at most {@value #MAX_CONVERTERS} converters. Of chains with the same cost, the one with
+ * fewer converters wins, and then the one whose types come first by name, so the chain does not depend on the order
+ * of registration.
+ * <p>
+ * The internal converters of the {@link MappingLocator}, like the number, enum and <code>valueOf</code> conversions, are
+ * no edges of a chain. They only convert a pair of types on their own, which is tried before a chain is looked for.
+ * <p>
+ * The converters of the chain are fused into one handle by {@link MethodHandles#filterReturnValue(MethodHandle, MethodHandle)}.
+ */
+final class ConversionGraph {
+
+	private static final Logger logger = LoggerFactory.getLogger(ConversionGraph.class);
+
+	static final int MAX_CONVERTERS = 3;
+
+	private static final Comparator<Class<?>> BY_NAME = new Comparator<Class<?>>() {
+		@Override
+		public int compare(Class<?> type, Class<?> other) {
+			return type.getName().compareTo(other.getName());
+		}
+	};
+
+	private ConversionGraph() {}
+
+
+	/**
+	 * @param converters The registered converters by source and target type
+	 * @return The fused chain, with the sum of the costs, or <code>null</code> if there is none
+	 */
+	static Conversion cheapestChain(final Class<?> sourceType, final Class<?> targetType, final Map<Type, ? extends Map<Type, Conversion>> converters) {
+		if( targetType.isAssignableFrom(sourceType) ){
+			// copying is left to the generated converters
+			return null;
+		}
+
+		// the cheapest chain to each type found so far; a chain is only replaced by a cheaper one, so on the same cost
+		// the chain with fewer converters stays
+		final Map<Class<?>, Chain> chains = new HashMap<>();
+		chains.put(sourceType, new Chain(sourceType));
+		// the chains of the last round, which have one converter less than the chains of this round; a chain that is
+		// replaced in this round is extended from the next round on, so no chain gets longer than its round
+		Map<Class<?>, Chain> reached = Collections.<Class<?>, Chain>singletonMap(sourceType, chains.get(sourceType));
+
+		for (int length = 1; length <= MAX_CONVERTERS && !reached.isEmpty(); length++) {
+			final Map<Class<?>, Chain> next = new TreeMap<>(BY_NAME);
+			for (Map.Entry<Class<?>, Chain> entry : reached.entrySet()) {
+				final Class<?> from = entry.getKey();
+				final Chain chain = entry.getValue();
+				for (Class<?> to : edgesFrom(from, converters)) {
+					if( to == sourceType || to != targetType && (length == MAX_CONVERTERS || !isBetween(to)) || isNarrowing(from, to) ){
+						continue;
+					}
+					final Conversion conversion = converters.get(from).get(to);
+					final Chain current = chains.get(to);
+					if( current == null || chain.cost + conversion.cost < current.cost ){
+						final Chain cheaper = chain.then(to, conversion);
+						chains.put(to, cheaper);
+						next.put(to, cheaper);
+					}
+				}
+			}
+			// the target does not lead further
+			next.remove(targetType);
+			reached = next;
+		}
+
+		final Chain chain = chains.get(targetType);
+		if( chain == null ){
+			return null;
+		}
+		logger.debug("converting {} to {} by {}", sourceType, targetType, chain.types);
+		return new Conversion(chain.converter, chain.cost, MappingLocator.Dependency.ANY_REGISTRATION);
+	}
+
+
+	/**
+	 * @return The types the registered converters of the type convert to, by name
+	 */
+	private static List<Class<?>> edgesFrom(Class<?> type, Map<Type, ? extends Map<Type, Conversion>> converters) {
+		final Map<Type, Conversion> typeConverters = converters.get(type);
+		if( typeConverters == null ){
+			return Collections.emptyList();
+		}
+		final List<Class<?>> targetTypes = new ArrayList<>(typeConverters.size());
+		for (Type targetType : typeConverters.keySet()) {
+			if( targetType instanceof Class ){
+				targetTypes.add((Class<?>) targetType);
+			}
+		}
+		Collections.sort(targetTypes, BY_NAME);
+		return targetTypes;
+	}
+
+
+	/**
+	 * @return <code>true</code> if a chain can go through the type
+	 */
+	private static boolean isBetween(Class<?> type) {
+		return type != String.class && type != Object.class;
+	}
+
+
+	/**
+	 * @return <code>true</code> if converting from a number to a primitive number or its wrapper can lose the magnitude
+	 */
+	private static boolean isNarrowing(Class<?> sourceType, Class<?> targetType) {
+		final Class<?> target = Primitives.unwrap(targetType);
+		if( !target.isPrimitive() || target == Boolean.TYPE || target == Void.TYPE ){
+			return false;
+		}
+		final Class<?> source = Primitives.unwrap(sourceType);
+		if( source.isPrimitive() ){
+			return source != Boolean.TYPE && !NumberConverter.isWidening(source, target);
+		}
+		return Number.class.isAssignableFrom(sourceType);
+	}
+
+
+	/**
+	 * The converters from the source type to the last type, fused to one handle.
+	 */
+	private static final class Chain {
+
+		final List<Class<?>> types;
+		final MethodHandle converter;
+		final int cost;
+
+		Chain(Class<?> sourceType) {
+			this(Collections.<Class<?>>singletonList(sourceType), MethodHandles.identity(sourceType), 0);
+		}
+
+		private Chain(List<Class<?>> types, MethodHandle converter, int cost) {
+			this.types = types;
+			this.converter = converter;
+			this.cost = cost;
+		}
+
+		Chain then(Class<?> type, Conversion conversion) {
+			final List<Class<?>> longer = new ArrayList<>(types);
+			longer.add(type);
+			final Class<?> last = types.get(types.size() - 1);
+			final MethodHandle next = conversion.converter.asType(methodType(type, last));
+			final MethodHandle fused = types.size() == 1 ? next : MethodHandles.filterReturnValue(converter, next);
+			return new Chain(longer, fused, cost + conversion.cost);
+		}
+	}
+
+}
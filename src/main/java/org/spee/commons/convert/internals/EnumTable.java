@@ -0,0 +1,273 @@
+package org.spee.commons.convert.internals;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * The lookup tables of an enum type, computed once per type:
+ * <ul>
+ * <li>the constants by ordinal</li>
+ * <li>the constants by name, in an open addressing hash table that is searched with a {@link CharSequence}, optionally ignoring case</li>
+ * <li>per other enum type, the ordinal of the constant with the same name</li>
+ * </ul>
+ * What a lookup returns when there is no constant is set per enum type by {@link #setLookup(boolean, boolean, Enum)}.
+ * The setting is bound when a conversion is linked, like the {@link org.spee.commons.convert.OverflowPolicy}.
+ */
+public final class EnumTable<E extends Enum<E>> {
+
+	private static final MethodHandle BY_NAME;
+	private static final MethodHandle BY_ORDINAL;
+	private static final MethodHandle BY_ENUM;
+
+	static {
+		try {
+			final MethodHandles.Lookup lookup = MethodHandles.lookup();
+			BY_NAME = lookup.findVirtual(EnumTable.class, "byName", methodType(Enum.class, Lookup.class, CharSequence.class));
+			BY_ORDINAL = lookup.findVirtual(EnumTable.class, "byOrdinal", methodType(Enum.class, Lookup.class, int.class));
+			BY_ENUM = lookup.findVirtual(EnumTable.class, "byEnum", methodType(Enum.class, Lookup.class, int[].class, Enum.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static final ClassValue<EnumTable<?>> TABLES = new ClassValue<EnumTable<?>>() {
+		@Override
+		protected EnumTable<?> computeValue(Class<?> type) {
+			return new EnumTable(type);
+		}
+	};
+
+	private final Class<E> type;
+	private final E[] constants;
+	/**
+	 * The ordinal + 1 of the constant per slot, 0 for an empty slot.
+	 */
+	private final int[] slots;
+	private final int[] ignoreCaseSlots;
+	private final int mask;
+
+	/**
+	 * Per other enum type, the ordinal of the constant of that type with the same name as the constant of this type,
+	 * or -1 if it has none.
+	 */
+	private final ClassValue<int[]> ordinalsFrom = new ClassValue<int[]>() {
+		@Override
+		protected int[] computeValue(Class<?> sourceType) {
+			final Enum<?>[] sourceConstants = (Enum<?>[]) sourceType.getEnumConstants();
+			final int[] ordinals = new int[sourceConstants.length];
+			for (Enum<?> constant : sourceConstants) {
+				final int slot = find(slots, constant.name(), false);
+				ordinals[constant.ordinal()] = slot < 0 ? -1 : slots[slot] - 1;
+			}
+			return ordinals;
+		}
+	};
+
+	private volatile Lookup<E> lookup = new Lookup<>(false, true, null);
+
+
+	private EnumTable(Class<E> type) {
+		this.type = type;
+		this.constants = type.getEnumConstants();
+		final int size = Integer.highestOneBit(Math.max(1, constants.length) * 2) * 2;
+		this.mask = size - 1;
+		this.slots = new int[size];
+		this.ignoreCaseSlots = new int[size];
+		for (E constant : constants) {
+			insert(slots, constant, false);
+			insert(ignoreCaseSlots, constant, true);
+		}
+	}
+
+
+	/**
+	 * @param type The enum type, not the class of a constant with a body
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E extends Enum<E>> EnumTable<E> of(Class<E> type) {
+		Preconditions.checkArgument(type.isEnum(), "Not an enum type: %s", type);
+		return (EnumTable<E>) TABLES.get(type);
+	}
+
+
+	/**
+	 * Set what the conversions to this enum type that are linked afterwards do.
+	 * @param ignoreCase Whether names match ignoring case
+	 * @param throwOnMiss Whether a name, ordinal or constant without a constant of this type throws an {@link IllegalArgumentException}
+	 * @param missing The value when there is no constant and <code>throwOnMiss</code> is <code>false</code>, can be <code>null</code>
+	 */
+	public void setLookup(boolean ignoreCase, boolean throwOnMiss, E missing) {
+		lookup = new Lookup<>(ignoreCase, throwOnMiss, missing);
+		MappingLocator.invalidate();
+	}
+
+
+	/**
+	 * @return The constant with the name, or <code>null</code> if there is none.
+	 */
+	public E get(CharSequence name, boolean ignoreCase) {
+		final int[] table = ignoreCase ? ignoreCaseSlots : slots;
+		final int slot = find(table, name, ignoreCase);
+		return slot < 0 ? null : constants[table[slot] - 1];
+	}
+
+
+	/**
+	 * @return The constant with the ordinal, or <code>null</code> if there is none.
+	 */
+	public E get(int ordinal) {
+		return ordinal >= 0 && ordinal < constants.length ? constants[ordinal] : null;
+	}
+
+
+	/**
+	 * The conversion from the name, typed as <code>(sourceType)type</code>. <code>null</code> converts to <code>null</code>.
+	 */
+	public MethodHandle nameConversion(Class<?> sourceType) {
+		final MethodHandle conversion = MethodHandles.insertArguments(BY_NAME, 0, this, lookup);
+		return conversion.asType(methodType(type, sourceType));
+	}
+
+
+	/**
+	 * The conversion from the ordinal, typed as <code>(int)type</code>.
+	 */
+	public MethodHandle ordinalConversion() {
+		return MethodHandles.insertArguments(BY_ORDINAL, 0, this, lookup).asType(methodType(type, int.class));
+	}
+
+
+	/**
+	 * The conversion from the constant of the other enum type with the same name, typed as <code>(sourceType)type</code>.
+	 * <code>null</code> converts to <code>null</code>.
+	 */
+	public MethodHandle enumConversion(Class<?> sourceType) {
+		final Class<?> sourceEnum = enumType(sourceType);
+		final MethodHandle conversion = MethodHandles.insertArguments(BY_ENUM, 0, this, lookup, ordinalsFrom.get(sourceEnum));
+		return conversion.asType(methodType(type, sourceType));
+	}
+
+
+	/**
+	 * @return The enum type of the class, which is the super class for a constant with a body.
+	 */
+	public static Class<?> enumType(Class<?> type) {
+		return type.isEnum() ? type : type.getSuperclass();
+	}
+
+
+	@SuppressWarnings("unused")
+	private Enum<?> byName(Lookup<E> lookup, CharSequence name) {
+		if( name == null ){
+			return null;
+		}
+		final E constant = get(name, lookup.ignoreCase);
+		return constant != null ? constant : miss(lookup, "name " + name);
+	}
+
+
+	@SuppressWarnings("unused")
+	private Enum<?> byOrdinal(Lookup<E> lookup, int ordinal) {
+		final E constant = get(ordinal);
+		return constant != null ? constant : miss(lookup, "ordinal " + ordinal);
+	}
+
+
+	@SuppressWarnings("unused")
+	private Enum<?> byEnum(Lookup<E> lookup, int[] ordinals, Enum<?> source) {
+		if( source == null ){
+			return null;
+		}
+		final int ordinal = ordinals[source.ordinal()];
+		return ordinal >= 0 ? constants[ordinal] : miss(lookup, "name " + source.name());
+	}
+
+
+	private E miss(Lookup<E> lookup, String what) {
+		if( lookup.throwOnMiss ){
+			throw new IllegalArgumentException("No enum constant " + type.getCanonicalName() + " with " + what);
+		}
+		return lookup.missing;
+	}
+
+
+	private void insert(int[] table, E constant, boolean ignoreCase) {
+		final String name = constant.name();
+		if( find(table, name, ignoreCase) >= 0 ){
+			// names that only differ in case: the first constant wins
+			return;
+		}
+		int slot = hash(name, ignoreCase) & mask;
+		while( table[slot] != 0 ){
+			slot = (slot + 1) & mask;
+		}
+		table[slot] = constant.ordinal() + 1;
+	}
+
+
+	/**
+	 * @return The slot of the name, or -1 if it is not in the table.
+	 */
+	private int find(int[] table, CharSequence name, boolean ignoreCase) {
+		for (int slot = hash(name, ignoreCase) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+			if( matches(constants[table[slot] - 1].name(), name, ignoreCase) ){
+				return slot;
+			}
+		}
+		return -1;
+	}
+
+
+	private static int hash(CharSequence name, boolean ignoreCase) {
+		int hash = 0;
+		for (int index = 0; index < name.length(); index++) {
+			hash = 31 * hash + (ignoreCase ? fold(name.charAt(index)) : name.charAt(index));
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+
+	private static boolean matches(String constantName, CharSequence name, boolean ignoreCase) {
+		if( constantName.length() != name.length() ){
+			return false;
+		}
+		for (int index = 0; index < name.length(); index++) {
+			final char expected = constantName.charAt(index);
+			final char actual = name.charAt(index);
+			if( expected != actual && (!ignoreCase || fold(expected) != fold(actual)) ){
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * The character to compare ignoring case, like {@link String#equalsIgnoreCase(String)}.
+	 */
+	private static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+
+	/**
+	 * The lookup setting, bound to the linked conversions.
+	 */
+	private static final class Lookup<E> {
+		final boolean ignoreCase;
+		final boolean throwOnMiss;
+		final E missing;
+
+		Lookup(boolean ignoreCase, boolean throwOnMiss, E missing) {
+			this.ignoreCase = ignoreCase;
+			this.throwOnMiss = throwOnMiss;
+			this.missing = missing;
+		}
+	}
+
+}
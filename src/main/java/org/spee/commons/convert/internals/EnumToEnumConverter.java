@@ -0,0 +1,37 @@
+package org.spee.commons.convert.internals;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Set;
+
+import com.google.common.collect.Sets;
+
+/**
+ * Converter between two enum types, to the constant with the same name, by the {@link EnumTable} of the target type.
+ */
+public class EnumToEnumConverter implements InternalConverter {
+
+	private static final Set<TypeKind> KINDS = Sets.immutableEnumSet(TypeKind.ENUM);
+
+	@Override
+	public Set<TypeKind> sourceKinds() {
+		return KINDS;
+	}
+
+	@Override
+	public Set<TypeKind> targetKinds() {
+		return KINDS;
+	}
+
+	@Override
+	public boolean canMap(Class<?> sourceType, Class<?> targetType) {
+		return Enum.class.isAssignableFrom(sourceType) && Enum.class != sourceType && targetType.isEnum()
+				&& EnumTable.enumType(sourceType) != targetType;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Override
+	public MethodHandle getTypeConverter(Class<?> sourceType, Class<?> targetType) {
+		return EnumTable.of((Class) targetType).enumConversion(sourceType);
+	}
+
+}
@@ -2,17 +2,31 @@ package org.spee.commons.convert.internals;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Sets;
 import com.google.common.primitives.Primitives;
 
 public class ImmutableMapper implements InternalConverter {
 
+	private static final Set<TypeKind> KINDS = Sets.immutableEnumSet(TypeKind.PRIMITIVE, TypeKind.WRAPPER, TypeKind.STRING);
+
 	private static final Logger logger = LoggerFactory.getLogger(ImmutableMapper.class);
 	protected static final MethodHandle IDENTITY_CONVERSION = MethodHandles.identity(Object.class);
 	
+	@Override
+	public Set<TypeKind> sourceKinds() {
+		return KINDS;
+	}
+
+	@Override
+	public Set<TypeKind> targetKinds() {
+		return KINDS;
+	}
+
 	@Override
 	public boolean canMap(Class<?> sourceType, Class<?> targetType) {
 		return (sourceType.isPrimitive() && targetType.isPrimitive())
@@ -27,4 +41,12 @@ public class ImmutableMapper implements InternalConverter {
 		return IDENTITY_CONVERSION;
 	}
 
+
+	/**
+	 * @return <code>true</code> if the converter returns the value as it is, so only its type has to be adapted.
+	 */
+	public static boolean isIdentity(MethodHandle converter) {
+		return IDENTITY_CONVERSION == converter;
+	}
+
 }
@@ -1,33 +1,63 @@
 package org.spee.commons.convert.internals;
 
+import static java.lang.invoke.MethodType.methodType;
+
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
-import java.lang.invoke.MethodType;
-import java.lang.reflect.Array;
+import java.util.Objects;
+import java.util.Set;
+
+import com.google.common.collect.Sets;
 
+/**
+ * Converter from the ordinal to the enum constant, by the {@link EnumTable} of the enum type.
+ * Between a wrapper and an enum, <code>null</code> converts to <code>null</code>.
+ */
 public class IntegerToEnumConverterFactory implements InternalConverter {
 
-	
+	private static final Set<TypeKind> SOURCE_KINDS = Sets.immutableEnumSet(TypeKind.PRIMITIVE, TypeKind.NUMBER);
+	private static final Set<TypeKind> TARGET_KINDS = Sets.immutableEnumSet(TypeKind.ENUM);
+
+	private static final MethodHandle IS_NULL;
+	private static final MethodHandle INT_VALUE;
+
+	static {
+		try {
+			final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			IS_NULL = lookup.findStatic(Objects.class, "isNull", methodType(boolean.class, Object.class));
+			INT_VALUE = lookup.findVirtual(Number.class, "intValue", methodType(int.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+
+	@Override
+	public Set<TypeKind> sourceKinds() {
+		return SOURCE_KINDS;
+	}
+
+	@Override
+	public Set<TypeKind> targetKinds() {
+		return TARGET_KINDS;
+	}
+
 	@Override
 	public boolean canMap(Class<?> sourceType, Class<?> targetType) {
-		return (Number.class.isAssignableFrom(sourceType) || sourceType.isPrimitive()) && Enum.class.isAssignableFrom(targetType);
+		return (Number.class.isAssignableFrom(sourceType) || sourceType.isPrimitive()) && targetType.isEnum();
 	}
 
+	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Override
 	public MethodHandle getTypeConverter(Class<?> sourceType, Class<?> targetType) {
-		try {
-			return MethodHandles.insertArguments(
-					MethodHandles.lookup().findStatic(Array.class, "get", MethodType.methodType(Object.class, Object.class, int.class))
-					, 0, (Object)targetType.getEnumConstants());
-		} catch (NoSuchMethodException | IllegalAccessException e) {
-			e.printStackTrace();
+		final MethodHandle conversion = EnumTable.of((Class) targetType).ordinalConversion();
+		if( sourceType.isPrimitive() ){
+			return MethodHandles.explicitCastArguments(conversion, methodType(targetType, sourceType));
 		}
-		return null;
-	}
-	
-	
-	public Object getEnumValue(Class<? super Enum<?>> targetType, int value){
-		return targetType.getEnumConstants()[value];
+		// null stays null
+		return MethodHandles.guardWithTest(IS_NULL.asType(methodType(boolean.class, sourceType)),
+				MethodHandles.dropArguments(MethodHandles.constant(targetType, null), 0, sourceType),
+				MethodHandles.filterArguments(conversion, 0, INT_VALUE.asType(methodType(int.class, sourceType))));
 	}
 	
-}
\ No newline at end of file
+}
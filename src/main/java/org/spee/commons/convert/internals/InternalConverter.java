@@ -1,9 +1,20 @@
 package org.spee.commons.convert.internals;
 
 import java.lang.invoke.MethodHandle;
+import java.util.Set;
 
 public interface InternalConverter {
 
+	/**
+	 * @return The kinds of source types the converter handles. For other types {@link #canMap(Class, Class)} is not called.
+	 */
+	Set<TypeKind> sourceKinds();
+
+	/**
+	 * @return The kinds of target types the converter handles. For other types {@link #canMap(Class, Class)} is not called.
+	 */
+	Set<TypeKind> targetKinds();
+
 	boolean canMap(final Class<?> sourceType, final Class<?> targetType);
 
 	public MethodHandle getTypeConverter(final Class<?> sourceType, final Class<?> targetType);
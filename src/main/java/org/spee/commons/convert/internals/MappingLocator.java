@@ -1,82 +1,440 @@
 package org.spee.commons.convert.internals;
 
+import static java.lang.invoke.MethodType.methodType;
+
 import java.lang.invoke.CallSite;
-import java.lang.invoke.ConstantCallSite;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.invoke.SwitchPoint;
 import java.lang.reflect.Type;
-import java.util.IdentityHashMap;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.spee.commons.utils.MapUtils;
+import org.spee.commons.convert.Converter;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Primitives;
 
 public class MappingLocator {
 
 	private final static Logger logger = LoggerFactory.getLogger(MappingLocator.class);
 	private final static InternalConverter noAvailableConverter = new NoAvailableConverter();
-	private final static List<InternalConverter> interalConverters = new LinkedList<>();
-	private final static Map<Type, Map<Type, MethodHandle>> converters = new IdentityHashMap<>();
+	private final static InternalConverter[] interalConverters = {
+		new PrimitiveConverter(),
+		new CharSequenceNumberConverter(),
+		new ImmutableMapper(),
+		new MethodConverterMapper(),
+		new NumberConverter(),
+		new StringToEnumConverterFactory(),
+		new IntegerToEnumConverterFactory(),
+		new EnumToEnumConverter()
+	};
+	/**
+	 * The {@link TypeKind}s of the internal converters, as masks by index.
+	 */
+	private final static int[] sourceKinds = new int[interalConverters.length];
+	private final static int[] targetKinds = new int[interalConverters.length];
+	/**
+	 * The registered converters by source and target type. Lookups and registrations may run concurrently,
+	 * a lookup only reads and a registration never replaces a converter.
+	 */
+	private final static ConcurrentMap<Type, ConcurrentMap<Type, Conversion>> converters = new ConcurrentHashMap<>();
+
+	/**
+	 * The resolved converters by source and target type, also when there is none. A resolution is valid as long as
+	 * the version is the same, which changes with every registration and setting that is bound at link time.
+	 * Kept by class values of both types, like the converters of the MapperFactory, so they don't keep the class
+	 * loader of either type.
+	 */
+	private final static ClassValue<ClassValue<Resolved>> resolutions = new ClassValue<ClassValue<Resolved>>() {
+		@Override
+		protected ClassValue<Resolved> computeValue(Class<?> sourceType) {
+			return new ClassValue<Resolved>() {
+				@Override
+				protected Resolved computeValue(Class<?> targetType) {
+					return new Resolved();
+				}
+			};
+		}
+	};
+	private final static AtomicInteger version = new AtomicInteger();
+
+	/**
+	 * Guard the linked call sites whose conversion a registration can change, so they link again on their next call:
+	 * the registrations per source type, and any registration for the chains of converters, see {@link Dependency}.
+	 */
+	private final static ClassValue<Registrations> registrations = new ClassValue<Registrations>() {
+		@Override
+		protected Registrations computeValue(Class<?> sourceType) {
+			return new Registrations();
+		}
+	};
+	private final static Registrations anyRegistration = new Registrations();
+	private final static MethodHandle RELINK;
+
+	/**
+	 * The type and its supertypes, from the most specific: breadth first, the superclass before the interfaces in the order
+	 * they are declared, and {@link Object} last. A primitive type has no supertypes.
+	 */
+	private final static ClassValue<List<Class<?>>> supertypes = new ClassValue<List<Class<?>>>() {
+		@Override
+		protected List<Class<?>> computeValue(Class<?> type) {
+			if( type.isPrimitive() ){
+				return Collections.<Class<?>>singletonList(type);
+			}
+			final Set<Class<?>> found = new LinkedHashSet<>();
+			final Deque<Class<?>> next = new ArrayDeque<>();
+			next.add(type);
+			while( !next.isEmpty() ){
+				final Class<?> current = next.poll();
+				if( current == Object.class || !found.add(current) ){
+					continue;
+				}
+				if( current.getSuperclass() != null ){
+					next.add(current.getSuperclass());
+				}
+				next.addAll(Arrays.asList(current.getInterfaces()));
+			}
+			found.add(Object.class);
+			return ImmutableList.copyOf(found);
+		}
+	};
 
 	static{
-		interalConverters.add(new ImmutableMapper());
-		interalConverters.add(new MethodConverterMapper());
-		interalConverters.add(new NumberConverter());
-		interalConverters.add(new StringToEnumConverterFactory());
-		interalConverters.add(new IntegerToEnumConverterFactory());
+		try {
+			RELINK = MethodHandles.lookup().findStatic(MappingLocator.class, "relink", methodType(Object.class, MutableCallSite.class, Object.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+		for (int index = 0; index < interalConverters.length; index++) {
+			sourceKinds[index] = TypeKind.mask(interalConverters[index].sourceKinds());
+			targetKinds[index] = TypeKind.mask(interalConverters[index].targetKinds());
+		}
 	}
 	
 	
+	/**
+	 * Link a conversion call site. The converter is guarded by the {@link SwitchPoint}s of the registrations that can change
+	 * it, which cost nothing while they are valid. After such a converter is registered, the call site links again on its
+	 * next call, so also a call site without converter picks up a converter that is registered later.
+	 */
 	public static CallSite bootstrap(final MethodHandles.Lookup caller, final String name, final MethodType type) throws NoSuchMethodException, IllegalAccessException {
 		logger.trace("bootstrap called for conversion {}", type);
+		final MutableCallSite callSite = new MutableCallSite(type);
+		link(callSite, false);
+		return callSite;
+	}
+
+
+	/**
+	 * @param relinked <code>true</code> if the call site was linked before, and a missing converter is reported already
+	 * @return The new target of the call site
+	 */
+	private static MethodHandle link(final MutableCallSite callSite, final boolean relinked) {
+		final MethodType type = callSite.type();
 		final Class<?> sourceType = type.parameterType(0);
 		final Class<?> targetType = type.returnType();
+		// read before resolving, so a registration in between invalidates the target
+		final SwitchPoint anySwitchPoint = anyRegistration.switchPoint;
+		final List<Class<?>> sourceTypes = supertypes.get(sourceType);
+		final SwitchPoint[] sourceSwitchPoints = new SwitchPoint[sourceTypes.size()];
+		for (int index = 0; index < sourceSwitchPoints.length; index++) {
+			sourceSwitchPoints[index] = registrations.get(sourceTypes.get(index)).switchPoint;
+		}
+		final Conversion conversion = resolveConversion(sourceType, targetType);
+
+		final MethodHandle relink = MethodHandles.insertArguments(RELINK, 0, callSite).asType(type);
+		MethodHandle target;
+		if( conversion == null ){
+			if( relinked ){
+				logger.debug("still no converter found to convert '{}' to '{}'", sourceType, targetType);
+			}else{
+				logger.warn("no converter found to convert '{}' to '{}'", sourceType, targetType);
+			}
+			target = anySwitchPoint.guardWithTest(noAvailableConverter.getTypeConverter(sourceType, targetType).asType(type), relink);
+		}else if( conversion.dependency == Dependency.ANY_REGISTRATION ){
+			target = anySwitchPoint.guardWithTest(conversion.converter.asType(type), relink);
+		}else{
+			target = conversion.converter.asType(type);
+			if( conversion.dependency == Dependency.SOURCE_TYPES ){
+				for (SwitchPoint switchPoint : sourceSwitchPoints) {
+					target = switchPoint.guardWithTest(target, relink);
+				}
+			}
+		}
+		callSite.setTarget(target);
+		return target;
+	}
+
+
+	@SuppressWarnings("unused") // by RELINK
+	private static Object relink(final MutableCallSite callSite, final Object value) throws Throwable {
+		logger.debug("relinking conversion {}", callSite.type());
+		return link(callSite, true).invoke(value);
+	}
+
+
+	/**
+	 * Find the converter for the given types, by the internal converters and the registered converters.
+	 * Without a single converter for the types, the cheapest chain of converters is used, see {@link ConversionGraph}.
+	 * @param sourceType
+	 * @param targetType
+	 * @return The converter, or <code>null</code> if there is none. The type of the handle still has to be adapted to the types.
+	 */
+	public static MethodHandle resolve(final Class<?> sourceType, final Class<?> targetType) {
+		final Conversion conversion = resolveConversion(sourceType, targetType);
+		return conversion == null ? null : conversion.converter;
+	}
+
+
+	private static Conversion resolveConversion(final Class<?> sourceType, final Class<?> targetType) {
+		final Resolved resolved = resolutions.get(sourceType).get(targetType);
+		// read before resolving, so a registration in between makes the resolution invalid
+		final int currentVersion = version.get();
+		final Resolution resolution = resolved.resolution;
+		if( resolution != null && resolution.version == currentVersion ){
+			return resolution.conversion;
+		}
+
+		Conversion conversion = lookupConverter(sourceType, targetType);
+		if( conversion == null ){
+			conversion = ConversionGraph.cheapestChain(sourceType, targetType, converters);
+		}
+		resolved.resolution = new Resolution(conversion, currentVersion);
+		return conversion;
+	}
+
+
+	/**
+	 * Forget the resolved converters, for a setting that is bound when a conversion is resolved. Call sites that are
+	 * already linked keep their conversion.
+	 */
+	public static void invalidate() {
+		version.incrementAndGet();
+	}
+
+
+	/**
+	 * @return The version of the registrations and settings, which changes with every registration and
+	 * {@link #invalidate()}. Code that has resolved conversions built in is valid as long as the version is the same.
+	 */
+	public static int version() {
+		return version.get();
+	}
+
+
+	private static Conversion lookupConverter(final Class<?> sourceType, final Class<?> targetType) {
+		final int sourceKind = TypeKind.of(sourceType);
+		final int targetKind = TypeKind.of(targetType);
 		MethodHandle converter;
-		
-		for (InternalConverter internalConverter : interalConverters) {
-			if( internalConverter.canMap(sourceType, targetType) ){
+
+		for (int index = 0; index < interalConverters.length; index++) {
+			final InternalConverter internalConverter = interalConverters[index];
+			if( (sourceKinds[index] & sourceKind) != 0 && (targetKinds[index] & targetKind) != 0 && internalConverter.canMap(sourceType, targetType) ){
 				converter = internalConverter.getTypeConverter(sourceType, targetType);
 				if( converter != null ){
 					logger.debug("using internal converter");
-					return typedConstantCallSite(converter, type);
+					return new Conversion(converter, Converter.DEFAULT_COST, Dependency.NONE);
 				}
 			}
 		}
-		
-		converter = findConverter(sourceType, targetType);
-		if( converter != null ){
-			return typedConstantCallSite(converter, type);
-		}
-		
-		logger.warn("no converter found to convert '{}' to '{}'", sourceType, targetType);
-		return typedConstantCallSite(noAvailableConverter.getTypeConverter(sourceType, targetType), type);
+
+		return findConverter(sourceType, targetType);
 	}
 
 	
-	private static final CallSite typedConstantCallSite(final MethodHandle methodHandle, final MethodType type){
-		return new ConstantCallSite( methodHandle.asType(type) );
+
+	/**
+	 * Find the registered converter of the most specific types. The source types are the type itself and then its
+	 * {@link #supertypes}, the first one with a converter wins. Of its converters, the one for the target type wins,
+	 * otherwise the one for the closest subtype of the target type, and on the same distance the first by name.
+	 * <p>
+	 * When the source already is of the target type, or the target type is {@link Object}, only a converter
+	 * for exactly the types is used: copying is left to the generated converters.
+	 */
+	private static Conversion findConverter(final Class<?> sourceType, final Class<?> targetType) {
+		final Conversion exact = findExactConverter(sourceType, targetType);
+		if( exact != null || targetType.isAssignableFrom(sourceType) ){
+			return exact;
+		}
+		for (Class<?> type : supertypes.get(sourceType)) {
+			final ConcurrentMap<Type, Conversion> sourceTypeConverters = converters.get(type);
+			if( sourceTypeConverters == null ){
+				continue;
+			}
+			Conversion conversion = converterTo(sourceTypeConverters, targetType);
+			if( conversion == null && targetType != Object.class ){
+				conversion = findSubtypeConverter(sourceTypeConverters, targetType);
+			}
+			if( conversion != null ){
+				return conversion;
+			}
+		}
+		return null;
 	}
-	
 
-	private static MethodHandle findConverter(Type sourceType, Type targetType) {
-		Map<Type, MethodHandle> sourceTypeConverters = MapUtils.putIfAbsent(converters, sourceType, new IdentityHashMap<Type, MethodHandle>());
-		MethodHandle converter = sourceTypeConverters.get(targetType);
-		return converter;
+
+	private static Conversion findExactConverter(final Class<?> sourceType, final Class<?> targetType) {
+		final ConcurrentMap<Type, Conversion> sourceTypeConverters = converters.get(sourceType);
+		return sourceTypeConverters == null ? null : converterTo(sourceTypeConverters, targetType);
 	}
 
 
+	/**
+	 * @return The converter to the type, or for a wrapper type the converter to its primitive type, as boxing does not
+	 * lose the value
+	 */
+	private static Conversion converterTo(final Map<Type, Conversion> sourceTypeConverters, final Class<?> targetType) {
+		final Conversion conversion = sourceTypeConverters.get(targetType);
+		if( conversion == null && Primitives.isWrapperType(targetType) ){
+			return sourceTypeConverters.get(Primitives.unwrap(targetType));
+		}
+		return conversion;
+	}
+
+
+	/**
+	 * @return The converter to the closest subtype of the target type, or <code>null</code> if there is none
+	 */
+	private static Conversion findSubtypeConverter(final ConcurrentMap<Type, Conversion> sourceTypeConverters, final Class<?> targetType) {
+		Class<?> closestType = null;
+		int closestDistance = Integer.MAX_VALUE;
+		for (Type type : sourceTypeConverters.keySet()) {
+			if( !(type instanceof Class) || type == targetType || !targetType.isAssignableFrom((Class<?>) type) ){
+				continue;
+			}
+			final Class<?> subtype = (Class<?>) type;
+			final int distance = supertypes.get(subtype).indexOf(targetType);
+			if( distance < closestDistance || distance == closestDistance && subtype.getName().compareTo(closestType.getName()) < 0 ){
+				closestType = subtype;
+				closestDistance = distance;
+			}
+		}
+		return closestType == null ? null : sourceTypeConverters.get(closestType);
+	}
+
+
+	/**
+	 * Register the converter with the {@link Converter#DEFAULT_COST default cost}.
+	 * @see #register(Class, Class, MethodHandle, int)
+	 */
 	public static void register(Class<?> sourceType, Class<?> targetType, MethodHandle methodHandle) {
-		if( findConverter(sourceType, targetType) == null ){
+		register(sourceType, targetType, methodHandle, Converter.DEFAULT_COST);
+	}
+
+
+	/**
+	 * Register the converter, unless there is one for the types already: the first registration wins, also between threads.
+	 * @param cost The cost of the converter in a chain of converters, see {@link Converter#cost()}
+	 */
+	public static void register(Class<?> sourceType, Class<?> targetType, MethodHandle methodHandle, int cost) {
+		Preconditions.checkArgument(cost > 0, "The cost must be positive: %s", cost);
+		ConcurrentMap<Type, Conversion> sourceTypeConverters = converters.get(sourceType);
+		if( sourceTypeConverters == null ){
+			final ConcurrentMap<Type, Conversion> created = new ConcurrentHashMap<>();
+			sourceTypeConverters = converters.putIfAbsent(sourceType, created);
+			if( sourceTypeConverters == null ){
+				sourceTypeConverters = created;
+			}
+		}
+		if( sourceTypeConverters.putIfAbsent(targetType, new Conversion(methodHandle, cost, Dependency.SOURCE_TYPES)) == null ){
 			logger.debug("registering converter for {} to {}", sourceType, targetType);
-			converters.get(sourceType).put(targetType, methodHandle);
+			invalidate();
+			registrations.get(sourceType).invalidate();
+			anyRegistration.invalidate();
 		}else{
-			logger.warn("There is already a registered converter for {} to {}", sourceType, targetType);
+			logger.debug("There is already a registered converter for {} to {}, keeping it", sourceType, targetType);
 		}
 	}
-    
-	
+
+
+	/**
+	 * The registrations that can change a conversion, and so let its call sites link again.
+	 */
+	enum Dependency {
+		/**
+		 * An internal converter, which wins over the registered converters.
+		 */
+		NONE,
+		/**
+		 * A registered converter, which a registration for the source type or one of its {@link #supertypes} can replace.
+		 */
+		SOURCE_TYPES,
+		/**
+		 * A chain of converters, or no converter at all, which any registration can change.
+		 */
+		ANY_REGISTRATION
+	}
+
+
+	/**
+	 * A converter with its cost.
+	 */
+	static final class Conversion {
+
+		final MethodHandle converter;
+		final int cost;
+		final Dependency dependency;
+
+		Conversion(MethodHandle converter, int cost, Dependency dependency) {
+			this.converter = converter;
+			this.cost = cost;
+			this.dependency = dependency;
+		}
+	}
+
+
+	/**
+	 * The switch point of registrations, replaced by a new one when it is invalidated.
+	 */
+	private static final class Registrations {
+
+		volatile SwitchPoint switchPoint = new SwitchPoint();
+
+		/**
+		 * Let the call sites guarded by the switch point link again. Registrations in parallel must not replace each
+		 * other's switch point, or call sites linked in between would never link again.
+		 */
+		synchronized void invalidate() {
+			final SwitchPoint invalidated = switchPoint;
+			switchPoint = new SwitchPoint();
+			SwitchPoint.invalidateAll(new SwitchPoint[]{ invalidated });
+		}
+	}
+
+
+	private static final class Resolution {
+
+		final Conversion conversion;
+		final int version;
+
+		Resolution(Conversion conversion, int version) {
+			this.conversion = conversion;
+			this.version = version;
+		}
+	}
+
+
+	/**
+	 * The latest resolution of a pair, <code>null</code> until it is resolved.
+	 */
+	private static final class Resolved {
+
+		volatile Resolution resolution;
+	}
+
 }
@@ -9,18 +9,26 @@ import java.lang.invoke.MethodHandles.Lookup;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Sets;
+
 /**
  * Converter that will call a method on the given type to convert.
  * The methods must match:
  * <pre>
  * public NewType asType(){} // like groovy supports
  * public NewType toNewType(){} // like Spring Framework supports
+ * public NewType(Type value){} // a constructor of the target type, taking the source type
  * </pre>
+ * Constructors are only used for values, sources that are a {@link Number} or a {@link CharSequence} other than
+ * {@link String}, like <code>new BigDecimal(BigInteger)</code>. A bean with a constructor that takes another bean
+ * is still converted property by property.
  * 
  * example:
  * <pre>
@@ -36,6 +44,16 @@ import org.slf4j.LoggerFactory;
  */
 public class MethodConverterMapper implements InternalConverter {
 
+	/**
+	 * Only the methods of objects, any type can be returned
+	 */
+	private static final Set<TypeKind> SOURCE_KINDS = Sets.immutableEnumSet(TypeKind.REFERENCE);
+	private static final Set<TypeKind> TARGET_KINDS = Sets.immutableEnumSet(TypeKind.ANY);
+	/**
+	 * The kinds of sources that are converted by a constructor of the target type
+	 */
+	private static final int CONSTRUCTOR_SOURCE_KINDS = TypeKind.mask(EnumSet.of(TypeKind.NUMBER, TypeKind.CHAR_SEQUENCE));
+
 	private static final String METHOD_TO_PREFIX = "to";
 	private static final String METHOD_ASTYPE_PREFIX = "asType";
 
@@ -61,26 +79,49 @@ public class MethodConverterMapper implements InternalConverter {
 				}
 			}
 			
-			for (Constructor<?> constructor : type.getConstructors()) { // copy constructors
-				if( isPublic(constructor.getModifiers()) && constructor.getParameterCount() == 1 ){
+			return foundMethods.isEmpty() ? Collections.<Class<?>, MethodHandle>emptyMap() : Collections.unmodifiableMap(foundMethods);
+		}
+	};
+
+
+	/**
+	 * The public constructors with one parameter of a reference type, by parameter type.
+	 */
+	private static ClassValue<Map<Class<?>, MethodHandle>> classWithConstructors = new ClassValue<Map<Class<?>, MethodHandle>>() {
+
+		protected Map<Class<?>, MethodHandle> computeValue(final java.lang.Class<?> type) {
+			Map<Class<?>, MethodHandle> foundConstructors = new LinkedHashMap<>();
+			final Lookup lookup = MethodHandles.lookup().in(type);
+
+			for (Constructor<?> constructor : type.getConstructors()) {
+				if( isPublic(constructor.getModifiers()) && constructor.getParameterCount() == 1 && !constructor.getParameterTypes()[0].isPrimitive() ){
 					try {
-						if( !foundMethods.containsKey(constructor.getParameterTypes()[0]) ){
-							foundMethods.put(constructor.getParameterTypes()[0], lookup.unreflectConstructor(constructor));
-						}
+						foundConstructors.put(constructor.getParameterTypes()[0], lookup.unreflectConstructor(constructor));
 					} catch (IllegalAccessException e) {
 						LoggerFactory.getLogger(MethodConverterMapper.class).warn("Could not use conversion by constructor on class {}: {}", type, e);
 					}
 				}
 			}
-			
-			return foundMethods.isEmpty() ? Collections.<Class<?>, MethodHandle>emptyMap() : Collections.unmodifiableMap(foundMethods);
+
+			return foundConstructors.isEmpty() ? Collections.<Class<?>, MethodHandle>emptyMap() : Collections.unmodifiableMap(foundConstructors);
 		}
 	};
-	
-	
+
+
+	@Override
+	public Set<TypeKind> sourceKinds() {
+		return SOURCE_KINDS;
+	}
+
+	@Override
+	public Set<TypeKind> targetKinds() {
+		return TARGET_KINDS;
+	}
+
 	@Override
 	public boolean canMap(final Class<?> sourceType, final Class<?> targetType) {
-		return String.class != sourceType && classWithMethods.get(sourceType).containsKey(targetType);
+		return String.class != sourceType
+				&& (classWithMethods.get(sourceType).containsKey(targetType) || byConstructor(sourceType) && classWithConstructors.get(targetType).containsKey(sourceType));
 	}
 
 	/**
@@ -91,7 +132,13 @@ public class MethodConverterMapper implements InternalConverter {
 	 */
 	@Override
 	public MethodHandle getTypeConverter(final Class<?> sourceType, final Class<?> targetType) {
-		return classWithMethods.get(sourceType).get(targetType);
+		final MethodHandle method = classWithMethods.get(sourceType).get(targetType);
+		return method != null || !byConstructor(sourceType) ? method : classWithConstructors.get(targetType).get(sourceType);
+	}
+
+
+	private static boolean byConstructor(Class<?> sourceType) {
+		return (TypeKind.of(sourceType) & CONSTRUCTOR_SOURCE_KINDS) != 0;
 	}
 
 }
@@ -3,9 +3,14 @@ package org.spee.commons.convert.internals;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
 
 public class NoAvailableConverter implements InternalConverter {
 
+	private static final Set<TypeKind> KINDS = ImmutableSet.of();
+
 	static final MethodHandle toExceptionMethodHandle = getConverterNotFoundMethodHandle();
 	
 	private static MethodHandle getConverterNotFoundMethodHandle() {
@@ -18,6 +23,16 @@ public class NoAvailableConverter implements InternalConverter {
 	}
 
 	
+	@Override
+	public Set<TypeKind> sourceKinds() {
+		return KINDS;
+	}
+
+	@Override
+	public Set<TypeKind> targetKinds() {
+		return KINDS;
+	}
+
 	@Override
 	public boolean canMap(Class<?> sourceType, Class<?> targetType) {
 		return false;
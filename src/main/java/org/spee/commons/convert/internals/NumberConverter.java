@@ -1,11 +1,77 @@
 package org.spee.commons.convert.internals;
 
+import static java.lang.invoke.MethodType.methodType;
+
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.util.Objects;
+import java.util.Set;
+
+import org.spee.commons.convert.OverflowPolicy;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import com.google.common.primitives.Primitives;
 
+/**
+ * Converter between numbers, and between numbers and {@link String}.
+ * Numbers are converted by the primitive conversions of the JVM, with unboxing and boxing where needed.
+ * When a conversion can lose the magnitude of the value, like <code>long</code> to <code>int</code>,
+ * the {@link OverflowPolicy} decides what happens. The policy is bound when the conversion is created:
+ * <pre>
+ * WRAP:     (int) value
+ * SATURATE: (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value))
+ * THROW:    Math.toIntExact(value)
+ * </pre>
+ * Between wrappers, <code>null</code> converts to <code>null</code>.
+ */
 public final class NumberConverter implements InternalConverter {
 
+	/**
+	 * Numbers are primitives or wrappers, the other type may be a {@link String}
+	 */
+	private static final Set<TypeKind> KINDS = Sets.immutableEnumSet(TypeKind.PRIMITIVE, TypeKind.WRAPPER, TypeKind.STRING);
+
+	private static final MethodHandle IS_NULL;
+	private static final MethodHandle CHECKED_LONG;
+	private static final MethodHandle SATURATED_LONG;
+	private static final MethodHandle CHECKED_DOUBLE;
+	private static final MethodHandle SATURATED_DOUBLE;
+	private static final MethodHandle CHECKED_FLOAT;
+	private static final MethodHandle SATURATED_FLOAT;
+	private static final MethodHandle TO_STRING;
+
+	/**
+	 * The range of the integral primitives.
+	 */
+	private static final ImmutableMap<Class<?>, long[]> RANGES = ImmutableMap.<Class<?>, long[]>builder()
+			.put(Byte.TYPE, new long[]{ Byte.MIN_VALUE, Byte.MAX_VALUE })
+			.put(Short.TYPE, new long[]{ Short.MIN_VALUE, Short.MAX_VALUE })
+			.put(Character.TYPE, new long[]{ Character.MIN_VALUE, Character.MAX_VALUE })
+			.put(Integer.TYPE, new long[]{ Integer.MIN_VALUE, Integer.MAX_VALUE })
+			.put(Long.TYPE, new long[]{ Long.MIN_VALUE, Long.MAX_VALUE })
+			.build();
+
+	static {
+		try {
+			final MethodHandles.Lookup lookup = MethodHandles.lookup();
+			IS_NULL = lookup.findStatic(Objects.class, "isNull", methodType(boolean.class, Object.class));
+			CHECKED_LONG = lookup.findStatic(NumberConverter.class, "checkedLong", methodType(long.class, long.class, long.class, long.class));
+			SATURATED_LONG = lookup.findStatic(NumberConverter.class, "saturatedLong", methodType(long.class, long.class, long.class, long.class));
+			CHECKED_DOUBLE = lookup.findStatic(NumberConverter.class, "checkedDouble", methodType(double.class, double.class, double.class, double.class));
+			SATURATED_DOUBLE = lookup.findStatic(NumberConverter.class, "saturatedDouble", methodType(double.class, double.class, double.class, double.class));
+			CHECKED_FLOAT = lookup.findStatic(NumberConverter.class, "checkedFloat", methodType(double.class, double.class));
+			SATURATED_FLOAT = lookup.findStatic(NumberConverter.class, "saturatedFloat", methodType(double.class, double.class));
+			TO_STRING = MethodHandles.insertArguments(lookup.findStatic(Objects.class, "toString", methodType(String.class, Object.class, String.class)), 1, (Object) null);
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private static volatile OverflowPolicy overflowPolicy = OverflowPolicy.fromSystemProperty();
+
     private static ClassValue<Boolean> number = new ClassValue<Boolean>() {
 		@Override
 		protected Boolean computeValue(Class<?> type) {
@@ -19,7 +85,7 @@ public final class NumberConverter implements InternalConverter {
 			return Boolean.FALSE;
 		}
 	};
-	
+
 
 	private static ClassValue<MethodHandle> valueOfMethodHandle = new ClassValue<MethodHandle>() {
 		@Override
@@ -27,31 +93,47 @@ public final class NumberConverter implements InternalConverter {
 			try {
 				return MethodHandles.publicLookup().findStatic(type, "valueOf", MethodType.methodType(type, String.class));
 			} catch (NoSuchMethodException | IllegalAccessException e) {
-				e.printStackTrace();
+				throw new IllegalStateException(e);
 			}
-			return null;
 		}
 	};
-    
+
+	@Override
+	public Set<TypeKind> sourceKinds() {
+		return KINDS;
+	}
+
+	@Override
+	public Set<TypeKind> targetKinds() {
+		return KINDS;
+	}
+
 	@Override
 	public boolean canMap(java.lang.Class<?> sourceType, java.lang.Class<?> targetType) {
-		return number.get(sourceType) || number.get(targetType);
+		return number.get(sourceType) ? number.get(targetType) || String.class == targetType
+									: String.class == sourceType && number.get(targetType);
 	}
-	
+
 	@Override
 	public MethodHandle getTypeConverter(final Class<?> sourceType, final Class<?> targetType){
 
 		if( number.get(sourceType) && number.get(targetType) ){
-			return ImmutableMapper.IDENTITY_CONVERSION;
+			return numericConversion(sourceType, targetType, overflowPolicy);
 		}
 
 		if( String.class.isAssignableFrom(targetType) ){
 			// toString
-			try {
-				return MethodHandles.publicLookup().findStatic(String.class, "valueOf", MethodType.methodType(String.class, sourceType));
-			} catch (NoSuchMethodException | IllegalAccessException e) {
-				e.printStackTrace();
+			if( sourceType.isPrimitive() ){
+				// there is no String.valueOf(byte) or (short), they are widened to int
+				final Class<?> valueType = sourceType == Byte.TYPE || sourceType == Short.TYPE ? Integer.TYPE : sourceType;
+				try {
+					return MethodHandles.publicLookup().findStatic(String.class, "valueOf", MethodType.methodType(String.class, valueType))
+							.asType(MethodType.methodType(String.class, sourceType));
+				} catch (NoSuchMethodException | IllegalAccessException e) {
+					throw new IllegalStateException(e);
+				}
 			}
+			return TO_STRING;
 		}
 		if( String.class.isAssignableFrom(sourceType) ){
 			// fromString
@@ -77,5 +159,139 @@ public final class NumberConverter implements InternalConverter {
 		return null;
 	}
 
-	
+
+	/**
+	 * @return The policy for conversions that can overflow.
+	 */
+	public static OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+
+	/**
+	 * Set the policy for conversions that can overflow. Conversions that are already linked keep their policy.
+	 */
+	public static void setOverflowPolicy(OverflowPolicy policy) {
+		overflowPolicy = Preconditions.checkNotNull(policy);
+		MappingLocator.invalidate();
+	}
+
+
+	/**
+	 * The conversion between numeric primitives or their wrappers, typed as <code>(sourceType)targetType</code>.
+	 */
+	static MethodHandle numericConversion(Class<?> sourceType, Class<?> targetType, OverflowPolicy policy) {
+		final Class<?> sourcePrimitive = Primitives.unwrap(sourceType);
+		final Class<?> targetPrimitive = Primitives.unwrap(targetType);
+		MethodHandle conversion = cast(sourcePrimitive, targetPrimitive);
+
+		if( policy != OverflowPolicy.WRAP && !isWidening(sourcePrimitive, targetPrimitive) ){
+			conversion = boundedConversion(sourcePrimitive, targetPrimitive, policy);
+		}
+		conversion = conversion.asType(methodType(targetType, sourceType));
+
+		if( !sourceType.isPrimitive() && !targetType.isPrimitive() ){
+			// null stays null
+			conversion = MethodHandles.guardWithTest(IS_NULL.asType(methodType(boolean.class, sourceType)),
+							MethodHandles.dropArguments(MethodHandles.constant(targetType, null), 0, sourceType),
+							conversion);
+		}
+		return conversion;
+	}
+
+
+	/**
+	 * @return <code>true</code> if every value of the source type fits in the target type. The value can still lose
+	 * precision, like a large <code>long</code> converted to a <code>double</code>.
+	 */
+	public static boolean isWidening(Class<?> sourceType, Class<?> targetType) {
+		if( sourceType == targetType || targetType == Double.TYPE ){
+			return true;
+		}
+		if( targetType == Float.TYPE ){
+			return sourceType != Double.TYPE;
+		}
+		final long[] sourceRange = RANGES.get(sourceType);
+		final long[] targetRange = RANGES.get(targetType);
+		return sourceRange != null && targetRange != null && targetRange[0] <= sourceRange[0] && sourceRange[1] <= targetRange[1];
+	}
+
+
+	/**
+	 * The Java cast between primitives.
+	 */
+	private static MethodHandle cast(Class<?> sourceType, Class<?> targetType) {
+		return MethodHandles.explicitCastArguments(MethodHandles.identity(targetType), methodType(targetType, sourceType));
+	}
+
+
+	/**
+	 * Widen the value to <code>long</code> or <code>double</code>, check or clamp it to the range of the target type
+	 * and cast it to the target type.
+	 */
+	private static MethodHandle boundedConversion(Class<?> sourceType, Class<?> targetType, OverflowPolicy policy) {
+		final boolean floating = sourceType == Float.TYPE || sourceType == Double.TYPE;
+		final Class<?> wideType = floating ? Double.TYPE : Long.TYPE;
+		final MethodHandle bound;
+
+		if( targetType == Float.TYPE ){
+			bound = policy == OverflowPolicy.THROW ? CHECKED_FLOAT : SATURATED_FLOAT;
+		} else {
+			final long[] range = RANGES.get(targetType);
+			if( floating ){
+				// the upper bound is exclusive when checking, as (double) Long.MAX_VALUE is 2^63
+				bound = policy == OverflowPolicy.THROW ? MethodHandles.insertArguments(CHECKED_DOUBLE, 1, (double) range[0], (double) range[1] + 1)
+												: MethodHandles.insertArguments(SATURATED_DOUBLE, 1, (double) range[0], (double) range[1]);
+			} else {
+				bound = MethodHandles.insertArguments(policy == OverflowPolicy.THROW ? CHECKED_LONG : SATURATED_LONG, 1, range[0], range[1]);
+			}
+		}
+		return MethodHandles.filterReturnValue(MethodHandles.filterReturnValue(cast(sourceType, wideType), bound), cast(wideType, targetType));
+	}
+
+
+	@SuppressWarnings("unused")
+	private static long checkedLong(long value, long min, long max) {
+		if( value < min || value > max ){
+			throw new ArithmeticException("Overflow: " + value + " is not in [" + min + ", " + max + "]");
+		}
+		return value;
+	}
+
+
+	@SuppressWarnings("unused")
+	private static long saturatedLong(long value, long min, long max) {
+		return Math.max(min, Math.min(max, value));
+	}
+
+
+	@SuppressWarnings("unused")
+	private static double checkedDouble(double value, double min, double maxExclusive) {
+		if( !(value >= min && value < maxExclusive) ){
+			throw new ArithmeticException("Overflow: " + value + " is not in [" + min + ", " + maxExclusive + ")");
+		}
+		return value;
+	}
+
+
+	@SuppressWarnings("unused")
+	private static double saturatedDouble(double value, double min, double max) {
+		return Double.isNaN(value) ? 0 : Math.max(min, Math.min(max, value));
+	}
+
+
+	@SuppressWarnings("unused")
+	private static double checkedFloat(double value) {
+		if( Math.abs(value) > Float.MAX_VALUE && !Double.isInfinite(value) ){
+			throw new ArithmeticException("Overflow: " + value + " does not fit in a float");
+		}
+		return value;
+	}
+
+
+	@SuppressWarnings("unused")
+	private static double saturatedFloat(double value) {
+		return Double.isInfinite(value) ? value : Math.max(-Float.MAX_VALUE, Math.min(Float.MAX_VALUE, value));
+	}
+
 }
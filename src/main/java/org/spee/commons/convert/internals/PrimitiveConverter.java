@@ -0,0 +1,61 @@
+package org.spee.commons.convert.internals;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.google.common.primitives.Primitives;
+
+/**
+ * Converter between the numeric primitives, and their wrappers when one of the types is a primitive.
+ * The conversion widens or narrows the value, narrowing by the {@link NumberConverter#getOverflowPolicy() overflow policy}:
+ * <pre>
+ * (long) intValue
+ * (int) longValue
+ * </pre>
+ * The handle is typed on the primitives, so converting <code>int</code> to <code>long</code> does not box.
+ * Between two wrappers the value is left to the {@link NumberConverter}.
+ */
+public class PrimitiveConverter implements InternalConverter {
+
+	private static final Set<TypeKind> KINDS = Sets.immutableEnumSet(TypeKind.PRIMITIVE, TypeKind.WRAPPER);
+
+	private static final ImmutableSet<Class<?>> NUMERIC_PRIMITIVES = ImmutableSet.<Class<?>>of(
+			Byte.TYPE, Short.TYPE, Character.TYPE, Integer.TYPE, Long.TYPE, Float.TYPE, Double.TYPE);
+
+
+	@Override
+	public Set<TypeKind> sourceKinds() {
+		return KINDS;
+	}
+
+	@Override
+	public Set<TypeKind> targetKinds() {
+		return KINDS;
+	}
+
+	@Override
+	public boolean canMap(Class<?> sourceType, Class<?> targetType) {
+		return canConvert(sourceType, targetType);
+	}
+
+
+	@Override
+	public MethodHandle getTypeConverter(Class<?> sourceType, Class<?> targetType) {
+		return NumberConverter.numericConversion(sourceType, targetType, NumberConverter.getOverflowPolicy());
+	}
+
+
+	/**
+	 * @return <code>true</code> if the types are different numeric primitives, or one of them is the wrapper of a
+	 * numeric primitive.
+	 */
+	public static boolean canConvert(Class<?> sourceType, Class<?> targetType) {
+		final Class<?> sourcePrimitive = Primitives.unwrap(sourceType);
+		final Class<?> targetPrimitive = Primitives.unwrap(targetType);
+		return (sourceType.isPrimitive() || targetType.isPrimitive()) && sourcePrimitive != targetPrimitive
+				&& NUMERIC_PRIMITIVES.contains(sourcePrimitive) && NUMERIC_PRIMITIVES.contains(targetPrimitive);
+	}
+
+}
@@ -1,29 +1,37 @@
 package org.spee.commons.convert.internals;
 
 import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
-import java.lang.invoke.MethodType;
+import java.util.Set;
 
+import com.google.common.collect.Sets;
+
+/**
+ * Converter from the name to the enum constant, by the {@link EnumTable} of the enum type.
+ */
 public class StringToEnumConverterFactory implements InternalConverter {
 
+	private static final Set<TypeKind> SOURCE_KINDS = Sets.immutableEnumSet(TypeKind.CHAR_SEQUENCE);
+	private static final Set<TypeKind> TARGET_KINDS = Sets.immutableEnumSet(TypeKind.ENUM);
+
+	@Override
+	public Set<TypeKind> sourceKinds() {
+		return SOURCE_KINDS;
+	}
+
+	@Override
+	public Set<TypeKind> targetKinds() {
+		return TARGET_KINDS;
+	}
+
 	@Override
 	public boolean canMap(Class<?> sourceType, Class<?> targetType) {
-		return String.class == sourceType && Enum.class.isAssignableFrom(targetType);
+		return CharSequence.class.isAssignableFrom(sourceType) && targetType.isEnum();
 	}
 
+	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Override
 	public MethodHandle getTypeConverter(Class<?> sourceType, Class<?> targetType) {
-		//	Enum.valueOf(targetType, "value");
-		try {
-			return MethodHandles.insertArguments(
-						MethodHandles.lookup().findStatic(Enum.class, "valueOf", MethodType.methodType(Enum.class, Class.class, String.class))
-						, 0, targetType);
-		} catch (NoSuchMethodException | IllegalAccessException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-
-		return null;
+		return EnumTable.of((Class) targetType).nameConversion(sourceType);
 	}
 	
-}
\ No newline at end of file
+}
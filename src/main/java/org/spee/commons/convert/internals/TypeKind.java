@@ -0,0 +1,79 @@
+package org.spee.commons.convert.internals;
+
+import java.util.Set;
+
+import com.google.common.primitives.Primitives;
+
+/**
+ * The kinds of types an {@link InternalConverter} handles. A type can be of several kinds, {@link Integer} is a
+ * {@link #REFERENCE}, a {@link #WRAPPER} and a {@link #NUMBER}, and every type is of kind {@link #ANY}.
+ * The {@link MappingLocator} only asks the converters that handle the kinds of both types whether they can map them.
+ */
+public enum TypeKind {
+
+	ANY,
+	PRIMITIVE,
+	WRAPPER,
+	NUMBER,
+	CHAR_SEQUENCE,
+	STRING,
+	ENUM,
+	/**
+	 * Every type that is not primitive
+	 */
+	REFERENCE;
+
+	private static final ClassValue<Integer> kinds = new ClassValue<Integer>() {
+		@Override
+		protected Integer computeValue(Class<?> type) {
+			int mask = ANY.mask();
+			if( type.isPrimitive() ){
+				mask |= PRIMITIVE.mask();
+			} else {
+				mask |= REFERENCE.mask();
+			}
+			if( Primitives.isWrapperType(type) && type != Void.class ){
+				mask |= WRAPPER.mask();
+			}
+			if( Number.class.isAssignableFrom(type) ){
+				mask |= NUMBER.mask();
+			}
+			if( CharSequence.class.isAssignableFrom(type) ){
+				mask |= CHAR_SEQUENCE.mask();
+			}
+			if( String.class == type ){
+				mask |= STRING.mask();
+			}
+			if( Enum.class.isAssignableFrom(type) ){
+				mask |= ENUM.mask();
+			}
+			return mask;
+		}
+	};
+
+
+	private int mask() {
+		return 1 << ordinal();
+	}
+
+
+	/**
+	 * @return The kinds of the type, as a bit per kind
+	 */
+	static int of(Class<?> type) {
+		return kinds.get(type);
+	}
+
+
+	/**
+	 * @return The kinds, as a bit per kind
+	 */
+	static int mask(Set<TypeKind> kinds) {
+		int mask = 0;
+		for (TypeKind kind : kinds) {
+			mask |= kind.mask();
+		}
+		return mask;
+	}
+
+}
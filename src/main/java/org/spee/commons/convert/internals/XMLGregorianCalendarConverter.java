@@ -1,74 +1,222 @@
 package org.spee.commons.convert.internals;
 
-import java.lang.ref.WeakReference;
+import static javax.xml.datatype.DatatypeConstants.FIELD_UNDEFINED;
+
+import java.math.BigDecimal;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.GregorianCalendar;
+import java.util.concurrent.TimeUnit;
 
 import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
 
-import org.spee.commons.convert.DefaultConverters;
+import org.spee.commons.convert.Converter;
+import org.spee.commons.convert.TimeConverters;
 
+/**
+ * Converters between {@link XMLGregorianCalendar} and epoch milliseconds, the legacy date types and <code>java.time</code>.
+ * The calendar is created from its fields and converted back from its fields, without a {@link java.util.GregorianCalendar}.
+ * <p>
+ * A calendar is created with the offset of the zone of {@link TimeConverters#getZone()} for an instant, or of the zone of
+ * the {@link Calendar}. A calendar without a timezone is converted to an instant in that zone as well.
+ * Undefined fields default like {@link XMLGregorianCalendar#toGregorianCalendar()}: 1970-01-01T00:00:00.000.
+ */
 public class XMLGregorianCalendarConverter {
 
-	private static WeakReference<DatatypeFactory> threadFactory;
-	
-	private static DatatypeFactory getDatatypeFactory(){
-		DatatypeFactory dtf = (threadFactory == null) ? null : threadFactory.get();
-		if( dtf == null ){
-			try {
-				dtf = DatatypeFactory.newInstance();
-				threadFactory = new WeakReference<DatatypeFactory>(dtf);
-			} catch (DatatypeConfigurationException e) {
-				throw new RuntimeException(e);
-			}
+	private static final long SECONDS_PER_DAY = TimeUnit.DAYS.toSeconds(1);
+	private static final int NANOS_PER_MILLI = 1000000;
+
+	/**
+	 * The factory of the JDK keeps no state, so one instance is shared by all threads.
+	 */
+	private static final DatatypeFactory FACTORY;
+
+	static {
+		try {
+			FACTORY = DatatypeFactory.newInstance();
+		} catch (DatatypeConfigurationException e) {
+			throw new ExceptionInInitializerError(e);
 		}
-		return dtf;
 	}
-	
+
+
 	protected static XMLGregorianCalendar createInstance(){
-		return getDatatypeFactory().newXMLGregorianCalendar();
+		return FACTORY.newXMLGregorianCalendar();
+	}
+
+
+	/**
+	 * @return The calendar for the instant, with the offset of the zone at that instant.
+	 */
+	public static XMLGregorianCalendar toXmlGregorianCalendar(long epochMillis, ZoneId zone){
+		return toXmlGregorianCalendar(OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone));
+	}
+
+	@Converter
+	public static XMLGregorianCalendar CalendarToXmlGregorianCalendarConverter(Calendar s){
+		return s == null ? null : toXmlGregorianCalendar(s.getTimeInMillis(), s.getTimeZone().toZoneId());
+	}
+
+	@Converter
+	public static XMLGregorianCalendar DateToXmlGregorianCalendarConverter(Date s){
+		return s == null ? null : toXmlGregorianCalendar(s.getTime(), TimeConverters.getZone());
+	}
+
+	@Converter
+	public static XMLGregorianCalendar LongToXmlGregorianCalendarConverter(Long s){
+		return s == null ? null : toXmlGregorianCalendar(s, TimeConverters.getZone());
+	}
+
+	@Converter
+	public static XMLGregorianCalendar toXmlGregorianCalendar(Instant s){
+		return s == null ? null : toXmlGregorianCalendar(OffsetDateTime.ofInstant(s, TimeConverters.getZone()));
+	}
+
+	@Converter
+	public static XMLGregorianCalendar toXmlGregorianCalendar(OffsetDateTime s){
+		return s == null ? null : FACTORY.newXMLGregorianCalendar(s.getYear(), s.getMonthValue(), s.getDayOfMonth(),
+				s.getHour(), s.getMinute(), s.getSecond(), s.getNano() / NANOS_PER_MILLI, s.getOffset().getTotalSeconds() / 60);
+	}
+
+	@Converter
+	public static XMLGregorianCalendar toXmlGregorianCalendar(ZonedDateTime s){
+		return s == null ? null : toXmlGregorianCalendar(s.toOffsetDateTime());
+	}
+
+	/**
+	 * Without a timezone.
+	 */
+	@Converter
+	public static XMLGregorianCalendar toXmlGregorianCalendar(LocalDateTime s){
+		return s == null ? null : FACTORY.newXMLGregorianCalendar(s.getYear(), s.getMonthValue(), s.getDayOfMonth(),
+				s.getHour(), s.getMinute(), s.getSecond(), s.getNano() / NANOS_PER_MILLI, FIELD_UNDEFINED);
 	}
 
-    public static XMLGregorianCalendar CalendarToXmlGregorianCalendarConverter(Calendar s){
-		if( GregorianCalendar.class.isAssignableFrom(s.getClass()) ){
-			return getDatatypeFactory().newXMLGregorianCalendar( (GregorianCalendar)s );
+	/**
+	 * Only the date, without a timezone.
+	 */
+	@Converter
+	public static XMLGregorianCalendar toXmlGregorianCalendar(LocalDate s){
+		return s == null ? null : FACTORY.newXMLGregorianCalendarDate(s.getYear(), s.getMonthValue(), s.getDayOfMonth(), FIELD_UNDEFINED);
+	}
+
+
+	/**
+	 * @return The milliseconds since the epoch of the calendar.
+	 */
+	public static long toEpochMillis(XMLGregorianCalendar s){
+		final int millis = s.getMillisecond();
+		return TimeUnit.SECONDS.toMillis(toEpochSecond(s)) + (millis == FIELD_UNDEFINED ? 0 : millis);
+	}
+
+	@Converter
+	public static Long toLong(XMLGregorianCalendar s){
+		return s == null ? null : toEpochMillis(s);
+	}
+
+	@Converter
+	public static Date toDate(XMLGregorianCalendar s){
+		return s == null ? null : new Date(toEpochMillis(s));
+	}
+
+	@Converter
+	public static java.sql.Date XmlGregorianCalendarToSqlDateConverter(XMLGregorianCalendar s){
+		return s == null ? null : new java.sql.Date(toEpochMillis(s));
+	}
+
+	@Converter
+	public static Time XmlGregorianCalendarToTimeConverter(XMLGregorianCalendar s){
+		return s == null ? null : new Time(toEpochMillis(s));
+	}
+
+	@Converter
+	public static Timestamp XmlGregorianCalendarToTimestampConverter(XMLGregorianCalendar s){
+		if( s == null ){
+			return null;
 		}
-		
-		GregorianCalendar cal = new GregorianCalendar();
-		cal.setTime(s.getTime());
-	      	cal.setTimeZone(s.getTimeZone());
-		
-		XMLGregorianCalendar gregorianCalendar = createInstance();
-		return gregorianCalendar;
-    }
-    
-    public static XMLGregorianCalendar DateToXmlGregorianCalendarConverter(Date s){
-		GregorianCalendar calendar = new GregorianCalendar();
-		calendar.setTime(s);
-		return getDatatypeFactory().newXMLGregorianCalendar(calendar);
-    }
-    
-    public static XMLGregorianCalendar LongToXmlGregorianCalendarConverter(Long s){
-		GregorianCalendar calendar = new GregorianCalendar();
-		calendar.setTimeInMillis(s);
-		return getDatatypeFactory().newXMLGregorianCalendar(calendar);
-    }
-
-    public static java.sql.Date XmlGregorianCalendarToSqlDateConverter(XMLGregorianCalendar s){
-    	return s == null ? null : DefaultConverters.toSqlDate(s.toGregorianCalendar());
-    }
-
-    public static Time XmlGregorianCalendarToTimeConverter(XMLGregorianCalendar s){
-    	return s == null ? null : DefaultConverters.toTime(s.toGregorianCalendar());
-    }
-
-    public static Timestamp XmlGregorianCalendarToTimestampConverter(XMLGregorianCalendar s){
-    	return s == null ? null : new Timestamp(s.toGregorianCalendar().getTimeInMillis());
-    }
-	
+		final Timestamp timestamp = new Timestamp(TimeUnit.SECONDS.toMillis(toEpochSecond(s)));
+		timestamp.setNanos(nanos(s));
+		return timestamp;
+	}
+
+	@Converter
+	public static Instant toInstant(XMLGregorianCalendar s){
+		return s == null ? null : Instant.ofEpochSecond(toEpochSecond(s), nanos(s));
+	}
+
+	/**
+	 * A calendar without a timezone gets the offset of the zone of {@link TimeConverters#getZone()}.
+	 */
+	@Converter
+	public static OffsetDateTime toOffsetDateTime(XMLGregorianCalendar s){
+		if( s == null ){
+			return null;
+		}
+		final LocalDateTime local = toLocalDateTime(s);
+		return s.getTimezone() == FIELD_UNDEFINED
+				? local.atZone(TimeConverters.getZone()).toOffsetDateTime()
+				: OffsetDateTime.of(local, ZoneOffset.ofTotalSeconds(s.getTimezone() * 60));
+	}
+
+	/**
+	 * The fields of the calendar, ignoring its timezone.
+	 */
+	@Converter
+	public static LocalDateTime toLocalDateTime(XMLGregorianCalendar s){
+		return s == null ? null : LocalDateTime.ofEpochSecond(toLocalSecond(s), nanos(s), ZoneOffset.UTC);
+	}
+
+	/**
+	 * The date of the calendar, ignoring its time and timezone.
+	 */
+	@Converter
+	public static LocalDate toLocalDate(XMLGregorianCalendar s){
+		return s == null ? null : LocalDate.of(field(s.getYear(), 1970), field(s.getMonth(), 1), field(s.getDay(), 1));
+	}
+
+
+	/**
+	 * The seconds since the epoch, by the timezone of the calendar or else by the zone of {@link TimeConverters#getZone()}.
+	 */
+	private static long toEpochSecond(XMLGregorianCalendar s) {
+		final long localSecond = toLocalSecond(s);
+		final int timezone = s.getTimezone();
+		if( timezone != FIELD_UNDEFINED ){
+			return localSecond - timezone * 60L;
+		}
+		final LocalDateTime local = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+		return localSecond - TimeConverters.getZone().getRules().getOffset(local).getTotalSeconds();
+	}
+
+
+	/**
+	 * The seconds since the epoch of the fields, as if they were in UTC. Time fields out of their range, like the hour
+	 * 24 or a leap second, carry over to the next minute, hour or day.
+	 */
+	private static long toLocalSecond(XMLGregorianCalendar s) {
+		final long epochDay = LocalDate.of(field(s.getYear(), 1970), field(s.getMonth(), 1), field(s.getDay(), 1)).toEpochDay();
+		return epochDay * SECONDS_PER_DAY + field(s.getHour(), 0) * 3600L + field(s.getMinute(), 0) * 60L + field(s.getSecond(), 0);
+	}
+
+
+	private static int nanos(XMLGregorianCalendar s) {
+		final BigDecimal fraction = s.getFractionalSecond();
+		return fraction == null ? 0 : fraction.movePointRight(9).intValue();
+	}
+
+
+	private static int field(int value, int undefined) {
+		return value == FIELD_UNDEFINED ? undefined : value;
+	}
+
 }
@@ -0,0 +1,118 @@
+package org.spee.commons.convert;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.junit.Test;
+import org.spee.commons.convert.internals.ByteArrayPool;
+
+public class ByteBufferConvertersTest {
+
+	@Test
+	public void testByteArraySlice() {
+		final byte[] array = { 0, 1, 2, 3, 4, 5, 6, 7 };
+		assertSame(array, DefaultConverters.toByteArray(ByteBuffer.wrap(array)));
+
+		final ByteBuffer window = ByteBuffer.wrap(array, 2, 3);
+		assertArrayEquals(new byte[]{ 2, 3, 4 }, DefaultConverters.toByteArray(window));
+		assertEquals(2, window.position());
+
+		final ByteBuffer slice = window.slice();
+		slice.position(1);
+		assertArrayEquals(new byte[]{ 3, 4 }, DefaultConverters.toByteArray(slice));
+		assertArrayEquals(new byte[]{ 2, 3, 4 }, DefaultConverters.toByteArray(window.asReadOnlyBuffer()));
+
+		final ByteBuffer direct = ByteBuffer.allocateDirect(4);
+		direct.put(new byte[]{ 9, 8, 7, 6 }).flip().position(1);
+		assertArrayEquals(new byte[]{ 8, 7, 6 }, DefaultConverters.toByteArray(direct));
+		assertNull(DefaultConverters.toByteArray(null));
+	}
+
+
+	@Test
+	public void testUUID() {
+		final UUID uuid = UUID.randomUUID();
+		final ByteBuffer heap = ByteBufferConverters.toByteBuffer(uuid);
+		assertEquals(16, heap.remaining());
+		assertEquals(uuid, ByteBufferConverters.toUUID(heap));
+
+		final ByteBuffer direct = ByteBuffer.allocateDirect(20).order(ByteOrder.LITTLE_ENDIAN);
+		direct.position(4);
+		ByteBufferConverters.put(direct, uuid).flip().position(4);
+		assertEquals(ByteOrder.LITTLE_ENDIAN, direct.order());
+		assertEquals(uuid, ByteBufferConverters.toUUID(direct));
+		assertArrayEquals(heap.array(), DefaultConverters.toByteArray(direct));
+	}
+
+
+	@Test
+	public void testString() {
+		final String text = "Gr\u00fc\u00dfe \u20ac";
+		final ByteBuffer utf8 = ByteBufferConverters.toByteBuffer(text);
+		assertEquals(text, ByteBufferConverters.toString(utf8));
+
+		final ByteBuffer latin1 = ByteBuffer.allocateDirect(16);
+		latin1.put((byte) '>').put("Gr\u00fc\u00dfe".getBytes(StandardCharsets.ISO_8859_1)).flip().position(1);
+		assertEquals("Gr\u00fc\u00dfe", ByteBufferConverters.toString(latin1, StandardCharsets.ISO_8859_1));
+		assertEquals(1, latin1.position());
+
+		final byte[] large = new byte[ByteArrayPool.MAX_POOLED_LENGTH + 1];
+		java.util.Arrays.fill(large, (byte) 'x');
+		final ByteBuffer direct = ByteBuffer.allocateDirect(large.length);
+		direct.put(large).flip();
+		assertEquals(new String(large, StandardCharsets.US_ASCII), ByteBufferConverters.toString(direct));
+	}
+
+
+	@Test
+	public void testPrimitiveArrays() {
+		final int[] ints = { 1, -1, Integer.MAX_VALUE };
+		assertArrayEquals(ints, ByteBufferConverters.toIntArray(ByteBufferConverters.toByteBuffer(ints)));
+		final long[] longs = { 1L, Long.MIN_VALUE };
+		assertArrayEquals(longs, ByteBufferConverters.toLongArray(ByteBufferConverters.toByteBuffer(longs)));
+		final short[] shorts = { 1, Short.MIN_VALUE };
+		assertArrayEquals(shorts, ByteBufferConverters.toShortArray(ByteBufferConverters.toByteBuffer(shorts)));
+		final double[] doubles = { 0.5, Double.NaN };
+		assertArrayEquals(doubles, ByteBufferConverters.toDoubleArray(ByteBufferConverters.toByteBuffer(doubles)), 0);
+		final float[] floats = { 0.5f, -1f };
+		assertArrayEquals(floats, ByteBufferConverters.toFloatArray(ByteBufferConverters.toByteBuffer(floats)), 0);
+
+		final ByteBuffer direct = ByteBuffer.allocateDirect(2 + ints.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+		direct.position(2);
+		assertEquals(direct.capacity(), ByteBufferConverters.put(direct, ints).position());
+		direct.position(2);
+		assertArrayEquals(ints, ByteBufferConverters.toIntArray(direct));
+		assertEquals(2, direct.position());
+		assertEquals(1, direct.get(2));
+	}
+
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPartialValue() {
+		ByteBufferConverters.toLongArray(ByteBuffer.allocate(12));
+	}
+
+
+	@Test
+	public void testPool() {
+		final byte[] bytes = ByteArrayPool.acquire(100);
+		assertEquals(128, bytes.length);
+		ByteArrayPool.release(bytes);
+		assertSame(bytes, ByteArrayPool.acquire(65));
+		assertNotSame(bytes, ByteArrayPool.acquire(65));
+		assertEquals(64, ByteArrayPool.acquire(0).length);
+	}
+
+
+	@Test
+	public void testRegistered() {
+		final UUID uuid = UUID.randomUUID();
+		assertEquals(uuid, MapperFactory.getConverter(ByteBuffer.class, UUID.class).convert(MapperFactory.getConverter(UUID.class, ByteBuffer.class).convert(uuid)));
+		assertEquals("text", MapperFactory.getConverter(ByteBuffer.class, String.class).convert(ByteBuffer.wrap("text".getBytes(StandardCharsets.UTF_8))));
+	}
+
+}
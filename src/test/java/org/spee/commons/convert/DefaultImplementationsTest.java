@@ -2,6 +2,8 @@ package org.spee.commons.convert;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -17,6 +19,13 @@ public class DefaultImplementationsTest {
 		Assert.assertNotNull( DefaultImplementations.getImplementationFor(Set.class) );
 	}
 
+	@Test
+	public void testGetImplementationFor_list() {
+		Assert.assertTrue( DefaultImplementations.getImplementationFor(List.class) instanceof LinkedList );
+		Assert.assertTrue( DefaultImplementations.getImplementationFor(Collection.class) instanceof LinkedList );
+		Assert.assertTrue( DefaultImplementations.getImplementationFor(Iterable.class) instanceof LinkedList );
+	}
+
 	@Test(expected=IllegalArgumentException.class)
 	public void testGetImplementationFor_class() {
 		Assert.assertNotNull( DefaultImplementations.getImplementationFor(ArrayList.class) );
@@ -0,0 +1,84 @@
+package org.spee.commons.convert;
+
+import static org.junit.Assert.*;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+
+import org.junit.Test;
+
+public class InetAddressParserTest {
+
+	private static final String[] LITERALS = { "0.0.0.0", "127.0.0.1", "255.255.255.255", "192.168.001.010",
+			"::", "::1", "1::", "2001:db8::8a2e:370:7334", "2001:0db8:0000:0000:0000:ff00:0042:8329", "fe80::1:2",
+			"1:2:3:4:5:6:7:8", "::ffff:192.168.0.1", "64:ff9b::10.0.0.1", "1:2:3:4:5:6:1.2.3.4", "ABCD:EF01::" };
+
+	private static final String[] INVALID = { "", "localhost", "example.com", "1.2.3", "1.2.3.4.5", "256.0.0.1", "1.2.3.4.",
+			"1..2.3", "1234.1.1.1", ":", ":::", "1:", ":1", "1::2::3", "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7::8", "12345::",
+			"::g", "1:2:3:4:5:6:7:1.2.3.4", "::1.2.3", "fe80::1%", "fe80::1%eth0", "1.2.3.4%1" };
+
+
+	@Test
+	public void testSameAsInetAddress() throws Exception {
+		for (String literal : LITERALS) {
+			final InetAddress expected = InetAddress.getByName(literal);
+			assertTrue(literal, InetAddressParser.isLiteral(literal));
+			assertEquals(literal, expected, InetAddressParser.parseInetAddress(literal));
+			assertArrayEquals(literal, expected.getAddress(), InetAddressParser.parseInetAddress(new StringBuilder(literal)).getAddress());
+		}
+	}
+
+
+	@Test
+	public void testInvalid() {
+		for (String text : INVALID) {
+			assertFalse(text, InetAddressParser.isLiteral(text));
+			try {
+				InetAddressParser.parseInetAddress(text);
+				fail(text);
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+		}
+	}
+
+
+	@Test
+	public void testTypes() {
+		assertTrue(InetAddressParser.parseInetAddress("::ffff:10.0.0.1") instanceof Inet4Address);
+		final Inet6Address mapped = InetAddressParser.parseInet6Address("::ffff:10.0.0.1");
+		assertArrayEquals(new byte[]{ 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, (byte) 0xff, (byte) 0xff, 10, 0, 0, 1 }, mapped.getAddress());
+
+		assertEquals(3, InetAddressParser.parseInet6Address("fe80::1%3").getScopeId());
+		assertEquals(3, ((Inet6Address) InetAddressParser.parseInetAddress("fe80::1%3")).getScopeId());
+		assertArrayEquals(new byte[]{ 10, 0, 0, 1 }, InetAddressParser.parseAddress("10.0.0.1"));
+	}
+
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoIpv6AsIpv4() {
+		InetAddressParser.parseInet4Address("::1");
+	}
+
+
+	@Test
+	public void testDefaultConverters() {
+		assertEquals("10.0.0.1", DefaultConverters.toInet4Address("10.0.0.1").getHostAddress());
+		assertNull(DefaultConverters.toInetAddress((String) null));
+		try {
+			DefaultConverters.toInetAddress("no-such-host.invalid");
+			fail();
+		} catch (IllegalArgumentException e) {
+			// rejected without a lookup
+		}
+	}
+
+
+	@Test
+	public void testResolvingConverter() {
+		final ResolvingInetAddressConverter converter = new ResolvingInetAddressConverter();
+		assertEquals("10.0.0.1", converter.reverse().convert(converter.convert("10.0.0.1")));
+	}
+
+}
@@ -2,8 +2,17 @@ package org.spee.commons.convert;
 
 import static org.junit.Assert.*;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Test;
 import org.slf4j.LoggerFactory;
+import org.spee.commons.convert.generator.TieredConverter;
 
 public class MapperFactoryTest {
 
@@ -15,6 +24,105 @@ public class MapperFactoryTest {
 		
 	}
 
+
+	@Test
+	public void testGetConverterReturnsSharedInstance() {
+		Convert<String, Integer> converter = MapperFactory.getConverter(String.class, Integer.class);
+
+		assertSame(converter, MapperFactory.getConverter(String.class, Integer.class));
+		assertEquals(Integer.valueOf(12), converter.convert("12"));
+	}
+
+
+	@Test
+	public void testGetPrimitiveConverter() {
+		IntToLongConvert widening = MapperFactory.getPrimitiveConverter(Integer.TYPE, Long.TYPE);
+		LongToIntConvert narrowing = MapperFactory.getPrimitiveConverter(Long.TYPE, Integer.TYPE);
+		ToIntConvert<String> parser = MapperFactory.getPrimitiveConverter(String.class, Integer.TYPE);
+		DoubleConvert<BigDecimal> decimal = MapperFactory.getPrimitiveConverter(Double.TYPE, BigDecimal.class);
+
+		assertEquals(5L, widening.convert(5));
+		assertEquals(7, narrowing.convert((1L << 33) + 7));
+		assertEquals(42, parser.convert("42"));
+		assertEquals(new BigDecimal("1.5"), decimal.convert(1.5));
+		assertSame(widening, MapperFactory.getPrimitiveConverter(Integer.TYPE, Long.TYPE));
+	}
+
+
+	@Test
+	public void testChainOfConverters() {
+		// toLong(String) and toDate(Long)
+		assertEquals(new Date(1000), MapperFactory.getConverter(String.class, Date.class).convert("1000"));
+	}
+
+
+	@Test
+	public void testConverterOfSupertype() {
+		// toDate(Calendar) and toString(Object)
+		final GregorianCalendar calendar = new GregorianCalendar();
+		assertEquals(calendar.getTime(), MapperFactory.getConverter(GregorianCalendar.class, Date.class).convert(calendar));
+		assertEquals("de_DE", MapperFactory.getConverter(Locale.class, String.class).convert(Locale.GERMANY));
+	}
+
+
+	@Test
+	public void testPreload() {
+		WarmupPlan plan = MapperFactory.preload(Arrays.asList(TypePair.of(String.class, Long.class), TypePair.of(String.class, Double.class)));
+
+		assertTrue(plan.isComplete());
+		assertTrue(plan.getFailures().isEmpty());
+		assertEquals(Long.valueOf(3), MapperFactory.getConverter(String.class, Long.class).convert("3"));
+	}
+
+
+	@Test
+	public void testPreloadGeneratesBeanConverters() {
+		WarmupPlan plan = MapperFactory.preload(Arrays.asList(TypePair.of(Order.class, OrderDto.class)));
+		assertTrue(plan.getFailures().isEmpty());
+
+		// generated right away, not after the compile threshold
+		Convert<Order, OrderDto> converter = MapperFactory.getConverter(Order.class, OrderDto.class);
+		assertTrue(((TieredConverter<Order, OrderDto>) converter).isCompiled());
+		assertTrue(((TieredConverter<Item, ItemDto>) MapperFactory.getConverter(Item.class, ItemDto.class)).isCompiled());
+
+		Order order = new Order();
+		order.setItem(new Item());
+		order.getItem().setName("item");
+		assertEquals("item", converter.convert(order).getItem().getName());
+	}
+
+	@Test
+	public void testPreloadReportsConversionsWithoutConverter() {
+		MapperFactory.register(SerialConverters.class);
+		WarmupPlan plan = MapperFactory.preload(Arrays.asList(TypePair.of(Ticket.class, TicketDto.class)));
+
+		assertEquals(1, plan.getFailures().size());
+		assertTrue(plan.getFailures().containsKey(TypePair.of(UUID.class, Locale.class)));
+		assertTrue(((TieredConverter<Ticket, TicketDto>) MapperFactory.getConverter(Ticket.class, TicketDto.class)).isCompiled());
+		// linked without converting
+		assertEquals(0, SerialConverters.calls.get());
+	}
+
+	@Test
+	public void testRegisterAfterBeanConverter() {
+		final Convert<Parcel, ParcelDto> converter = MapperFactory.getConverter(Parcel.class, ParcelDto.class);
+		assertTrue(((TieredConverter<Parcel, ParcelDto>) converter).compileNow());
+		final Parcel parcel = new Parcel();
+		parcel.setSender(new Sender());
+		parcel.getSender().setName("name");
+		// property by property
+		assertEquals("name", converter.convert(parcel).getSender().getName());
+
+		MapperFactory.register(SenderConverters.class);
+		final Convert<Parcel, ParcelDto> registered = MapperFactory.getConverter(Parcel.class, ParcelDto.class);
+		assertNotSame(converter, registered);
+		assertSame(registered, MapperFactory.getConverter(Parcel.class, ParcelDto.class));
+		assertEquals("to name", registered.convert(parcel).getSender().getName());
+		assertTrue(((TieredConverter<Parcel, ParcelDto>) registered).compileNow());
+		assertEquals("to name", registered.convert(parcel).getSender().getName());
+		assertEquals("to name", MapperFactory.getConverter(Sender.class, Label.class).convert(parcel.getSender()).getName());
+	}
+
 	
 	public void convert(Object a, Object b) {
 		try {
@@ -24,5 +132,102 @@ public class MapperFactoryTest {
 			throw e;
 		}
 	}
-	
+
+
+	public static class Order {
+		private Item item;
+		public Item getItem() { return item; }
+		public void setItem(Item item) { this.item = item; }
+	}
+
+	public static class OrderDto {
+		private ItemDto item;
+		public ItemDto getItem() { return item; }
+		public void setItem(ItemDto item) { this.item = item; }
+	}
+
+	public static class Item {
+		private String name;
+		public String getName() { return name; }
+		public void setName(String name) { this.name = name; }
+	}
+
+	public static class ItemDto {
+		private String name;
+		public String getName() { return name; }
+		public void setName(String name) { this.name = name; }
+	}
+
+	public static class Parcel {
+		private Sender sender;
+		public Sender getSender() { return sender; }
+		public void setSender(Sender sender) { this.sender = sender; }
+	}
+
+	public static class ParcelDto {
+		private Label sender;
+		public Label getSender() { return sender; }
+		public void setSender(Label sender) { this.sender = sender; }
+	}
+
+	public static class Sender {
+		private String name;
+		public String getName() { return name; }
+		public void setName(String name) { this.name = name; }
+	}
+
+	public static class Label {
+		private String name;
+		public String getName() { return name; }
+		public void setName(String name) { this.name = name; }
+	}
+
+	public static class Ticket {
+		private Integer count;
+		private UUID tag;
+		private Long serial;
+		public Integer getCount() { return count; }
+		public void setCount(Integer count) { this.count = count; }
+		public UUID getTag() { return tag; }
+		public void setTag(UUID tag) { this.tag = tag; }
+		public Long getSerial() { return serial; }
+		public void setSerial(Long serial) { this.serial = serial; }
+	}
+
+	public static class TicketDto {
+		private int count;
+		private Locale tag;
+		private Serial serial;
+		public int getCount() { return count; }
+		public void setCount(int count) { this.count = count; }
+		public Locale getTag() { return tag; }
+		public void setTag(Locale tag) { this.tag = tag; }
+		public Serial getSerial() { return serial; }
+		public void setSerial(Serial serial) { this.serial = serial; }
+	}
+
+	public static class Serial {
+		final long value;
+		Serial(long value) { this.value = value; }
+	}
+
+	public static class SerialConverters {
+		static final AtomicInteger calls = new AtomicInteger();
+
+		@Converter
+		public static Serial toSerial(Long value) {
+			calls.incrementAndGet();
+			return new Serial(value);
+		}
+	}
+
+	public static class SenderConverters {
+		@Converter
+		public static Label toLabel(Sender sender) {
+			final Label label = new Label();
+			label.setName("to " + sender.getName());
+			return label;
+		}
+	}
+
 }
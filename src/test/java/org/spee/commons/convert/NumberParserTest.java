@@ -0,0 +1,102 @@
+package org.spee.commons.convert;
+
+import static java.lang.invoke.MethodType.methodType;
+import static org.junit.Assert.*;
+
+import java.lang.invoke.MethodHandle;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.spee.commons.convert.internals.MappingLocator;
+
+public class NumberParserTest {
+
+	@Test
+	public void testParseInt() {
+		for (String text : new String[]{ "0", "-0", "+7", "42", "-42", "2147483647", "-2147483648", "000123" }) {
+			final int expected = Integer.parseInt(text);
+			assertEquals(text, expected, NumberParser.parseInt(text));
+			assertEquals(text, expected, NumberParser.parseInt(new StringBuilder(text)));
+			assertEquals(text, expected, NumberParser.parseInt(("[" + text + "]").toCharArray(), 1, text.length()));
+			assertEquals(text, expected, NumberParser.parseInt(("[" + text + "]").getBytes(StandardCharsets.US_ASCII), 1, text.length()));
+		}
+	}
+
+
+	@Test
+	public void testParseLong() {
+		for (String text : new String[]{ "0", "-1", "9223372036854775807", "-9223372036854775808", "2147483648" }) {
+			final long expected = Long.parseLong(text);
+			assertEquals(text, expected, NumberParser.parseLong(text));
+			assertEquals(text, expected, NumberParser.parseLong(CharBuffer.wrap(text)));
+			assertEquals(text, expected, NumberParser.parseLong(text.toCharArray(), 0, text.length()));
+			assertEquals(text, expected, NumberParser.parseLong(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII))));
+		}
+	}
+
+
+	@Test
+	public void testInvalidIntegers() {
+		for (String text : new String[]{ "", "-", "+", "1a", " 1", "1.0", "2147483648", "-2147483649" }) {
+			try {
+				NumberParser.parseInt(text);
+				fail(text);
+			} catch (NumberFormatException e) {
+				assertEquals("For input string: \"" + text + "\"", e.getMessage());
+			}
+		}
+		try {
+			NumberParser.parseLong("9223372036854775808");
+			fail();
+		} catch (NumberFormatException e) {
+			// expected
+		}
+	}
+
+
+	@Test
+	public void testParseDouble() {
+		for (String text : new String[]{ "0", "-0.0", "1", "1.5", "-3.25", ".5", "5.", "0.1", "123456.789", "1e10", "2.5E-3",
+				"1e-22", "9007199254740993", "1.7976931348623157E308", "4.9E-324", "1e400", "NaN", "-Infinity", "0x1p3", "1d", " 2 " }) {
+			final double expected = Double.parseDouble(text);
+			assertEquals(text, Double.doubleToLongBits(expected), Double.doubleToLongBits(NumberParser.parseDouble(text)));
+			assertEquals(text, Double.doubleToLongBits(expected), Double.doubleToLongBits(NumberParser.parseDouble(text.getBytes(StandardCharsets.US_ASCII), 0, text.length())));
+		}
+	}
+
+
+	@Test(expected = NumberFormatException.class)
+	public void testInvalidDouble() {
+		NumberParser.parseDouble("1.2.3");
+	}
+
+
+	@Test
+	public void testBufferPositionIsKept() {
+		final ByteBuffer buffer = ByteBuffer.wrap("id=12345".getBytes(StandardCharsets.US_ASCII));
+		buffer.position(3);
+		assertEquals(12345, NumberParser.parseInt(buffer));
+		assertEquals(3, buffer.position());
+
+		final ByteBuffer direct = ByteBuffer.allocateDirect(8);
+		direct.put("-1.25".getBytes(StandardCharsets.US_ASCII)).flip();
+		assertEquals(-1.25, NumberParser.parseDouble(direct), 0);
+	}
+
+
+	@Test
+	public void testResolveCharSequence() throws Throwable {
+		final MethodHandle toInt = MappingLocator.resolve(StringBuilder.class, Integer.TYPE).asType(methodType(int.class, StringBuilder.class));
+		assertEquals(-17, (int) toInt.invokeExact(new StringBuilder("-17")));
+
+		final MethodHandle toLong = MappingLocator.resolve(String.class, Long.TYPE).asType(methodType(long.class, String.class));
+		assertEquals(1L << 40, (long) toLong.invokeExact(String.valueOf(1L << 40)));
+
+		final MethodHandle toDouble = MappingLocator.resolve(CharSequence.class, Double.class).asType(methodType(Double.class, CharSequence.class));
+		assertEquals(Double.valueOf(0.5), (Double) toDouble.invokeExact((CharSequence) "0.5"));
+		assertNull((Double) toDouble.invokeExact((CharSequence) null));
+	}
+
+}
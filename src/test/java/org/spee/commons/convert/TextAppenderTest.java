@@ -0,0 +1,116 @@
+package org.spee.commons.convert;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.CharBuffer;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class TextAppenderTest {
+
+	private enum Color { RED }
+
+
+	@Test
+	public void testNumbers() throws IOException {
+		final StringWriter writer = new StringWriter();
+		TextAppender.append(writer, Integer.MIN_VALUE);
+		TextAppender.append(writer.append(';'), Long.MAX_VALUE);
+		TextAppender.append(writer.append(';'), 0.1);
+		TextAppender.append(writer.append(';'), 1.5f);
+		TextAppender.append(writer.append(';'), (Number) Short.valueOf((short) -3));
+		TextAppender.append(writer.append(';'), new BigDecimal("1.50"));
+		assertEquals("-2147483648;9223372036854775807;0.1;1.5;-3;1.50", writer.toString());
+
+		assertEquals("42", TextAppender.append(new StringBuilder(), 42).toString());
+	}
+
+
+	@Test
+	public void testUuid() throws IOException {
+		for (UUID uuid : new UUID[]{ UUID.randomUUID(), new UUID(0, 0), new UUID(-1, -1), UUID.fromString("123e4567-e89b-12d3-a456-426655440000") }) {
+			assertEquals(uuid.toString(), TextAppender.append(new StringBuilder(), uuid).toString());
+			assertEquals(uuid.toString(), TextAppender.append(new StringWriter(), uuid).toString());
+		}
+	}
+
+
+	@Test
+	public void testInstant() throws IOException {
+		final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.ROOT);
+		format.setCalendar(prolepticUtcCalendar());
+		final GregorianCalendar calendar = prolepticUtcCalendar();
+
+		for (long millis : new long[]{ 0, -1, 951782400000L, 1488371400123L, 4102444800000L, -62135596800000L, TimeUnit.DAYS.toMillis(2932896) }) {
+			final String expected = format.format(new Date(millis));
+			assertEquals(expected, TextAppender.append(new StringBuilder(), new Date(millis)).toString());
+			calendar.setTimeInMillis(millis);
+			assertEquals(expected, TextAppender.append(new StringWriter(), calendar).toString());
+		}
+	}
+
+
+	private static GregorianCalendar prolepticUtcCalendar() {
+		final GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"), Locale.ROOT);
+		calendar.setGregorianChange(new Date(Long.MIN_VALUE));
+		return calendar;
+	}
+
+
+	@Test
+	public void testCharacterSink() throws IOException {
+		final CharBuffer buffer = CharBuffer.allocate(32);
+		TextAppender.append(buffer, 12345L);
+		buffer.flip();
+		assertEquals("12345", buffer.toString());
+	}
+
+
+	@Test
+	public void testTextConverter() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		MapperFactory.getTextConverter(Color.class).convert(Color.RED, builder).append(';');
+		MapperFactory.getTextConverter(Integer.class).convert(7, builder).append(';');
+		MapperFactory.getTextConverter(Integer.class).convert(null, builder).append(';');
+		MapperFactory.getTextConverter(Locale.class).convert(Locale.GERMANY, builder).append(';');
+		MapperFactory.getTextConverter(java.sql.Date.class).convert(new java.sql.Date(0), builder);
+		assertEquals("RED;7;;de_DE;1970-01-01T00:00:00.000Z", builder.toString());
+
+		final StringWriter writer = new StringWriter();
+		final TextConvert<Calendar> converter = MapperFactory.getTextConverter(Calendar.class);
+		converter.convert(null, writer);
+		assertEquals("", writer.toString());
+		assertSame(converter, MapperFactory.getTextConverter(Calendar.class));
+	}
+
+
+
+	@Test
+	public void testSameTextAsStringConversion() throws IOException {
+		final Calendar calendar = new GregorianCalendar(2017, Calendar.MARCH, 1, 12, 30);
+		assertSameText(Date.class, calendar.getTime());
+		assertSameText(java.sql.Timestamp.class, new java.sql.Timestamp(calendar.getTimeInMillis()));
+		assertSameText(Calendar.class, calendar);
+		assertSameText(GregorianCalendar.class, (GregorianCalendar) calendar);
+		assertSameText(Locale.class, Locale.GERMANY);
+		assertEquals("1970-01-01T00:00:00.000Z", MapperFactory.getConverter(Date.class, String.class).convert(new Date(0)));
+	}
+
+
+	private static <S> void assertSameText(Class<S> type, S value) throws IOException {
+		assertEquals(type.getName(), MapperFactory.getConverter(type, String.class).convert(value),
+				MapperFactory.getTextConverter(type).convert(value, new StringBuilder()).toString());
+	}
+
+}
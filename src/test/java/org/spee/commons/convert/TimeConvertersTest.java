@@ -0,0 +1,99 @@
+package org.spee.commons.convert;
+
+import static org.junit.Assert.*;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class TimeConvertersTest {
+
+	private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+	private static final Instant INSTANT = Instant.parse("2017-03-01T12:30:15.250Z");
+
+
+	@After
+	public void resetSettings() {
+		TimeConverters.setZone(ZoneId.systemDefault());
+		TimeConverters.setFormat(LocalDate.class, "uuuu-MM-dd", null);
+	}
+
+
+	@Test
+	public void testInstant() {
+		assertEquals(INSTANT, TimeConverters.toInstant(new Date(INSTANT.toEpochMilli())));
+		assertEquals(INSTANT, TimeConverters.toInstant(Long.valueOf(INSTANT.toEpochMilli())));
+		assertEquals(Long.valueOf(INSTANT.toEpochMilli()), TimeConverters.toLong(INSTANT));
+		assertEquals(INSTANT, TimeConverters.toInstant(TimeConverters.toTimestamp(INSTANT)));
+		assertEquals("2017-03-01T12:30:15.250Z", TimeConverters.toString(INSTANT));
+		assertEquals(INSTANT, TimeConverters.toInstant("2017-03-01T12:30:15.250Z"));
+		assertNull(TimeConverters.toInstant((String) null));
+	}
+
+
+	@Test
+	public void testZone() {
+		TimeConverters.setZone(BERLIN);
+		final Date date = new Date(INSTANT.toEpochMilli());
+
+		assertEquals(LocalDateTime.of(2017, 3, 1, 13, 30, 15, 250000000), TimeConverters.toLocalDateTime(date));
+		assertEquals(date, TimeConverters.toDate(LocalDateTime.of(2017, 3, 1, 13, 30, 15, 250000000)));
+		assertEquals(LocalDate.of(2017, 3, 1), TimeConverters.toLocalDate(date));
+		assertEquals(OffsetDateTime.of(2017, 3, 1, 13, 30, 15, 250000000, ZoneOffset.ofHours(1)), TimeConverters.toOffsetDateTime(INSTANT));
+		assertEquals(INSTANT.atZone(BERLIN), TimeConverters.toZonedDateTime(date));
+	}
+
+
+	@Test
+	public void testCalendar() {
+		final GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("America/New_York"));
+		calendar.setTimeInMillis(INSTANT.toEpochMilli());
+
+		final ZonedDateTime zoned = TimeConverters.toZonedDateTime(calendar);
+		assertEquals(ZoneId.of("America/New_York"), zoned.getZone());
+		assertEquals(INSTANT, zoned.toInstant());
+		assertEquals(calendar.getTimeInMillis(), TimeConverters.toCalendar(zoned).getTimeInMillis());
+		assertEquals(INSTANT, TimeConverters.toInstant((Calendar) calendar));
+	}
+
+
+	@Test
+	public void testSql() {
+		assertEquals(LocalDate.of(2017, 3, 1), TimeConverters.toLocalDate(java.sql.Date.valueOf("2017-03-01")));
+		assertEquals(java.sql.Date.valueOf("2017-03-01"), TimeConverters.toSqlDate(LocalDate.of(2017, 3, 1)));
+		assertEquals(Timestamp.valueOf("2017-03-01 12:30:15.25"), TimeConverters.toTimestamp(LocalDateTime.of(2017, 3, 1, 12, 30, 15, 250000000)));
+	}
+
+
+	@Test
+	public void testFormat() {
+		assertSame(TimeConverters.formatter("dd.MM.uuuu", null), TimeConverters.formatter("dd.MM.uuuu", null));
+		assertNotSame(TimeConverters.formatter("dd.MM.uuuu", null), TimeConverters.formatter("dd.MM.uuuu", BERLIN));
+
+		TimeConverters.setFormat(LocalDate.class, "dd.MM.uuuu", null);
+		assertEquals("01.03.2017", TimeConverters.toString(LocalDate.of(2017, 3, 1)));
+		assertEquals(LocalDate.of(2017, 3, 1), TimeConverters.toLocalDate("01.03.2017"));
+		assertEquals(DateTimeFormatter.ISO_ZONED_DATE_TIME.format(INSTANT.atZone(BERLIN)), TimeConverters.toString(INSTANT.atZone(BERLIN)));
+	}
+
+
+	@Test
+	public void testRegistered() {
+		assertEquals("2017-03-01T12:30:15.250Z", MapperFactory.getConverter(Instant.class, String.class).convert(INSTANT));
+		assertEquals(LocalDate.of(2017, 3, 1), MapperFactory.getConverter(String.class, LocalDate.class).convert("2017-03-01"));
+	}
+
+}
@@ -0,0 +1,70 @@
+package org.spee.commons.convert.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.spee.commons.convert.Convert;
+import org.spee.commons.convert.generator.ConverterLayout;
+import org.spee.commons.convert.generator.GeneratorFactory;
+
+/**
+ * Steady state conversion time of the generated converter per {@link ConverterLayout} and bean width.
+ * <pre>
+ * java -cp ... org.spee.commons.convert.benchmark.ConverterLayoutBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterLayoutBenchmark {
+
+	@Param({ "4", "16", "32", "64", "128" })
+	int properties;
+
+	@Param({ "FUSED", "PER_PROPERTY" })
+	ConverterLayout layout;
+
+	Convert<Object, Object> converter;
+	Object source;
+
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void createConverter() throws ReflectiveOperationException {
+		final Class<Object> sourceType = (Class<Object>) WideBeans.newBean("Source", properties);
+		final Class<Object> targetType = (Class<Object>) WideBeans.newBean("Target", properties);
+		converter = new GeneratorFactory(layout).build(sourceType, targetType).newInstance();
+		source = WideBeans.newInstance(sourceType, properties);
+	}
+
+
+	@Benchmark
+	public Object convert() {
+		return converter.convert(source);
+	}
+
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+					.include(ConverterLayoutBenchmark.class.getSimpleName())
+					.build()
+				).run();
+	}
+
+}
@@ -0,0 +1,84 @@
+package org.spee.commons.convert.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.spee.commons.convert.Convert;
+import org.spee.commons.convert.MapperFactory;
+
+import net.bytebuddy.ByteBuddy;
+
+/**
+ * First use latency of {@link MapperFactory#getConverter(Class, Class)} when multiple threads ask for the same
+ * new pair at the same moment. Every iteration uses a new pair of types, so each shot creates a converter.
+ * The compile threshold is 0, so the converter is generated on first use instead of interpreted.
+ * <pre>
+ * java -cp ... org.spee.commons.convert.benchmark.MapperFactoryContentionBenchmark
+ * </pre>
+ * Runs with 1, 2, 4, ... 64 concurrent callers.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 50)
+@Fork(1)
+public class MapperFactoryContentionBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class NewPair {
+		private static final AtomicInteger counter = new AtomicInteger();
+		Class<?> sourceType;
+		Class<?> targetType;
+
+		@Setup(Level.Trial)
+		public void generateOnFirstUse() {
+			MapperFactory.setCompileThreshold(0);
+		}
+
+		@Setup(Level.Iteration)
+		public void createTypes() {
+			sourceType = newType("Source");
+			targetType = newType("Target");
+		}
+
+		private static Class<?> newType(String prefix) {
+			return new ByteBuddy().subclass(Object.class)
+					.name(NewPair.class.getPackage().getName() + "." + prefix + counter.incrementAndGet())
+					.make()
+					.load(NewPair.class.getClassLoader())
+					.getLoaded();
+		}
+	}
+
+
+	@Benchmark
+	public Convert<?, ?> firstUse(NewPair pair) {
+		return MapperFactory.getConverter(pair.sourceType, pair.targetType);
+	}
+
+
+	public static void main(String[] args) throws RunnerException {
+		for (int threads = 1; threads <= 64; threads *= 2) {
+			new Runner(new OptionsBuilder()
+						.include(MapperFactoryContentionBenchmark.class.getSimpleName())
+						.threads(threads)
+						.build()
+					).run();
+		}
+	}
+
+}
@@ -0,0 +1,80 @@
+package org.spee.commons.convert.benchmark;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FieldAccessor;
+
+/**
+ * Creates bean classes with a given number of properties, alternating <code>int</code> and <code>String</code>:
+ * <pre>
+ * public class Bean {
+ *     private int property0;
+ *     private String property1;
+ *     public int getProperty0(){...}
+ *     public void setProperty0(int property0){...}
+ *     ...
+ * }
+ * </pre>
+ */
+public final class WideBeans {
+	private static final AtomicInteger counter = new AtomicInteger();
+
+	private WideBeans() {
+	}
+
+
+	/**
+	 * Create a new bean class. The class is injected in the class loader of this class, so the generated
+	 * converters can link to it.
+	 */
+	public static Class<?> newBean(String prefix, int properties) {
+		DynamicType.Builder<Object> builder = new ByteBuddy().subclass(Object.class)
+				.name(WideBeans.class.getPackage().getName() + "." + prefix + properties + "_" + counter.incrementAndGet());
+
+		for (int index = 0; index < properties; index++) {
+			final String name = propertyName(index);
+			final Class<?> type = propertyType(index);
+			final String accessor = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+			builder = builder.defineField(name, type, Visibility.PRIVATE)
+					.defineMethod("get" + accessor, type, Visibility.PUBLIC).intercept(FieldAccessor.ofField(name))
+					.defineMethod("set" + accessor, Void.TYPE, Visibility.PUBLIC).withParameters(type).intercept(FieldAccessor.ofField(name));
+		}
+		return builder.make().load(WideBeans.class.getClassLoader(), ClassLoadingStrategy.Default.INJECTION).getLoaded();
+	}
+
+
+	/**
+	 * Create an instance with every property filled.
+	 */
+	public static Object newInstance(Class<?> beanClass, int properties) throws ReflectiveOperationException {
+		final Object bean = beanClass.newInstance();
+		for (int index = 0; index < properties; index++) {
+			final String name = propertyName(index);
+			final Class<?> type = propertyType(index);
+			final Object value = type == Integer.TYPE ? (Object) index : (Object) ("value" + index);
+			beanClass.getMethod("set" + Character.toUpperCase(name.charAt(0)) + name.substring(1), type).invoke(bean, value);
+		}
+		return bean;
+	}
+
+
+	public static Object getProperty(Object bean, int index) throws ReflectiveOperationException {
+		final String name = propertyName(index);
+		return bean.getClass().getMethod("get" + Character.toUpperCase(name.charAt(0)) + name.substring(1)).invoke(bean);
+	}
+
+
+	private static String propertyName(int index) {
+		return "property" + index;
+	}
+
+
+	private static Class<?> propertyType(int index) {
+		return index % 2 == 0 ? Integer.TYPE : String.class;
+	}
+
+}
@@ -0,0 +1,86 @@
+package org.spee.commons.convert.benchmark;
+
+import java.util.GregorianCalendar;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.spee.commons.convert.internals.XMLGregorianCalendarConverter;
+
+/**
+ * Conversion between epoch milliseconds and {@link XMLGregorianCalendar}, by the fields in
+ * {@link XMLGregorianCalendarConverter} and by a {@link GregorianCalendar} like before.
+ * <pre>
+ * java -cp ... org.spee.commons.convert.benchmark.XMLGregorianCalendarBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XMLGregorianCalendarBenchmark {
+
+	DatatypeFactory factory;
+	long millis;
+	XMLGregorianCalendar calendar;
+
+
+	@Setup
+	public void createCalendar() throws DatatypeConfigurationException {
+		factory = DatatypeFactory.newInstance();
+		millis = System.currentTimeMillis();
+		calendar = XMLGregorianCalendarConverter.LongToXmlGregorianCalendarConverter(millis);
+	}
+
+
+	@Benchmark
+	public XMLGregorianCalendar fromMillis() {
+		return XMLGregorianCalendarConverter.LongToXmlGregorianCalendarConverter(millis);
+	}
+
+
+	@Benchmark
+	public XMLGregorianCalendar fromMillisByGregorianCalendar() {
+		final GregorianCalendar gregorianCalendar = new GregorianCalendar();
+		gregorianCalendar.setTimeInMillis(millis);
+		return factory.newXMLGregorianCalendar(gregorianCalendar);
+	}
+
+
+	@Benchmark
+	public long toMillis() {
+		return XMLGregorianCalendarConverter.toEpochMillis(calendar);
+	}
+
+
+	@Benchmark
+	public long toMillisByGregorianCalendar() {
+		return calendar.toGregorianCalendar().getTimeInMillis();
+	}
+
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+					.include(XMLGregorianCalendarBenchmark.class.getSimpleName())
+					.build()
+				).run();
+	}
+
+}
@@ -0,0 +1,127 @@
+package org.spee.commons.convert.generator;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.spee.commons.convert.Convert;
+import org.spee.commons.convert.internals.MappingLocator;
+
+import com.google.common.base.Optional;
+
+public class BytecodeCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	public static class Source {
+		private String value;
+		public String getValue() { return value; }
+		public void setValue(String value) { this.value = value; }
+	}
+
+	public static class Target {
+		private String value;
+		public String getValue() { return value; }
+		public void setValue(String value) { this.value = value; }
+	}
+
+
+	@Test
+	public void testKeyIsStableAndDependsOnMapping() throws Exception {
+		String key = BytecodeCache.keyOf(ClassMapBuilder.build(Source.class, Target.class).useDefaults().generate()).get();
+		assertEquals(key, BytecodeCache.keyOf(ClassMapBuilder.build(Source.class, Target.class).useDefaults().generate()).get());
+		assertNotEquals(key, BytecodeCache.keyOf(ClassMapBuilder.build(Source.class, Target.class).generate()).get());
+	}
+
+
+	@Test
+	public void testKeyCoversNestedAndResolutionClasses() throws Exception {
+		final Set<String> generatorClasses = BytecodeCache.packageClassBytes(GeneratorFactory.class).keySet();
+		assertTrue(generatorClasses.containsAll(Arrays.asList("GeneratorFactory$Converter1Builder.class", "ClassGeneratorHelper$NullcheckAndReturnBuilder.class",
+				"StaticConversion$PrimitiveCast.class", "ClassMap.class", "ConverterLayout.class", "BeanCreationStrategy.class")));
+		final Set<String> resolutionClasses = BytecodeCache.packageClassBytes(MappingLocator.class).keySet();
+		assertTrue(resolutionClasses.containsAll(Arrays.asList("MappingLocator.class", "ConversionGraph.class", "NumberConverter.class")));
+	}
+
+
+	@Test
+	public void testWriteReadEvict() throws Exception {
+		Path directory = folder.getRoot().toPath();
+		BytecodeCache cache = new BytecodeCache(directory);
+		byte[] bytes = {(byte)0xCA, (byte)0xFE, (byte)0xBA, (byte)0xBE};
+
+		assertNull(cache.read("abc"));
+		cache.write("abc", bytes);
+		assertArrayEquals(bytes, cache.read("abc"));
+		assertArrayEquals(bytes, new BytecodeCache(directory).read("abc"));
+
+		cache.evict("abc");
+		assertNull(cache.read("abc"));
+	}
+
+
+	@Test
+	public void testBuildLoadsCachedConverter() throws Exception {
+		final Path directory = folder.getRoot().toPath();
+		final Optional<BytecodeCache> cache;
+		System.setProperty(BytecodeCache.CACHE_DIRECTORY_PROPERTY, directory.toString());
+		try {
+			cache = BytecodeCache.fromSystemProperty();
+		} finally {
+			System.clearProperty(BytecodeCache.CACHE_DIRECTORY_PROPERTY);
+		}
+		assertTrue(cache.isPresent());
+
+		final Class<Convert<Source, Target>> generated = new GeneratorFactory(ConverterLayout.PER_PROPERTY, cache).build(Source.class, Target.class);
+		assertConverts(generated);
+		final Path entry = onlyEntry(directory);
+		final Object generatedFile = Files.readAttributes(entry, BasicFileAttributes.class).fileKey();
+
+		// loaded from the entry, which is not written again
+		final Class<Convert<Source, Target>> cached = new GeneratorFactory(ConverterLayout.PER_PROPERTY, cache).build(Source.class, Target.class);
+		assertNotSame(generated, cached);
+		assertEquals(generated.getName(), cached.getName());
+		assertConverts(cached);
+		assertEquals(entry, onlyEntry(directory));
+		assertEquals(generatedFile, Files.readAttributes(entry, BasicFileAttributes.class).fileKey());
+
+		// an entry that can not be loaded is evicted and generated again
+		final byte[] corrupt = {(byte)0xCA, (byte)0xFE, (byte)0xBA, (byte)0xBE};
+		Files.write(entry, corrupt);
+		assertConverts(new GeneratorFactory(ConverterLayout.PER_PROPERTY, cache).build(Source.class, Target.class));
+		assertEquals(entry, onlyEntry(directory));
+		assertNotEquals(corrupt.length, Files.size(entry));
+		assertConverts(new GeneratorFactory(ConverterLayout.PER_PROPERTY, cache).build(Source.class, Target.class));
+	}
+
+
+	private static void assertConverts(Class<Convert<Source, Target>> converter) throws ReflectiveOperationException {
+		final Source source = new Source();
+		source.setValue("value");
+		assertEquals("value", converter.newInstance().convert(source).getValue());
+	}
+
+
+	private static Path onlyEntry(Path directory) throws Exception {
+		final List<Path> entries = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+			for (Path entry : stream) {
+				entries.add(entry);
+			}
+		}
+		assertEquals(entries.toString(), 1, entries.size());
+		return entries.get(0);
+	}
+
+}
@@ -0,0 +1,288 @@
+package org.spee.commons.convert.generator;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Test;
+import org.spee.commons.convert.Convert;
+import org.spee.commons.convert.DefaultImplementations;
+import org.spee.commons.convert.MapperFactory;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+public class CollectionPropertyTest {
+
+	@Test
+	public void testGeneratedConverter() throws Exception {
+		assertConverts(new GeneratorFactory().build(Order.class, OrderDto.class).newInstance());
+	}
+
+
+	@Test
+	public void testPerPropertyLayout() throws Exception {
+		assertConverts(new GeneratorFactory(ConverterLayout.PER_PROPERTY).build(Order.class, PerPropertyOrderDto.class).newInstance());
+	}
+
+
+	@Test
+	public void testMapperFactory() {
+		assertConverts(MapperFactory.getConverter(Order.class, OrderDto.class));
+	}
+
+
+	@Test
+	public void testInterpretedConverter() {
+		final ClassMap classMap = ClassMapBuilder.build(Order.class, OrderDto.class).useDefaults(true).generate();
+		final TieredConverter<Order, OrderDto> interpreted = new TieredConverter<>(classMap, Integer.MAX_VALUE, MoreExecutors.directExecutor());
+		assertConverts(interpreted);
+		assertFalse(interpreted.isCompiled());
+	}
+
+
+	@Test
+	public void testNewInstance() {
+		assertTrue(DefaultImplementations.newInstance(List.class, 10) instanceof LinkedList);
+		assertTrue(DefaultImplementations.newInstance(ArrayList.class, 10) instanceof ArrayList);
+		assertTrue(DefaultImplementations.newInstance(LinkedList.class, 10) instanceof LinkedList);
+		assertTrue(DefaultImplementations.newInstance(Deque.class, 10) instanceof LinkedList);
+	}
+
+
+	@Test
+	public void testPropertiesWithoutSetter() throws Exception {
+		for (ConverterLayout layout : ConverterLayout.values()) {
+			assertConvertsWithoutSetter(new GeneratorFactory(layout).build(Shipment.class, ShipmentDto.class).newInstance());
+		}
+		// the interpreted converter the same
+		final ClassMap classMap = ClassMapBuilder.build(Shipment.class, ShipmentDto.class).useDefaults(true).generate();
+		final TieredConverter<Shipment, ShipmentDto> interpreted = new TieredConverter<>(classMap, Integer.MAX_VALUE, MoreExecutors.directExecutor());
+		assertConvertsWithoutSetter(interpreted);
+		assertFalse(interpreted.isCompiled());
+	}
+
+
+	private static void assertConvertsWithoutSetter(Convert<Shipment, ShipmentDto> converter) {
+		Shipment shipment = new Shipment();
+		shipment.setLabels(Arrays.asList("a", null));
+		shipment.setNotes(Arrays.asList(null, "b"));
+		shipment.setCodes(new String[]{ "c" });
+
+		ShipmentDto dto = converter.convert(shipment);
+		assertEquals("computed", dto.getSummary());
+		// cleared and filled through the getter, keeping the null elements
+		assertEquals(Arrays.asList("a", null), dto.getLabels());
+		assertEquals(Arrays.asList(null, "b"), new ArrayList<>(dto.getNotes()));
+		// an array can not be filled
+		assertArrayEquals(new String[]{ "initial" }, dto.getCodes());
+
+		// without source values the target values stay
+		dto = converter.convert(new Shipment());
+		assertEquals(Collections.singletonList("initial"), dto.getLabels());
+		assertNull(dto.getNotes());
+	}
+
+
+	private static void assertConverts(Convert<Order, ? extends OrderDto> converter) {
+		Order order = new Order();
+		order.setItems(Arrays.asList(new Item("first"), new Item("second")));
+		order.setAmounts(new int[]{ 1, 2, 3 });
+		order.setTags(new LinkedList<>(Arrays.asList("a", "b")));
+
+		OrderDto dto = converter.convert(order);
+		assertEquals(2, dto.getItems().size());
+		// presized, not the LinkedList of DefaultImplementations
+		assertTrue(dto.getItems() instanceof ArrayList);
+		assertTrue(dto.getAmounts() instanceof ArrayList);
+		assertEquals("first", dto.getItems().get(0).getName());
+		assertEquals("second", dto.getItems().get(1).getName());
+		assertEquals(Arrays.asList(1, 2, 3), dto.getAmounts());
+		assertArrayEquals(new String[]{ "a", "b" }, dto.getTags());
+		assertNull(dto.getCodes());
+	}
+
+
+	public static class Order {
+		private List<Item> items;
+		private int[] amounts;
+		private List<String> tags;
+		private List<Integer> codes;
+
+		public List<Item> getItems() {
+			return items;
+		}
+
+		public void setItems(List<Item> items) {
+			this.items = items;
+		}
+
+		public int[] getAmounts() {
+			return amounts;
+		}
+
+		public void setAmounts(int[] amounts) {
+			this.amounts = amounts;
+		}
+
+		public List<String> getTags() {
+			return tags;
+		}
+
+		public void setTags(List<String> tags) {
+			this.tags = tags;
+		}
+
+		public List<Integer> getCodes() {
+			return codes;
+		}
+
+		public void setCodes(List<Integer> codes) {
+			this.codes = codes;
+		}
+	}
+
+
+	public static class OrderDto {
+		private List<ItemDto> items;
+		private List<Integer> amounts;
+		private String[] tags;
+		private long[] codes;
+
+		public List<ItemDto> getItems() {
+			return items;
+		}
+
+		public void setItems(List<ItemDto> items) {
+			this.items = items;
+		}
+
+		public List<Integer> getAmounts() {
+			return amounts;
+		}
+
+		public void setAmounts(List<Integer> amounts) {
+			this.amounts = amounts;
+		}
+
+		public String[] getTags() {
+			return tags;
+		}
+
+		public void setTags(String[] tags) {
+			this.tags = tags;
+		}
+
+		public long[] getCodes() {
+			return codes;
+		}
+
+		public void setCodes(long[] codes) {
+			this.codes = codes;
+		}
+	}
+
+
+	public static class PerPropertyOrderDto extends OrderDto {
+	}
+
+
+	public static class Shipment {
+		private List<String> labels;
+		private List<String> notes;
+		private String[] codes;
+
+		public String getSummary() {
+			return "summary";
+		}
+
+		public List<String> getLabels() {
+			return labels;
+		}
+
+		public void setLabels(List<String> labels) {
+			this.labels = labels;
+		}
+
+		public List<String> getNotes() {
+			return notes;
+		}
+
+		public void setNotes(List<String> notes) {
+			this.notes = notes;
+		}
+
+		public String[] getCodes() {
+			return codes;
+		}
+
+		public void setCodes(String[] codes) {
+			this.codes = codes;
+		}
+	}
+
+
+	public static class ShipmentDto {
+		private final List<String> labels = new ArrayList<>(Collections.singletonList("initial"));
+		private final String[] codes = { "initial" };
+		private Deque<String> notes;
+
+		public String getSummary() {
+			return "computed";
+		}
+
+		public List<String> getLabels() {
+			return labels;
+		}
+
+		public Deque<String> getNotes() {
+			return notes;
+		}
+
+		public void setNotes(Deque<String> notes) {
+			this.notes = notes;
+		}
+
+		public String[] getCodes() {
+			return codes;
+		}
+	}
+
+
+	public static class Item {
+		private String name;
+
+		public Item() {
+		}
+
+		public Item(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+
+	public static class ItemDto {
+		private String name;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+}
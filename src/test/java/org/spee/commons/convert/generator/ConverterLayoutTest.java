@@ -0,0 +1,100 @@
+package org.spee.commons.convert.generator;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.spee.commons.convert.Convert;
+import org.spee.commons.convert.benchmark.WideBeans;
+import org.spee.commons.convert.generator.ClassMap.MappedProperties;
+import org.spee.commons.convert.generator.MapPropertyTest.Catalog;
+import org.spee.commons.convert.generator.MapPropertyTest.CatalogDto;
+import org.spee.commons.convert.generator.MapPropertyTest.Price;
+
+import com.google.common.base.Optional;
+
+public class ConverterLayoutTest {
+
+	/**
+	 * The default of <code>-XX:FreqInlineSize</code>
+	 */
+	private static final int MAX_INLINE_SIZE = 325;
+
+
+	@Test
+	public void testChunks() {
+		List<List<MappedProperties>> chunks = GenerateConvertMethod_Fused.chunks(Collections.nCopies(100, new MappedProperties()), Collections.nCopies(100, 13));
+
+		assertTrue(chunks.size() > 1);
+		assertTrue(GenerateConvertMethod_Fused.chunks(Collections.<MappedProperties>emptyList(), Collections.<Integer>emptyList()).get(0).isEmpty());
+		// too large for a chunk: one of its own
+		final MappedProperties large = new MappedProperties();
+		chunks = GenerateConvertMethod_Fused.chunks(Arrays.asList(new MappedProperties(), large, new MappedProperties()),
+				Arrays.asList(20, GenerateConvertMethod_Fused.MAX_CHUNK_SIZE + 1, 20));
+		assertEquals(3, chunks.size());
+		assertEquals(Collections.singletonList(large), chunks.get(1));
+	}
+
+
+	@Test
+	public void testLayouts() throws Exception {
+		for (ConverterLayout layout : ConverterLayout.values()) {
+			for (int properties : new int[]{ 3, 100 }) {
+				assertConverts(layout, properties);
+			}
+		}
+	}
+
+
+	@Test
+	public void testFusedMethodsCanBeInlined() throws Exception {
+		final GeneratorFactory factory = new GeneratorFactory(ConverterLayout.FUSED, Optional.<BytecodeCache>absent());
+
+		// the conversion of a map of beans alone is about half the size
+		final Map<String, Integer> catalogSizes = methodSizes(factory, Catalog.class, CatalogDto.class);
+		assertTrue(catalogSizes.toString(), catalogSizes.containsKey("convertFields_1"));
+		assertMaxInlineSize(catalogSizes);
+		assertMaxInlineSize(methodSizes(factory, WideBeans.newBean("Source", 100), WideBeans.newBean("Target", 100)));
+
+		final Catalog catalog = new Catalog();
+		catalog.setPrices(new LinkedHashMap<String, Price>());
+		catalog.getPrices().put("one", new Price(3));
+		catalog.setStock(Collections.singletonMap("one", "1"));
+		final CatalogDto dto = factory.build(Catalog.class, CatalogDto.class).newInstance().convert(catalog);
+		assertEquals(Collections.singleton("one"), dto.getPrices().keySet());
+		assertEquals(Integer.valueOf(1), dto.getStock().get("one"));
+	}
+
+
+	private static Map<String, Integer> methodSizes(GeneratorFactory factory, Class<?> sourceType, Class<?> targetType) {
+		final ClassMap classMap = ClassMapBuilder.build(sourceType, targetType).useDefaults(true).generate();
+		return GenerateConvertMethod_Fused.methodSizes(factory.make(classMap).getBytes());
+	}
+
+
+	private static void assertMaxInlineSize(Map<String, Integer> methodSizes) {
+		for (Map.Entry<String, Integer> method : methodSizes.entrySet()) {
+			assertTrue(method.toString(), method.getValue() <= MAX_INLINE_SIZE);
+		}
+	}
+
+
+	@SuppressWarnings("unchecked")
+	private static void assertConverts(ConverterLayout layout, int properties) throws Exception {
+		Class<Object> sourceType = (Class<Object>) WideBeans.newBean("Source", properties);
+		Class<Object> targetType = (Class<Object>) WideBeans.newBean("Target", properties);
+		Convert<Object, Object> converter = new GeneratorFactory(layout).build(sourceType, targetType).newInstance();
+		Object source = WideBeans.newInstance(sourceType, properties);
+
+		Object target = converter.convert(source);
+		for (int index = 0; index < properties; index++) {
+			assertEquals(layout + " property " + index, WideBeans.getProperty(source, index), WideBeans.getProperty(target, index));
+		}
+	}
+
+}
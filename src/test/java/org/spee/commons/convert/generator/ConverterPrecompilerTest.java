@@ -0,0 +1,176 @@
+package org.spee.commons.convert.generator;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.spee.commons.beans.ConvertToAnnotationProcessor;
+import org.spee.commons.convert.Convert;
+import org.spee.commons.convert.MapperFactory;
+import org.spee.commons.convert.OverflowPolicy;
+
+/**
+ * The beans are compiled into a temporary directory, so they are loaded by a class loader that also sees the
+ * converters and the index precompiled into that directory.
+ */
+public class ConverterPrecompilerTest {
+
+	private static final String SOURCE =
+			"package precompiled;\n"
+			+ "@org.spee.commons.convert.ConvertTo(Customer.Dto.class)\n"
+			+ "public class Customer {\n"
+			+ "	private String name;\n"
+			+ "	public String getName() { return name; }\n"
+			+ "	public void setName(String name) { this.name = name; }\n"
+			+ "	private long count;\n"
+			+ "	public long getCount() { return count; }\n"
+			+ "	public void setCount(long count) { this.count = count; }\n"
+			+ "	public static class Dto {\n"
+			+ "		private String name;\n"
+			+ "		public String getName() { return name; }\n"
+			+ "		public void setName(String name) { this.name = name; }\n"
+			+ "		private int count;\n"
+			+ "		public int getCount() { return count; }\n"
+			+ "		public void setCount(int count) { this.count = count; }\n"
+			+ "	}\n"
+			+ "}\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+
+	@Test
+	public void testAnnotationProcessorListsPairs() throws Exception {
+		final File classes = compile();
+
+		final List<String> pairs = Files.readAllLines(new File(classes, ConverterPrecompiler.PAIRS_RESOURCE).toPath(), StandardCharsets.UTF_8);
+		assertEquals(Collections.singletonList("precompiled.Customer precompiled.Customer$Dto"), pairs);
+	}
+
+
+	@Test
+	public void testPrecompiledConverterIsUsed() throws Exception {
+		final File classes = compile();
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[]{ classes.toURI().toURL() }, getClass().getClassLoader())) {
+			final Class<?> sourceType = classLoader.loadClass("precompiled.Customer");
+			final Class<?> targetType = classLoader.loadClass("precompiled.Customer$Dto");
+			assertNull(PrecompiledConverters.find(sourceType, targetType));
+
+			final ConverterPrecompiler precompiler = new ConverterPrecompiler(classes).addDeclared(classLoader);
+			precompiler.writeIndex();
+
+			final Properties index = new Properties();
+			try (InputStream in = new FileInputStream(new File(classes, PrecompiledConverters.INDEX_RESOURCE))) {
+				index.load(in);
+			}
+			final String entry = index.getProperty(PrecompiledConverters.key("precompiled.Customer", "precompiled.Customer$Dto"));
+			assertNotNull(entry);
+			final String className = entry.split(PrecompiledConverters.KEY_SEPARATOR)[0];
+			assertTrue(new File(classes, className.replace('.', File.separatorChar) + ".class").isFile());
+
+			// the index is read once per class loader, so a fresh loader to see it
+			try (URLClassLoader precompiled = new URLClassLoader(new URL[]{ classes.toURI().toURL() }, getClass().getClassLoader())) {
+				final Class<?> customer = precompiled.loadClass("precompiled.Customer");
+				final Class<?> dto = precompiled.loadClass("precompiled.Customer$Dto");
+				final Class<?> converterClass = PrecompiledConverters.find(customer, dto);
+				assertEquals(className, converterClass.getName());
+				assertSame(precompiled, converterClass.getClassLoader());
+
+				@SuppressWarnings("unchecked")
+				final Convert<Object, Object> converter = (Convert<Object, Object>) MapperFactory.getConverter(customer, dto);
+				assertSame(converterClass, converter.getClass());
+
+				final Object source = customer.newInstance();
+				customer.getMethod("setName", String.class).invoke(source, "name");
+				assertEquals("name", dto.getMethod("getName").invoke(converter.convert(source)));
+			}
+		}
+	}
+
+
+	@Test
+	public void testOutdatedPrecompiledConverterIsGenerated() throws Exception {
+		final File classes = compile();
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[]{ classes.toURI().toURL() }, getClass().getClassLoader())) {
+			// count is narrowed by a cast, with the default policy
+			new ConverterPrecompiler(classes).addDeclared(classLoader).writeIndex();
+		}
+
+		try (URLClassLoader precompiled = new URLClassLoader(new URL[]{ classes.toURI().toURL() }, getClass().getClassLoader())) {
+			final Class<?> customer = precompiled.loadClass("precompiled.Customer");
+			final Class<?> dto = precompiled.loadClass("precompiled.Customer$Dto");
+			final Class<?> converterClass = PrecompiledConverters.find(customer, dto);
+			assertNotNull(converterClass);
+			@SuppressWarnings("unchecked")
+			final Convert<Object, Object> converter = (Convert<Object, Object>) MapperFactory.getConverter(customer, dto);
+			assertSame(converterClass, converter.getClass());
+
+			final Object source = customer.newInstance();
+			customer.getMethod("setCount", Long.TYPE).invoke(source, 1L << 33);
+			MapperFactory.setOverflowPolicy(OverflowPolicy.THROW);
+			try {
+				assertNull(PrecompiledConverters.find(customer, dto));
+				@SuppressWarnings("unchecked")
+				final Convert<Object, Object> generated = (Convert<Object, Object>) MapperFactory.getConverter(customer, dto);
+				assertNotSame(converterClass, generated.getClass());
+				try {
+					generated.convert(source);
+					fail();
+				} catch (ArithmeticException e) {
+					// the count does not fit
+				}
+			} finally {
+				MapperFactory.setOverflowPolicy(OverflowPolicy.WRAP);
+			}
+			assertSame(converterClass, PrecompiledConverters.find(customer, dto));
+		}
+	}
+
+
+	/**
+	 * Compile the beans with the annotation processor for {@link org.spee.commons.convert.ConvertTo}.
+	 * @return The directory of the classes
+	 */
+	private File compile() throws Exception {
+		final File sources = folder.newFolder("src");
+		final File classes = folder.newFolder("classes");
+		final File source = new File(sources, "precompiled/Customer.java");
+		assertTrue(source.getParentFile().mkdirs());
+		Files.write(source.toPath(), SOURCE.getBytes(StandardCharsets.UTF_8));
+
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+			fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(classes));
+			final Iterable<? extends JavaFileObject> files = fileManager.getJavaFileObjects(source);
+			final StringWriter output = new StringWriter();
+			final CompilationTask task = compiler.getTask(output, fileManager, null,
+					Arrays.asList("-classpath", System.getProperty("java.class.path")), null, files);
+			task.setProcessors(Collections.singletonList(new ConvertToAnnotationProcessor()));
+			assertTrue(output.toString(), task.call());
+		}
+		return classes;
+	}
+
+}
@@ -0,0 +1,152 @@
+package org.spee.commons.convert.generator;
+
+import static org.junit.Assert.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.Test;
+import org.spee.commons.convert.Convert;
+import org.spee.commons.convert.MapperFactory;
+
+public class MapPropertyTest {
+
+	@Test
+	public void testGeneratedConverter() throws Exception {
+		assertConverts(new GeneratorFactory().build(Catalog.class, CatalogDto.class).newInstance());
+	}
+
+
+	@Test
+	public void testPerPropertyLayout() throws Exception {
+		assertConverts(new GeneratorFactory(ConverterLayout.PER_PROPERTY).build(Catalog.class, PerPropertyCatalogDto.class).newInstance());
+	}
+
+
+	@Test
+	public void testMapperFactory() {
+		assertConverts(MapperFactory.getConverter(Catalog.class, CatalogDto.class));
+	}
+
+
+	private static void assertConverts(Convert<Catalog, ? extends CatalogDto> converter) {
+		Catalog catalog = new Catalog();
+		catalog.setPrices(new LinkedHashMap<String, Price>());
+		catalog.getPrices().put("apple", new Price(3));
+		catalog.getPrices().put("pear", new Price(5));
+		catalog.setStock(new LinkedHashMap<String, String>());
+		catalog.getStock().put("b", "2");
+		catalog.getStock().put("a", "1");
+
+		CatalogDto dto = converter.convert(catalog);
+		assertEquals(2, dto.getPrices().size());
+		assertEquals(3, dto.getPrices().get("apple").getAmount());
+		assertEquals(5, dto.getPrices().get("pear").getAmount());
+		assertTrue(dto.getStock() instanceof TreeMap);
+		assertEquals("a", dto.getStock().firstKey());
+		assertEquals(Integer.valueOf(2), dto.getStock().get("b"));
+		assertNull(dto.getLabels());
+	}
+
+
+	public static class Catalog {
+		private Map<String, Price> prices;
+		private Map<String, String> stock;
+		private Map<Integer, String> labels;
+
+		public Map<String, Price> getPrices() {
+			return prices;
+		}
+
+		public void setPrices(Map<String, Price> prices) {
+			this.prices = prices;
+		}
+
+		public Map<String, String> getStock() {
+			return stock;
+		}
+
+		public void setStock(Map<String, String> stock) {
+			this.stock = stock;
+		}
+
+		public Map<Integer, String> getLabels() {
+			return labels;
+		}
+
+		public void setLabels(Map<Integer, String> labels) {
+			this.labels = labels;
+		}
+	}
+
+
+	public static class CatalogDto {
+		private Map<String, PriceDto> prices;
+		private SortedMap<String, Integer> stock;
+		private Map<Integer, String> labels;
+
+		public Map<String, PriceDto> getPrices() {
+			return prices;
+		}
+
+		public void setPrices(Map<String, PriceDto> prices) {
+			this.prices = prices;
+		}
+
+		public SortedMap<String, Integer> getStock() {
+			return stock;
+		}
+
+		public void setStock(SortedMap<String, Integer> stock) {
+			this.stock = stock;
+		}
+
+		public Map<Integer, String> getLabels() {
+			return labels;
+		}
+
+		public void setLabels(Map<Integer, String> labels) {
+			this.labels = labels;
+		}
+	}
+
+
+	public static class PerPropertyCatalogDto extends CatalogDto {
+	}
+
+
+	public static class Price {
+		private int amount;
+
+		public Price() {
+		}
+
+		public Price(int amount) {
+			this.amount = amount;
+		}
+
+		public int getAmount() {
+			return amount;
+		}
+
+		public void setAmount(int amount) {
+			this.amount = amount;
+		}
+	}
+
+
+	public static class PriceDto {
+		private int amount;
+
+		public int getAmount() {
+			return amount;
+		}
+
+		public void setAmount(int amount) {
+			this.amount = amount;
+		}
+	}
+
+}
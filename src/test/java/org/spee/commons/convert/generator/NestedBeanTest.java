@@ -0,0 +1,86 @@
+package org.spee.commons.convert.generator;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.spee.commons.convert.Convert;
+import org.spee.commons.convert.MapperFactory;
+
+public class NestedBeanTest {
+
+	@Test
+	public void testGeneratedConverter() throws Exception {
+		assertConverts(new GeneratorFactory().build(Node.class, NodeDto.class).newInstance());
+	}
+
+
+	@Test
+	public void testInterpretedConverter() {
+		ClassMap classMap = ClassMapBuilder.build(Node.class, NodeDto.class).useDefaults(true).generate();
+		assertConverts(new InterpretedConverter<Node, NodeDto>(classMap));
+	}
+
+
+	@Test
+	public void testMapperFactory() {
+		assertConverts(MapperFactory.getConverter(Node.class, NodeDto.class));
+	}
+
+
+	private static void assertConverts(Convert<Node, NodeDto> converter) {
+		Node node = new Node();
+		node.setName("first");
+		node.setNext(new Node());
+		node.getNext().setName("second");
+
+		NodeDto dto = converter.convert(node);
+		assertEquals("first", dto.getName());
+		assertEquals("second", dto.getNext().getName());
+		assertNull(dto.getNext().getNext());
+	}
+
+
+	public static class Node {
+		private String name;
+		private Node next;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public Node getNext() {
+			return next;
+		}
+
+		public void setNext(Node next) {
+			this.next = next;
+		}
+	}
+
+
+	public static class NodeDto {
+		private String name;
+		private NodeDto next;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public NodeDto getNext() {
+			return next;
+		}
+
+		public void setNext(NodeDto next) {
+			this.next = next;
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+package org.spee.commons.convert.generator;
+
+import static org.junit.Assert.*;
+
+import java.util.Locale;
+
+import org.junit.Test;
+import org.spee.commons.convert.Convert;
+import org.spee.commons.convert.OverflowPolicy;
+import org.spee.commons.convert.internals.NumberConverter;
+
+public class StaticConversionTest {
+
+	@Test
+	public void testResolveIdentity() {
+		assertEquals("identity", StaticConversion.resolve(Integer.TYPE, Integer.class).get().toString());
+		assertEquals("identity", StaticConversion.resolve(String.class, String.class).get().toString());
+	}
+
+
+	@Test
+	public void testResolveStaticMethod() {
+		assertTrue(StaticConversion.resolve(String.class, Integer.class).get().toString().contains("java.lang.Integer.valueOf(java.lang.String)"));
+	}
+
+
+	@Test
+	public void testResolvePrimitiveCast() {
+		assertEquals("(int)", StaticConversion.resolve(Long.TYPE, Integer.TYPE).get().toString());
+		assertEquals("(long)", StaticConversion.resolve(Integer.class, Long.TYPE).get().toString());
+	}
+
+
+	@Test
+	public void testNarrowingWithOverflowPolicy() {
+		NumberConverter.setOverflowPolicy(OverflowPolicy.THROW);
+		try {
+			assertFalse(StaticConversion.resolve(Long.TYPE, Integer.TYPE).isPresent());
+			assertEquals("(long)", StaticConversion.resolve(Integer.TYPE, Long.TYPE).get().toString());
+		} finally {
+			NumberConverter.setOverflowPolicy(OverflowPolicy.WRAP);
+		}
+	}
+
+
+	@Test
+	public void testUnresolvedConversion() {
+		assertFalse(StaticConversion.resolve(Locale.class, Thread.class).isPresent());
+	}
+
+
+	@Test
+	public void testGeneratedConverter() throws Exception {
+		Convert<Source, Target> converter = new GeneratorFactory().build(Source.class, Target.class).newInstance();
+		Source source = new Source();
+		source.setCount(3);
+		source.setNumber("12");
+		source.setSize((1L << 32) + 5);
+		source.setRatio(0.5);
+
+		Target target = converter.convert(source);
+		assertEquals(3L, target.getCount());
+		assertEquals(Integer.valueOf(12), target.getNumber());
+		assertEquals(5, target.getSize());
+		assertEquals(0.5f, target.getRatio(), 0f);
+	}
+
+
+	public static class Source {
+		private int count;
+		private String number;
+		private long size;
+		private double ratio;
+
+		public int getCount() {
+			return count;
+		}
+
+		public void setCount(int count) {
+			this.count = count;
+		}
+
+		public String getNumber() {
+			return number;
+		}
+
+		public void setNumber(String number) {
+			this.number = number;
+		}
+
+		public long getSize() {
+			return size;
+		}
+
+		public void setSize(long size) {
+			this.size = size;
+		}
+
+		public double getRatio() {
+			return ratio;
+		}
+
+		public void setRatio(double ratio) {
+			this.ratio = ratio;
+		}
+	}
+
+
+	public static class Target {
+		private long count;
+		private Integer number;
+		private int size;
+		private float ratio;
+
+		public long getCount() {
+			return count;
+		}
+
+		public void setCount(long count) {
+			this.count = count;
+		}
+
+		public Integer getNumber() {
+			return number;
+		}
+
+		public void setNumber(Integer number) {
+			this.number = number;
+		}
+
+		public int getSize() {
+			return size;
+		}
+
+		public void setSize(int size) {
+			this.size = size;
+		}
+
+		public float getRatio() {
+			return ratio;
+		}
+
+		public void setRatio(float ratio) {
+			this.ratio = ratio;
+		}
+	}
+
+}
@@ -0,0 +1,173 @@
+package org.spee.commons.convert.generator;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+public class TieredConverterTest {
+
+	@Test
+	public void testInterpretsUntilThreshold() {
+		ClassMap classMap = ClassMapBuilder.build(Source.class, Target.class).useDefaults(true).generate();
+		TieredConverter<Source, Target> converter = new TieredConverter<>(classMap, 3, MoreExecutors.directExecutor());
+		Source source = new Source();
+		source.setName("name");
+		source.setCount(7);
+
+		for (int i = 0; i < 2; i++) {
+			Target target = converter.convert(source);
+			assertEquals("name", target.getName());
+			assertEquals(7, target.getCount());
+			assertFalse(converter.isCompiled());
+		}
+
+		Target target = converter.convert(source);
+		assertTrue(converter.isCompiled());
+		assertEquals("name", target.getName());
+		assertEquals(7, target.getCount());
+		assertNull(converter.convert(null));
+	}
+
+
+	@Test
+	public void testInterpretsPropertiesWithoutSetter() {
+		ClassMap classMap = ClassMapBuilder.build(Person.class, PersonDto.class).useDefaults(true).generate();
+		TieredConverter<Person, PersonDto> converter = new TieredConverter<>(classMap, 1000, MoreExecutors.directExecutor());
+		Person person = new Person();
+		person.setName("name");
+		person.setTags(Arrays.asList("a", "b"));
+		person.setAttributes(Collections.singletonMap("key", "value"));
+
+		PersonDto dto = converter.convert(person);
+		assertFalse(converter.isCompiled());
+		assertEquals("name", dto.getName());
+		assertEquals("computed", dto.getFull());
+		// cleared and filled through the getter
+		assertEquals(Arrays.asList("a", "b"), dto.getTags());
+		assertEquals(Collections.singletonMap("key", "value"), dto.getAttributes());
+
+		// without source values the target values stay
+		person.setTags(null);
+		person.setAttributes(null);
+		dto = converter.convert(person);
+		assertEquals(Collections.singletonList("initial"), dto.getTags());
+		assertEquals(Collections.singletonMap("initial", "initial"), dto.getAttributes());
+	}
+
+
+	public static class Source {
+		private String name;
+		private int count;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public void setCount(int count) {
+			this.count = count;
+		}
+	}
+
+
+	public static class Target {
+		private String name;
+		private int count;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public void setCount(int count) {
+			this.count = count;
+		}
+	}
+
+
+
+	public static class Person {
+		private String name;
+		private List<String> tags;
+		private Map<String, String> attributes;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String getFull() {
+			return "full " + name;
+		}
+
+		public List<String> getTags() {
+			return tags;
+		}
+
+		public void setTags(List<String> tags) {
+			this.tags = tags;
+		}
+
+		public Map<String, String> getAttributes() {
+			return attributes;
+		}
+
+		public void setAttributes(Map<String, String> attributes) {
+			this.attributes = attributes;
+		}
+	}
+
+
+	public static class PersonDto {
+		private String name;
+		private final List<String> tags = new ArrayList<>(Collections.singletonList("initial"));
+		private final Map<String, String> attributes = new HashMap<>(Collections.singletonMap("initial", "initial"));
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String getFull() {
+			return "computed";
+		}
+
+		public List<String> getTags() {
+			return tags;
+		}
+
+		public Map<String, String> getAttributes() {
+			return attributes;
+		}
+	}
+
+}
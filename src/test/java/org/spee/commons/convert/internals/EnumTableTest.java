@@ -0,0 +1,91 @@
+package org.spee.commons.convert.internals;
+
+import static java.lang.invoke.MethodType.methodType;
+import static org.junit.Assert.*;
+
+import java.lang.invoke.MethodHandle;
+
+import org.junit.Test;
+import org.spee.commons.convert.MapperFactory;
+
+public class EnumTableTest {
+
+	private enum Status { ACTIVE, INACTIVE, DELETED { } }
+
+	private enum State { DELETED, ACTIVE, UNKNOWN }
+
+	private enum Lenient { ACTIVE, UNKNOWN }
+
+
+	@Test
+	public void testGet() {
+		final EnumTable<Status> table = EnumTable.of(Status.class);
+		assertSame(Status.INACTIVE, table.get("INACTIVE", false));
+		assertSame(Status.INACTIVE, table.get(new StringBuilder("inActive"), true));
+		assertNull(table.get("inactive", false));
+		assertNull(table.get("ACTIV", true));
+		assertSame(Status.DELETED, table.get(2));
+		assertNull(table.get(3));
+		assertSame(table, EnumTable.of(Status.class));
+	}
+
+
+	@Test
+	public void testNameConversion() throws Throwable {
+		final MethodHandle conversion = MappingLocator.resolve(String.class, Status.class).asType(methodType(Status.class, String.class));
+		assertSame(Status.ACTIVE, (Status) conversion.invokeExact("ACTIVE"));
+		assertNull((Status) conversion.invokeExact((String) null));
+		try {
+			Status status = (Status) conversion.invokeExact("active");
+			fail(String.valueOf(status));
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+
+	@Test
+	public void testOrdinalConversion() throws Throwable {
+		final MethodHandle primitive = MappingLocator.resolve(Integer.TYPE, Status.class).asType(methodType(Status.class, int.class));
+		assertSame(Status.INACTIVE, (Status) primitive.invokeExact(1));
+
+		final MethodHandle wrapper = MappingLocator.resolve(Long.class, Status.class).asType(methodType(Status.class, Long.class));
+		assertSame(Status.DELETED, (Status) wrapper.invokeExact(Long.valueOf(2)));
+		assertNull((Status) wrapper.invokeExact((Long) null));
+	}
+
+
+	@Test
+	public void testEnumConversion() throws Throwable {
+		final MethodHandle conversion = MappingLocator.resolve(Status.class, State.class).asType(methodType(State.class, Status.class));
+		assertSame(State.ACTIVE, (State) conversion.invokeExact(Status.ACTIVE));
+		assertSame(State.DELETED, (State) conversion.invokeExact(Status.DELETED));
+		assertNull((State) conversion.invokeExact((Status) null));
+		try {
+			State state = (State) conversion.invokeExact(Status.INACTIVE);
+			fail(String.valueOf(state));
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+
+		final MethodHandle constantBody = MappingLocator.resolve(Status.DELETED.getClass(), State.class);
+		assertSame(State.DELETED, (State) constantBody.asType(methodType(State.class, Status.class)).invokeExact(Status.DELETED));
+	}
+
+
+	@Test
+	public void testLookup() throws Throwable {
+		MapperFactory.setEnumLookup(Lenient.class, true, Lenient.UNKNOWN);
+
+		final MethodHandle byName = MappingLocator.resolve(String.class, Lenient.class).asType(methodType(Lenient.class, String.class));
+		assertSame(Lenient.ACTIVE, (Lenient) byName.invokeExact("Active"));
+		assertSame(Lenient.UNKNOWN, (Lenient) byName.invokeExact("gone"));
+
+		final MethodHandle byOrdinal = MappingLocator.resolve(Integer.TYPE, Lenient.class).asType(methodType(Lenient.class, int.class));
+		assertSame(Lenient.UNKNOWN, (Lenient) byOrdinal.invokeExact(-1));
+
+		final MethodHandle byEnum = MappingLocator.resolve(Status.class, Lenient.class).asType(methodType(Lenient.class, Status.class));
+		assertSame(Lenient.UNKNOWN, (Lenient) byEnum.invokeExact(Status.DELETED));
+	}
+
+}
@@ -0,0 +1,459 @@
+package org.spee.commons.convert.internals;
+
+import static java.lang.invoke.MethodType.methodType;
+import static org.junit.Assert.*;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.spee.commons.convert.MapperFactory;
+
+public class MappingLocatorTest {
+
+	private static final int TYPES = 24;
+	private static final int REGISTERING_THREADS = 6;
+	private static final int BOOTSTRAPPING_THREADS = 4;
+
+	private static final class Marker {}
+
+
+	@Test
+	public void testConcurrentRegisterAndBootstrap() throws Exception {
+		// array types of the marker, which have no other converters
+		final List<Class<?>[]> pairs = new ArrayList<>();
+		final Class<?>[] types = new Class<?>[TYPES];
+		types[0] = Marker[].class;
+		for (int index = 1; index < TYPES; index++) {
+			types[index] = Array.newInstance(types[index - 1], 0).getClass();
+		}
+		for (Class<?> sourceType : types) {
+			for (Class<?> targetType : types) {
+				if( sourceType != targetType ){
+					pairs.add(new Class<?>[]{ sourceType, targetType });
+				}
+			}
+		}
+
+		final ConcurrentMap<List<Class<?>>, MethodHandle> seen = new ConcurrentHashMap<>();
+		// until a pair is registered, it may resolve to a chain of registered converters
+		final List<MethodHandle> handles = new ArrayList<>();
+		final AtomicInteger inconsistent = new AtomicInteger();
+		final AtomicInteger registering = new AtomicInteger(REGISTERING_THREADS);
+		final CountDownLatch start = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(REGISTERING_THREADS + BOOTSTRAPPING_THREADS);
+		final List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (int thread = 0; thread < REGISTERING_THREADS; thread++) {
+				final MethodHandle handle = MethodHandles.dropArguments(MethodHandles.constant(Object.class, "thread " + thread), 0, Object.class);
+				handles.add(handle);
+				// every pair by two threads
+				final List<Class<?>[]> order = new ArrayList<>();
+				for (int index = 0; index < pairs.size(); index++) {
+					if( index % REGISTERING_THREADS == thread || (index + 1) % REGISTERING_THREADS == thread ){
+						order.add(pairs.get(index));
+					}
+				}
+				Collections.shuffle(order);
+				futures.add(executor.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws Exception {
+						start.await();
+						try {
+							for (Class<?>[] pair : order) {
+								MappingLocator.register(pair[0], pair[1], handle);
+							}
+						} finally {
+							registering.decrementAndGet();
+						}
+						return null;
+					}
+				}));
+			}
+			for (int thread = 0; thread < BOOTSTRAPPING_THREADS; thread++) {
+				futures.add(executor.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws Exception {
+						start.await();
+						do {
+							assertEquals(methodType(String.class, Integer.class), MappingLocator.bootstrap(MethodHandles.lookup(), "convert", methodType(String.class, Integer.class)).type());
+							for (Class<?>[] pair : pairs) {
+								final MethodHandle converter = MappingLocator.resolve(pair[0], pair[1]);
+								if( handles.contains(converter) ){
+									final MethodHandle first = seen.putIfAbsent(Arrays.<Class<?>>asList(pair), converter);
+									if( first != null && first != converter ){
+										inconsistent.incrementAndGet();
+									}
+								}
+							}
+						} while( registering.get() > 0 );
+						return null;
+					}
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(1, TimeUnit.MINUTES);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals("a registered converter was replaced", 0, inconsistent.get());
+		for (Class<?>[] pair : pairs) {
+			final MethodHandle converter = MappingLocator.resolve(pair[0], pair[1]);
+			assertNotNull(converter);
+			final MethodHandle first = seen.get(Arrays.<Class<?>>asList(pair));
+			assertTrue(first == null || first == converter);
+		}
+	}
+
+
+	@Test
+	public void testResolutionIsMemoized() {
+		assertSame(MappingLocator.resolve(Integer.TYPE, Long.TYPE), MappingLocator.resolve(Integer.TYPE, Long.TYPE));
+		assertSame(MappingLocator.resolve(String.class, Thread.State.class), MappingLocator.resolve(String.class, Thread.State.class));
+	}
+
+
+	@Test
+	public void testRegistrationReplacesMissingResolution() {
+		final class Source {}
+		assertNull(MappingLocator.resolve(Source.class, Marker.class));
+		final MethodHandle converter = MethodHandles.constant(Marker.class, new Marker());
+		MappingLocator.register(Source.class, Marker.class, converter);
+		assertSame(converter, MappingLocator.resolve(Source.class, Marker.class));
+	}
+
+
+	@Test
+	public void testConstructorOfTargetType() throws Throwable {
+		final MethodHandle toBigDecimal = MappingLocator.resolve(BigInteger.class, BigDecimal.class);
+		assertEquals(new BigDecimal(42), toBigDecimal.invoke(BigInteger.valueOf(42)));
+		final MethodHandle toString = MappingLocator.resolve(StringBuilder.class, String.class);
+		assertEquals("text", toString.invoke(new StringBuilder("text")));
+		// by toString(Object) of the supertype, not the constructor Locale(String)
+		MapperFactory.getConverter(String.class, Long.class);
+		final MethodHandle localeToString = MappingLocator.resolve(Locale.class, String.class);
+		assertEquals("de_DE", localeToString.invoke(Locale.GERMANY));
+	}
+
+
+	@Test
+	public void testNoConversionByConstructor() {
+		// the bean is converted property by property, not by new Dto(entity)
+		assertNull(MappingLocator.resolve(Entity.class, Dto.class));
+	}
+
+
+	@Test
+	public void testKinds() {
+		assertEquals(TypeKind.mask(EnumSet.of(TypeKind.ANY, TypeKind.REFERENCE, TypeKind.WRAPPER, TypeKind.NUMBER)), TypeKind.of(Integer.class));
+		assertEquals(TypeKind.mask(EnumSet.of(TypeKind.ANY, TypeKind.PRIMITIVE)), TypeKind.of(Integer.TYPE));
+		assertEquals(TypeKind.mask(EnumSet.of(TypeKind.ANY, TypeKind.REFERENCE, TypeKind.CHAR_SEQUENCE, TypeKind.STRING)), TypeKind.of(String.class));
+		assertEquals(TypeKind.mask(EnumSet.of(TypeKind.ANY, TypeKind.REFERENCE, TypeKind.ENUM)), TypeKind.of(Thread.State.class));
+		assertEquals(TypeKind.mask(EnumSet.of(TypeKind.ANY, TypeKind.REFERENCE)), TypeKind.of(Object.class));
+	}
+
+
+	@Test
+	public void testNumberConverterKinds() {
+		final NumberConverter converter = new NumberConverter();
+		assertTrue(converter.canMap(Integer.class, Long.TYPE));
+		assertTrue(converter.canMap(String.class, Integer.TYPE));
+		assertTrue(converter.canMap(Double.class, String.class));
+		// no converter for these
+		assertFalse(converter.canMap(Integer.class, Boolean.class));
+		assertFalse(converter.canMap(Object.class, Integer.class));
+		assertFalse(converter.canMap(Integer.class, Object.class));
+	}
+
+
+	@Test
+	public void testCheapestChain() throws Throwable {
+		MappingLocator.register(Start.class, Expensive.class, converter(Expensive.class));
+		MappingLocator.register(Expensive.class, End.class, converter(End.class), 5);
+		MappingLocator.register(Start.class, Other.class, converter(Other.class));
+		MappingLocator.register(Other.class, End.class, converter(End.class));
+		MappingLocator.register(Start.class, Cheap.class, converter(Cheap.class));
+		MappingLocator.register(Cheap.class, End.class, converter(End.class));
+
+		final MethodHandle chain = MappingLocator.resolve(Start.class, End.class);
+		// Cheap and Other cost the same, Cheap comes first by name
+		assertEquals("Start>Cheap>End", ((End) chain.invoke(new Start("Start"))).path);
+		assertNull(MappingLocator.resolve(End.class, Start.class));
+	}
+
+
+	@Test
+	public void testChainOfAtMostThreeConverters() throws Throwable {
+		MappingLocator.register(Origin.class, Alpha.class, converter(Alpha.class));
+		MappingLocator.register(Origin.class, Zulu.class, converter(Zulu.class), 10);
+		MappingLocator.register(Alpha.class, Zulu.class, converter(Zulu.class));
+		MappingLocator.register(Zulu.class, Yankee.class, converter(Yankee.class));
+		MappingLocator.register(Yankee.class, Destination.class, converter(Destination.class));
+		MappingLocator.register(Head.class, Alpha.class, converter(Alpha.class));
+
+		// Origin>Alpha>Zulu>Yankee>Destination is cheaper, but has four converters
+		final MethodHandle chain = MappingLocator.resolve(Origin.class, Destination.class);
+		assertEquals("Origin>Zulu>Yankee>Destination", ((Destination) chain.invoke(new Origin("Origin"))).path);
+		assertNull(MappingLocator.resolve(Head.class, Destination.class));
+	}
+
+
+	@Test
+	public void testNoLossyChains() throws Throwable {
+		// registers the default converters
+		MapperFactory.getConverter(String.class, Long.class);
+
+		assertEquals(1234L, MappingLocator.resolve(Date.class, Long.class).invoke(new Date(1234L)));
+		// not by toString(Date) and toLong(String), and not by narrowing the milliseconds
+		assertNull(MappingLocator.resolve(Date.class, Integer.class));
+		// not by narrowing to byte and toBoolean(byte)
+		assertNull(MappingLocator.resolve(Long.class, Boolean.class));
+		// not by narrowing to long and toDate(Long)
+		assertNull(MappingLocator.resolve(Double.class, Date.class));
+		// not by toString(Object) and toLocale(String)
+		assertNull(MappingLocator.resolve(Long.class, Locale.class));
+		// by toCharacter(String) and boxing
+		assertEquals('a', MappingLocator.resolve(String.class, Character.class).invoke("a"));
+	}
+
+
+	@Test
+	public void testMostSpecificSupertype() {
+		final MethodHandle byClass = MethodHandles.identity(Object.class);
+		final MethodHandle byInterface = MethodHandles.identity(Object.class);
+		final MethodHandle bySubtype = MethodHandles.identity(Object.class);
+		MappingLocator.register(Tagged.class, Cheap.class, byInterface);
+		MappingLocator.register(Base.class, Cheap.class, byClass);
+		MappingLocator.register(Base.class, Other.class, bySubtype);
+		MappingLocator.register(Base.class, End.class, bySubtype);
+
+		// the superclass before the interface
+		assertSame(byClass, MappingLocator.resolve(Derived.class, Cheap.class));
+		assertSame(byInterface, MappingLocator.resolve(Tagged.class, Cheap.class));
+		// the subtypes of Value are equally close, Cheap comes first by name
+		assertSame(byClass, MappingLocator.resolve(Derived.class, Value.class));
+		// the source already is a Base
+		assertNull(MappingLocator.resolve(Derived.class, Base.class));
+		assertNull(MappingLocator.resolve(Derived.class, Object.class));
+	}
+
+
+	@Test
+	public void testRelinkAfterRegistration() throws Throwable {
+		final MethodHandle callSite = MappingLocator.bootstrap(MethodHandles.lookup(), "convert", methodType(Late.class, Early.class)).dynamicInvoker();
+		try {
+			callSite.invoke(new Early("Early"));
+			fail();
+		} catch (IllegalArgumentException e) {
+			// no converter yet
+		}
+
+		MappingLocator.register(Early.class, Late.class, converter(Late.class));
+		assertEquals("Early>Late", ((Late) callSite.invoke(new Early("Early"))).path);
+		assertEquals("Early>Late", ((Late) callSite.invoke(new Early("Early"))).path);
+	}
+
+
+	@Test
+	public void testRegistrationRelinksOnlyAffectedCallSites() throws Throwable {
+		MappingLocator.register(Inbound.class, Outbound.class, converter(Outbound.class));
+		final CallSite registered = MappingLocator.bootstrap(MethodHandles.lookup(), "convert", methodType(Outbound.class, Inbound.class));
+		final CallSite internal = MappingLocator.bootstrap(MethodHandles.lookup(), "convert", methodType(Long.class, Integer.class));
+		final MethodHandle registeredTarget = registered.getTarget();
+		final MethodHandle internalTarget = internal.getTarget();
+
+		// another source type
+		MappingLocator.register(Unrelated.class, Outbound.class, converter(Outbound.class));
+		assertEquals("Inbound>Outbound", ((Outbound) registered.dynamicInvoker().invoke(new Inbound("Inbound"))).path);
+		assertSame(registeredTarget, registered.getTarget());
+
+		// the same source type links again, and keeps the converter for exactly the types
+		MappingLocator.register(Inbound.class, Unrelated.class, converter(Unrelated.class));
+		assertEquals("Inbound>Outbound", ((Outbound) registered.dynamicInvoker().invoke(new Inbound("Inbound"))).path);
+		assertNotSame(registeredTarget, registered.getTarget());
+
+		// an internal converter wins over any registration
+		MappingLocator.register(Integer.class, Long.class, MethodHandles.identity(Object.class));
+		assertEquals(42L, internal.dynamicInvoker().invoke(Integer.valueOf(42)));
+		assertSame(internalTarget, internal.getTarget());
+	}
+
+
+	@Test
+	public void testResolutionKeepsNoClassLoader() throws Exception {
+		final URL classes = MappingLocatorTest.class.getProtectionDomain().getCodeSource().getLocation();
+		URLClassLoader classLoader = new URLClassLoader(new URL[]{ classes }, null);
+		Class<?> type = classLoader.loadClass(Base.class.getName());
+		assertNotSame(Base.class, type);
+		assertNull(MappingLocator.resolve(String.class, type));
+		assertNull(MappingLocator.resolve(type, Locale.class));
+
+		final WeakReference<ClassLoader> unloaded = new WeakReference<ClassLoader>(classLoader);
+		classLoader.close();
+		classLoader = null;
+		type = null;
+		for (int i = 0; i < 20 && unloaded.get() != null; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		assertNull(unloaded.get());
+	}
+
+
+	/**
+	 * @return A converter to the type, that appends the name of the type to the path
+	 */
+	private static MethodHandle converter(Class<? extends Value> type) throws ReflectiveOperationException {
+		final MethodHandles.Lookup lookup = MethodHandles.lookup();
+		final MethodHandle append = MethodHandles.insertArguments(
+				lookup.findVirtual(String.class, "concat", methodType(String.class, String.class)), 1, ">" + type.getSimpleName());
+		final MethodHandle path = MethodHandles.filterReturnValue(lookup.findGetter(Value.class, "path", String.class), append);
+		return MethodHandles.filterReturnValue(path, lookup.findConstructor(type, methodType(void.class, String.class)));
+	}
+
+
+	private static class Value {
+		final String path;
+
+		Value(String path) {
+			this.path = path;
+		}
+	}
+
+	private static final class Start extends Value {
+		Start(String path) {
+			super(path);
+		}
+	}
+
+	private static final class Cheap extends Value {
+		Cheap(String path) {
+			super(path);
+		}
+	}
+
+	private static final class Other extends Value {
+		Other(String path) {
+			super(path);
+		}
+	}
+
+	private static final class Expensive extends Value {
+		Expensive(String path) {
+			super(path);
+		}
+	}
+
+	private static final class End extends Value {
+		End(String path) {
+			super(path);
+		}
+	}
+
+	private static final class Early extends Value {
+		Early(String path) {
+			super(path);
+		}
+	}
+
+	private static final class Late extends Value {
+		Late(String path) {
+			super(path);
+		}
+	}
+
+	private static final class Origin extends Value {
+		Origin(String path) {
+			super(path);
+		}
+	}
+
+	private static final class Head extends Value {
+		Head(String path) {
+			super(path);
+		}
+	}
+
+	private static final class Alpha extends Value {
+		Alpha(String path) {
+			super(path);
+		}
+	}
+
+	private static final class Yankee extends Value {
+		Yankee(String path) {
+			super(path);
+		}
+	}
+
+	private static final class Zulu extends Value {
+		Zulu(String path) {
+			super(path);
+		}
+	}
+
+	private static final class Destination extends Value {
+		Destination(String path) {
+			super(path);
+		}
+	}
+
+	private static final class Inbound extends Value {
+		Inbound(String path) {
+			super(path);
+		}
+	}
+
+	private static final class Outbound extends Value {
+		Outbound(String path) {
+			super(path);
+		}
+	}
+
+	private static final class Unrelated extends Value {
+		Unrelated(String path) {
+			super(path);
+		}
+	}
+
+	public static class Entity {}
+
+	public static class Dto {
+		public Dto() {}
+
+		public Dto(Entity entity) {}
+	}
+
+	private interface Tagged {}
+
+	private static class Base {}
+
+	private static final class Derived extends Base implements Tagged {}
+
+}
@@ -0,0 +1,96 @@
+package org.spee.commons.convert.internals;
+
+import static java.lang.invoke.MethodType.methodType;
+import static org.junit.Assert.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+import org.junit.After;
+import org.junit.Test;
+import org.spee.commons.convert.OverflowPolicy;
+
+public class NumberConverterTest {
+
+	@After
+	public void resetPolicy() {
+		NumberConverter.setOverflowPolicy(OverflowPolicy.WRAP);
+	}
+
+
+	@Test
+	public void testWrapperWidening() throws Throwable {
+		assertEquals(Long.valueOf(5), (Long) conversion(Integer.class, Long.class).invokeExact(Integer.valueOf(5)));
+		assertEquals(Double.valueOf(2), (Double) conversion(Short.class, Double.class).invokeExact(Short.valueOf((short) 2)));
+		assertNull((Long) conversion(Integer.class, Long.class).invokeExact((Integer) null));
+	}
+
+
+	@Test
+	public void testWrap() throws Throwable {
+		assertEquals(7, (int) conversion(Long.TYPE, Integer.TYPE).invokeExact((1L << 32) + 7));
+		assertEquals(Integer.valueOf(-1), (Integer) conversion(Long.class, Integer.class).invokeExact(Long.valueOf(0xFFFFFFFFL)));
+	}
+
+
+	@Test
+	public void testSaturate() throws Throwable {
+		NumberConverter.setOverflowPolicy(OverflowPolicy.SATURATE);
+
+		assertEquals(Integer.MAX_VALUE, (int) conversion(Long.TYPE, Integer.TYPE).invokeExact(1L << 40));
+		assertEquals(Byte.MIN_VALUE, (byte) conversion(Integer.TYPE, Byte.TYPE).invokeExact(-1000));
+		assertEquals(Short.MAX_VALUE, (short) conversion(Double.TYPE, Short.TYPE).invokeExact(1e10));
+		assertEquals(0, (int) conversion(Double.TYPE, Integer.TYPE).invokeExact(Double.NaN));
+		assertEquals(Float.MAX_VALUE, (float) conversion(Double.TYPE, Float.TYPE).invokeExact(1e300), 0f);
+		assertEquals(42, (int) conversion(Long.TYPE, Integer.TYPE).invokeExact(42L));
+	}
+
+
+	@Test
+	public void testThrow() throws Throwable {
+		NumberConverter.setOverflowPolicy(OverflowPolicy.THROW);
+		final MethodHandle longToInt = conversion(Long.class, Integer.class);
+
+		assertEquals(Integer.valueOf(42), (Integer) longToInt.invokeExact(Long.valueOf(42)));
+		assertEquals(Integer.MIN_VALUE, (int) conversion(Double.TYPE, Integer.TYPE).invokeExact((double) Integer.MIN_VALUE));
+		assertOverflow(longToInt, Long.valueOf(1L << 32));
+		assertOverflow(conversion(Double.TYPE, Long.TYPE), 0x1p63);
+		assertOverflow(conversion(Double.TYPE, Integer.TYPE), Double.NaN);
+		assertOverflow(conversion(Integer.TYPE, Character.TYPE), -1);
+	}
+
+
+	@Test
+	public void testPolicyIsBoundWhenLinked() throws Throwable {
+		final MethodHandle wrapping = conversion(Long.TYPE, Integer.TYPE);
+		NumberConverter.setOverflowPolicy(OverflowPolicy.THROW);
+
+		assertEquals(0, (int) wrapping.invokeExact(1L << 32));
+	}
+
+
+	@Test
+	public void testToString() throws Throwable {
+		final NumberConverter converter = new NumberConverter();
+
+		assertEquals("12", converter.getTypeConverter(Integer.class, String.class).invoke(Integer.valueOf(12)));
+		assertEquals("1.5", converter.getTypeConverter(Double.TYPE, String.class).invoke(1.5));
+		assertNull(converter.getTypeConverter(Long.class, String.class).invoke((Long) null));
+	}
+
+
+	private static MethodHandle conversion(Class<?> sourceType, Class<?> targetType) throws Throwable {
+		return MappingLocator.bootstrap(MethodHandles.lookup(), "convert", methodType(targetType, sourceType)).getTarget();
+	}
+
+
+	private static void assertOverflow(MethodHandle conversion, Object value) throws Throwable {
+		try {
+			conversion.invoke(value);
+			fail("No overflow for " + value);
+		} catch (ArithmeticException e) {
+			// expected
+		}
+	}
+
+}
@@ -0,0 +1,90 @@
+package org.spee.commons.convert.internals;
+
+import static org.junit.Assert.*;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import org.junit.After;
+import org.junit.Test;
+import org.spee.commons.convert.TimeConverters;
+
+public class XMLGregorianCalendarConverterTest {
+
+	private static final long[] MILLIS = { 0, -1, 1488371415250L, 1490488200000L, 1509238800000L, -2208988800000L, 4102444799999L };
+	private static final String[] ZONES = { "UTC", "Europe/Berlin", "America/New_York", "Asia/Kolkata" };
+
+
+	@After
+	public void resetZone() {
+		TimeConverters.setZone(ZoneId.systemDefault());
+	}
+
+
+	@Test
+	public void testSameAsGregorianCalendar() throws Exception {
+		final DatatypeFactory factory = DatatypeFactory.newInstance();
+		for (String zone : ZONES) {
+			final GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone(zone));
+			for (long millis : MILLIS) {
+				calendar.setTimeInMillis(millis);
+				final XMLGregorianCalendar expected = factory.newXMLGregorianCalendar(calendar);
+				final XMLGregorianCalendar actual = XMLGregorianCalendarConverter.CalendarToXmlGregorianCalendarConverter(calendar);
+
+				assertEquals(expected.toXMLFormat(), actual.toXMLFormat());
+				// the timezone is in minutes, so offsets in seconds like 1900 in Berlin do not round trip either way
+				final long roundTrip = expected.toGregorianCalendar().getTimeInMillis();
+				assertEquals(roundTrip, XMLGregorianCalendarConverter.toEpochMillis(actual));
+				assertEquals(roundTrip, XMLGregorianCalendarConverter.toEpochMillis(expected));
+			}
+		}
+	}
+
+
+	@Test
+	public void testZone() {
+		TimeConverters.setZone(ZoneId.of("Europe/Berlin"));
+		final XMLGregorianCalendar calendar = XMLGregorianCalendarConverter.DateToXmlGregorianCalendarConverter(new Date(1488371415250L));
+		assertEquals("2017-03-01T13:30:15.250+01:00", calendar.toXMLFormat());
+
+		final XMLGregorianCalendar local = XMLGregorianCalendarConverter.toXmlGregorianCalendar(LocalDateTime.of(2017, 7, 1, 12, 0));
+		assertEquals("2017-07-01T12:00:00.000", local.toXMLFormat());
+		assertEquals(Instant.parse("2017-07-01T10:00:00Z"), XMLGregorianCalendarConverter.toInstant(local));
+		assertEquals(OffsetDateTime.of(2017, 7, 1, 12, 0, 0, 0, ZoneOffset.ofHours(2)), XMLGregorianCalendarConverter.toOffsetDateTime(local));
+	}
+
+
+	@Test
+	public void testParsed() throws Exception {
+		final XMLGregorianCalendar calendar = DatatypeFactory.newInstance().newXMLGregorianCalendar("2017-12-31T24:00:00.123456789-05:00");
+		assertEquals(Instant.parse("2018-01-01T05:00:00.123456789Z"), XMLGregorianCalendarConverter.toInstant(calendar));
+
+		final Timestamp timestamp = XMLGregorianCalendarConverter.XmlGregorianCalendarToTimestampConverter(calendar);
+		assertEquals(123456789, timestamp.getNanos());
+		assertEquals(calendar.toGregorianCalendar().getTimeInMillis(), timestamp.getTime());
+
+		final XMLGregorianCalendar date = DatatypeFactory.newInstance().newXMLGregorianCalendar("2017-03-01");
+		assertEquals(LocalDate.of(2017, 3, 1), XMLGregorianCalendarConverter.toLocalDate(date));
+		assertEquals("2017-03-01", XMLGregorianCalendarConverter.toXmlGregorianCalendar(LocalDate.of(2017, 3, 1)).toXMLFormat());
+	}
+
+
+	@Test
+	public void testNull() {
+		assertNull(XMLGregorianCalendarConverter.CalendarToXmlGregorianCalendarConverter(null));
+		assertNull(XMLGregorianCalendarConverter.toDate(null));
+		assertNull(XMLGregorianCalendarConverter.toInstant(null));
+	}
+
+}